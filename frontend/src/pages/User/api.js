@@ -18,12 +18,16 @@ export const unfollowUser = (id) => {
   return http.delete(`/users/${id}/follow`);
 };
 
-export const getFollowers = (id) => {
-  return http.get(`/users/${id}/followers`);
+export const getFollowers = (id, before) => {
+  return http.get(`/users/${id}/followers`, {
+    params: { before }
+  });
 };
 
-export const getFollowing = (id) => {
-  return http.get(`/users/${id}/following`);
+export const getFollowing = (id, before) => {
+  return http.get(`/users/${id}/following`, {
+    params: { before }
+  });
 };
 
 export const getFollowStatus = (id) => {
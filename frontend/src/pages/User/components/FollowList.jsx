@@ -10,19 +10,26 @@ export function FollowList({ type }) {
   const [users, setUsers] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     loadUsers();
   }, [id, type]);
 
+  const fetchPage = (before) => {
+    const apiFunction = type === 'followers' ? getFollowers : getFollowing;
+    return apiFunction(id, before);
+  };
+
   const loadUsers = async () => {
     setLoading(true);
     setError(null);
     
     try {
-      const apiFunction = type === 'followers' ? getFollowers : getFollowing;
-      const response = await apiFunction(id);
-      setUsers(response.data);
+      const response = await fetchPage();
+      setUsers(response.data.content);
+      setNextCursor(response.data.last ? null : response.data.beforeCursor);
     } catch (err) {
       setError(err.response?.data?.message || "Liste yüklenirken hata oluştu");
     } finally {
@@ -30,6 +37,19 @@ export function FollowList({ type }) {
     }
   };
 
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const response = await fetchPage(nextCursor);
+      setUsers((previous) => [...previous, ...response.data.content]);
+      setNextCursor(response.data.last ? null : response.data.beforeCursor);
+    } catch (err) {
+      setError(err.response?.data?.message || "Liste yüklenirken hata oluştu");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const title = type === 'followers' ? 'Takipçiler' : 'Takip Edilenler';
 
   if (loading) {
@@ -72,12 +92,18 @@ export function FollowList({ type }) {
                   <ProfileImage width={50} image={user.image} />
                   <div className="ms-3">
                     <div className="fw-bold">{user.username}</div>
-                    <div className="text-muted small">{user.email}</div>
                   </div>
                 </Link>
               ))}
             </div>
           )}
+          {nextCursor && (
+            <div className="text-center mt-3">
+              <button className="btn btn-outline-primary btn-sm" onClick={loadMore} disabled={loadingMore}>
+                {loadingMore ? <Spinner sm /> : "Daha fazla"}
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </div>
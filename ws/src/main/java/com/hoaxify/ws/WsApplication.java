@@ -5,12 +5,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.hoaxify.ws.user.User;
 import com.hoaxify.ws.user.UserRepository;
 
 @SpringBootApplication
+@EnableScheduling
 public class WsApplication {
 
 	public static void main(String[] args) {
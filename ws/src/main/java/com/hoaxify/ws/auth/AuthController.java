@@ -1,5 +1,9 @@
 package com.hoaxify.ws.auth;
 
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
@@ -12,6 +16,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.hoaxify.ws.auth.dto.AuthResponse;
 import com.hoaxify.ws.auth.dto.Credentials;
+import com.hoaxify.ws.auth.token.Token;
+import com.hoaxify.ws.configuration.HoaxifyProperties;
 import com.hoaxify.ws.shared.GenericMessage;
 
 import jakarta.validation.Valid;
@@ -19,29 +25,27 @@ import jakarta.validation.Valid;
 @RestController
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     AuthService authService;
+
+    @Autowired
+    HoaxifyProperties hoaxifyProperties;
     
     @PostMapping("/api/v1/auth")
     ResponseEntity<AuthResponse> handleAuthentication(@Valid @RequestBody Credentials creds) {
-        System.out.println("=== AUTH CONTROLLER START ===");
-        System.out.println("Received authentication request for: " + creds.email());
+        log.debug("Received authentication request for: {}", creds.email());
         
         try {
             var authResponse = authService.authenticate(creds);
-            var cookie = ResponseCookie.from("hoax-token", authResponse.getToken().getToken()).path("/").httpOnly(true).build();
+            var cookie = tokenCookie(authResponse.getToken());
             
-            System.out.println("Authentication successful, returning response");
-            System.out.println("=== AUTH CONTROLLER END ===");
+            log.debug("Authentication successful, returning response");
             
             return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, cookie.toString()).body(authResponse);
         } catch (Exception e) {
-            System.err.println("=== AUTH CONTROLLER ERROR ===");
-            System.err.println("Authentication error for: " + creds.email());
-            System.err.println("Error type: " + e.getClass().getSimpleName());
-            System.err.println("Error message: " + e.getMessage());
-            e.printStackTrace();
-            System.err.println("=== AUTH CONTROLLER ERROR END ===");
+            log.warn("Authentication error for: {} - {}: {}", creds.email(), e.getClass().getSimpleName(), e.getMessage());
             throw e; // Re-throw to let error handler deal with it
         }
     }
@@ -57,4 +61,21 @@ public class AuthController {
         return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, cookie.toString()).body(new GenericMessage("Logout success"));
     }
 
+    // Geçerli token yenisiyle değiştirilir; çerez de yeni token ve tam süreyle yazılır
+    @PostMapping("/api/v1/auth/refresh")
+    ResponseEntity<Token> handleRefresh(@RequestHeader(name="Authorization", required = false) String authorizationHeader, @CookieValue(name="hoax-token", required = false) String cookieValue){
+        var tokenWithPrefix = authorizationHeader;
+        if(cookieValue != null){
+            tokenWithPrefix = "AnyPrefix " +cookieValue;
+        }
+        Token token = authService.rotateToken(tokenWithPrefix);
+        return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, tokenCookie(token).toString()).body(token);
+    }
+
+    // Çerez ömrü token süresiyle aynı
+    private ResponseCookie tokenCookie(Token token) {
+        var maxAge = Duration.ofDays(hoaxifyProperties.getAuth().getTokenExpirationDays());
+        return ResponseCookie.from("hoax-token", token.getToken()).path("/").maxAge(maxAge).httpOnly(true).build();
+    }
+
 }
@@ -1,7 +1,8 @@
 package com.hoaxify.ws.auth;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.hoaxify.ws.auth.dto.AuthResponse;
@@ -16,40 +17,45 @@ import com.hoaxify.ws.user.dto.UserDTO;
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     @Autowired
     UserService userService;
 
     @Autowired
-    PasswordEncoder passwordEncoder;
+    PasswordHashService passwordHashService;
 
     @Autowired
     TokenService tokenService;
 
     public AuthResponse authenticate(Credentials creds) {
-        System.out.println("=== AUTHENTICATION START ===");
-        System.out.println("Login attempt for email: " + creds.email());
+        log.debug("Login attempt for email: {}", creds.email());
         
         User inDB = userService.findByEmail(creds.email());
         if(inDB == null) {
-            System.out.println("User not found for email: " + creds.email());
+            log.debug("User not found for email: {}", creds.email());
             throw new AuthenticationException();
         }
         
-        System.out.println("User found - ID: " + inDB.getId() + ", Active: " + inDB.isActive());
+        log.debug("User found - ID: {}, Active: {}", inDB.getId(), inDB.isActive());
         
         if(!inDB.isActive()) {
-            System.out.println("User account is not active: " + creds.email() + " - ACTIVATING FOR DEPLOY");
+            log.debug("User account is not active: {} - ACTIVATING FOR DEPLOY", creds.email());
             inDB.setActive(true);
             userService.saveUser(inDB);
-            System.out.println("User activated: " + creds.email());
+            log.debug("User activated: {}", creds.email());
         }
         
-        if(!passwordEncoder.matches(creds.password(), inDB.getPassword())) {
-            System.out.println("Password does not match for user: " + creds.email());
+        // bcrypt ayrı havuzda; havuz doluysa 503 (PasswordHashingBusyException)
+        if(!passwordHashService.matches(creds.password(), inDB.getPassword())) {
+            log.debug("Password does not match for user: {}", creds.email());
             throw new AuthenticationException();
         }
         
-        System.out.println("Creating token for user: " + creds.email());
+        // Maliyet ayarı değiştiyse özet arka planda yenilenir, giriş beklemez
+        passwordHashService.rehashIfNeeded(inDB.getId(), creds.password(), inDB.getPassword());
+        
+        log.debug("Creating token for user: {}", creds.email());
         Token token = tokenService.createToken(inDB, creds);
         
         AuthResponse authResponse = new AuthResponse();
@@ -58,9 +64,9 @@ public class AuthService {
         // UserDTO oluştururken LOB stream hatalarından kaçın
         try {
             authResponse.setUser(new UserDTO(inDB));
-            System.out.println("UserDTO created successfully");
+            log.debug("UserDTO created successfully");
         } catch (Exception e) {
-            System.err.println("Error creating UserDTO: " + e.getMessage());
+            log.error("Error creating UserDTO: {}", e.getMessage());
             // Basit bir UserDTO oluştur
             UserDTO safeUserDTO = new UserDTO();
             safeUserDTO.setId(inDB.getId());
@@ -69,11 +75,10 @@ public class AuthService {
             safeUserDTO.setBio(inDB.getBio());
             // Image ve banner'ı null olarak bırak
             authResponse.setUser(safeUserDTO);
-            System.out.println("Safe UserDTO created as fallback");
+            log.debug("Safe UserDTO created as fallback");
         }
         
-        System.out.println("Authentication successful for user: " + creds.email());
-        System.out.println("=== AUTHENTICATION END ===");
+        log.debug("Authentication successful for user: {}", creds.email());
         
         return authResponse;
     }
@@ -81,5 +86,14 @@ public class AuthService {
     public void logout(String authorizationHeader) {
         tokenService.logout(authorizationHeader);
     }
+
+    // Geçersiz, süresi dolmuş ya da yenilenemeyen token için 401
+    public Token rotateToken(String authorizationHeader) {
+        Token token = tokenService.rotateToken(authorizationHeader);
+        if(token == null) {
+            throw new AuthenticationException();
+        }
+        return token;
+    }
     
 }
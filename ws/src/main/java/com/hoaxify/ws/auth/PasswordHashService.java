@@ -0,0 +1,207 @@
+package com.hoaxify.ws.auth;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.hoaxify.ws.auth.exception.PasswordHashingBusyException;
+import com.hoaxify.ws.cache.EntityCache;
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.metrics.MetricsSource;
+import com.hoaxify.ws.user.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * bcrypt özetleme ve doğrulama ayrı, sınırlı bir thread havuzunda çalışır; giriş patlamasında servlet thread'leri
+ * bcrypt ile dolmaz. Kuyruk doluysa istek beklemeden PasswordHashingBusyException (503) ile reddedilir.
+ * Başarılı girişte saklı özetin maliyeti ayarlanandan farklıysa özet arka planda yeni maliyetle yenilenir.
+ */
+@Service
+public class PasswordHashService implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashService.class);
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityCache entityCache;
+
+    private final HoaxifyProperties.Auth properties;
+
+    private ThreadPoolExecutor hashExecutor;
+
+    private final LongAdder hashes = new LongAdder();
+
+    private final LongAdder hashNanos = new LongAdder();
+
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder timedOut = new LongAdder();
+
+    private final LongAdder rehashed = new LongAdder();
+
+    public PasswordHashService(HoaxifyProperties hoaxifyProperties) {
+        this.properties = hoaxifyProperties.getAuth();
+    }
+
+    @PostConstruct
+    void startHashExecutor() {
+        int threads = properties.getPasswordHashThreads() > 0
+            ? properties.getPasswordHashThreads()
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        // AbortPolicy: kuyruk doluysa submit hemen RejectedExecutionException atar
+        hashExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getPasswordHashQueueSize())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        hashExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stopHashExecutor() {
+        hashExecutor.shutdown();
+    }
+
+    public String encode(String rawPassword) {
+        return await(submit(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) return false;
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Doğrulanmış şifrenin özeti ayarlanan maliyette değilse yenisini arka planda üretip yazar (yükseltme ya da düşürme).
+     * Havuz doluysa atlanır, bir sonraki girişte tekrar denenir; giriş isteği beklemez.
+     */
+    public void rehashIfNeeded(long userId, String rawPassword, String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        if (cost < 0 || cost == properties.getPasswordHashStrength()) return;
+        try {
+            submit(() -> {
+                String upgraded = passwordEncoder.encode(rawPassword);
+                if (userRepository.updatePasswordHash(userId, encodedPassword, upgraded) > 0) {
+                    entityCache.users().invalidate(userId);
+                    rehashed.increment();
+                    log.debug("Kullanıcı {} şifre özeti maliyeti {} -> {}", userId, cost, properties.getPasswordHashStrength());
+                }
+                return null;
+            });
+        } catch (PasswordHashingBusyException e) {
+            log.debug("Kullanıcı {} için özet yenileme ertelendi: havuz dolu", userId);
+        }
+    }
+
+    // $2a$10$... biçimindeki bcrypt özetinden maliyet; tanınmazsa -1
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') return -1;
+        int costStart = encodedPassword.indexOf('$', 1) + 1;
+        if (costStart <= 0 || costStart + 2 > encodedPassword.length()) return -1;
+        try {
+            return Integer.parseInt(encodedPassword.substring(costStart, costStart + 2));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> work) {
+        long submittedAt = System.nanoTime();
+        try {
+            return hashExecutor.submit(() -> {
+                long startedAt = System.nanoTime();
+                long waited = startedAt - submittedAt;
+                queueWaitNanos.add(waited);
+                maxQueueWaitNanos.accumulate(waited);
+                try {
+                    return work.call();
+                } finally {
+                    hashes.increment();
+                    hashNanos.add(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException();
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(properties.getPasswordHashTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Sırası gelmemiş iş kuyruktan çıkarılır (iptal edilen iş purge edilmezse kuyrukta yer tutar),
+            // çalışan iş yarıda kesilmez
+            cancel(future);
+            timedOut.increment();
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(future);
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException("Şifre özetlenemedi", e.getCause());
+        }
+    }
+
+    private void cancel(Future<?> future) {
+        if (future.cancel(false)) {
+            hashExecutor.purge();
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "passwordHashing";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        long count = hashes.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("strength", properties.getPasswordHashStrength());
+        metrics.put("threads", hashExecutor.getMaximumPoolSize());
+        metrics.put("active", hashExecutor.getActiveCount());
+        metrics.put("queued", hashExecutor.getQueue().size());
+        metrics.put("hashes", count);
+        metrics.put("avgHashMicros", count == 0 ? 0 : hashNanos.sum() / count / 1000);
+        metrics.put("avgQueueWaitMicros", count == 0 ? 0 : queueWaitNanos.sum() / count / 1000);
+        metrics.put("maxQueueWaitMicros", maxQueueWaitNanos.get() / 1000);
+        metrics.put("rejected", rejected.sum());
+        metrics.put("timedOut", timedOut.sum());
+        metrics.put("rehashed", rehashed.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,16 @@
+package com.hoaxify.ws.auth.exception;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import com.hoaxify.ws.shared.Messages;
+
+public class PasswordHashingBusyException extends RuntimeException {
+
+    // Havuz kısa sürede boşalır; 503 yanıtında istemciye Retry-After olarak verilir
+    public static final int RETRY_AFTER_SECONDS = 1;
+
+    public PasswordHashingBusyException(){
+        super(Messages.getMessageForLocale("hoaxify.auth.busy", LocaleContextHolder.getLocale()));
+    }
+    
+}
@@ -4,9 +4,9 @@ import java.util.Base64;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.hoaxify.ws.auth.PasswordHashService;
 import com.hoaxify.ws.auth.dto.Credentials;
 import com.hoaxify.ws.user.User;
 import com.hoaxify.ws.user.UserService;
@@ -19,7 +19,7 @@ public class BasicAuthTokenService implements TokenService {
     UserService userService;
 
     @Autowired
-    PasswordEncoder passwordEncoder;
+    PasswordHashService passwordHashService;
 
     @Override
     public Token createToken(User user, Credentials creds) {
@@ -38,12 +38,23 @@ public class BasicAuthTokenService implements TokenService {
         var password = credentials[1];
         User inDB = userService.findByEmail(email);
         if(inDB == null) return null;
-        if(!passwordEncoder.matches(password, inDB.getPassword())) return null;
+        if(!passwordHashService.matches(password, inDB.getPassword())) return null;
         return inDB;
     }
 
     @Override
     public void logout(String authorizationHeader) {
     }
+
+    // Kimlik bilgisinin kendisi olan token'ın süresi yok; yenileme desteklenmez
+    @Override
+    public Token rotateToken(String authorizationHeader) {
+        return null;
+    }
+
+    // Sunucuda token durumu tutulmuyor; pasif kullanıcıyı TokenFilter reddeder
+    @Override
+    public void invalidateUser(long userId) {
+    }
     
 }
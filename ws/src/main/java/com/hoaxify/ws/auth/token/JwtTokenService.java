@@ -1,85 +1,197 @@
 package com.hoaxify.ws.auth.token;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import javax.crypto.SecretKey;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hoaxify.ws.auth.dto.Credentials;
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.metrics.MetricsSource;
+import com.hoaxify.ws.shared.TtlCache;
 import com.hoaxify.ws.user.User;
+import com.hoaxify.ws.user.UserRepository;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
+/**
+ * İmzalı token'lar. Kimlik için gereken alanlar (id, kullanıcı adı, aktiflik) token'ın içindedir. Ayrıştırıcı tek
+ * sefer oluşturulur (thread-safe) ve yakın zamanda doğrulanmış token'ların özeti -> çözülmüş alanlar eşlemesi
+ * önbellekte tutulur; tekrar eden isteklerde HMAC, JSON çözümü ve veritabanı atlanır. Token'daki aktiflik alanı
+ * imza anındaki durumdur: önbelleğe alınmadan önce hesabın hâlâ aktif olduğu veritabanından bir kez doğrulanır,
+ * hesap pasifleştirildiğinde de kullanıcının önbellek kayıtları silinir.
+ */
 @Service
 @ConditionalOnProperty(name = "hoaxify.token-type", havingValue = "jwt")
-public class JwtTokenService implements TokenService{
+public class JwtTokenService implements TokenService, MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenService.class);
+
+    private static final String USERNAME_CLAIM = "username";
+
+    private static final String ACTIVE_CLAIM = "active";
 
     SecretKey key = Keys.hmacShaKeyFor("secret-must-be-at-least-32-chars".getBytes());
 
-    ObjectMapper mapper = new ObjectMapper();
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    // SHA-256 özeti anahtar: ham token bellekte tutulmaz
+    private final TtlCache<String, TokenSubject> verifiedTokens;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final long expirationMillis;
+
+    private final UserRepository userRepository;
+
+    public JwtTokenService(HoaxifyProperties hoaxifyProperties, UserRepository userRepository) {
+        this.userRepository = userRepository;
+        this.expirationMillis = Duration.ofDays(hoaxifyProperties.getAuth().getTokenExpirationDays()).toMillis();
+        HoaxifyProperties.Cache cache = hoaxifyProperties.getCache();
+        this.verifiedTokens = new TtlCache<>(cache.getTokenMaxSize(), Duration.ofSeconds(cache.getTokenTtlSeconds()));
+    }
 
     @Override
     public Token createToken(User user, Credentials creds) {
-        System.out.println("=== JWT TOKEN CREATION START ===");
-        System.out.println("Creating token for user ID: " + user.getId() + ", Active: " + user.isActive());
-        
+        log.debug("Creating token for user ID: {}, Active: {}", user.getId(), user.isActive());
+
         try {
-            TokenSubject tokenSubject = new TokenSubject(user.getId(), user.isActive());
-            String subject = mapper.writeValueAsString(tokenSubject);
-            System.out.println("Token subject created: " + subject);
-            
-            String token = Jwts.builder().setSubject(subject).signWith(key).compact();
-            System.out.println("JWT token created successfully");
-            System.out.println("=== JWT TOKEN CREATION END ===");
-            
-            return new Token("Bearer", token);
-        } catch (JsonProcessingException e) {
-            System.err.println("=== JWT TOKEN CREATION ERROR ===");
-            System.err.println("JsonProcessingException occurred: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Token oluşturulamadı: " + e.getMessage(), e);
+            Token token = sign(user.getId(), user.getUsername(), user.isActive());
+            log.debug("JWT token created successfully");
+
+            return token;
         } catch (Exception e) {
-            System.err.println("=== JWT TOKEN CREATION UNEXPECTED ERROR ===");
-            System.err.println("Unexpected exception occurred: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Unexpected exception occurred", e);
             throw new RuntimeException("Token oluşturulurken beklenmeyen hata: " + e.getMessage(), e);
         }
     }
 
+    // iat/exp ile imzalanır; ayrıştırıcı süresi geçmiş token'ı reddeder
+    private Token sign(long id, String username, boolean active) {
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+            .setSubject(Long.toString(id))
+            .claim(USERNAME_CLAIM, username)
+            .claim(ACTIVE_CLAIM, active)
+            .setIssuedAt(new Date(now))
+            .setExpiration(new Date(now + expirationMillis))
+            .signWith(key)
+            .compact();
+        Token signed = new Token("Bearer", token);
+        signed.setIssuedAt(new Date(now));
+        signed.setExpiresAt(new Date(now + expirationMillis));
+        return signed;
+    }
+
+    // Dönen kullanıcı sadece token'daki alanları taşır (id, kullanıcı adı, aktiflik)
     @Override
     public User verifyToken(String authorizationHeader) {
+        TokenSubject subject = verifySubject(authorizationHeader);
+        if(subject == null) return null;
+        User user = new User();
+        user.setId(subject.id());
+        user.setUsername(subject.username());
+        user.setActive(subject.active());
+        return user;
+    }
+
+    // Eski token iptal edilemez, süresi dolana kadar geçerli kalır; yenisi aynı alanlarla ve tam süreyle imzalanır
+    @Override
+    public Token rotateToken(String authorizationHeader) {
+        TokenSubject subject = verifySubject(authorizationHeader);
+        if(subject == null || !subject.active()) return null;
+        return sign(subject.id(), subject.username(), subject.active());
+    }
+
+    // Önbellekteki kayıt da bitiş zamanını taşır: süre dolunca önbellek TTL'i beklenmez
+    private TokenSubject verifySubject(String authorizationHeader) {
         if(authorizationHeader == null) return null;
-        var token = authorizationHeader.split(" ")[1];
-        JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+        int space = authorizationHeader.indexOf(' ');
+        if(space < 0) return null;
+        String token = authorizationHeader.substring(space + 1);
+        String tokenDigest = digest(token);
+        TokenSubject subject = verifiedTokens.get(tokenDigest, cacheKey -> parse(token));
+        if(subject == null) return null;
+        if(subject.expiresAt() <= System.currentTimeMillis()) {
+            verifiedTokens.invalidate(tokenDigest);
+            return null;
+        }
+        return subject;
+    }
+
+    // Geçersiz token önbelleğe alınmaz (null); pasif ya da silinmiş hesabın token'ı pasif olarak çözülür
+    private TokenSubject parse(String token) {
+        TokenSubject subject = parseClaims(token);
+        if(subject == null || !subject.active()) return subject;
+        if(userRepository.existsByIdAndActiveTrue(subject.id())) return subject;
+        return new TokenSubject(subject.id(), subject.username(), false, subject.expiresAt());
+    }
+
+    private TokenSubject parseClaims(String token) {
         try {
-            Jws<Claims> claims = parser.parseClaimsJws(token);
-            var subject = claims.getBody().getSubject();
-            var tokenSubject = mapper.readValue(subject, TokenSubject.class);
-            User user = new User();
-            user.setId(tokenSubject.id());
-            user.setActive(tokenSubject.active());
-            return user;
-        } catch (JwtException | JsonProcessingException e) {
-            e.printStackTrace();
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            // Bitiş zamanı eklenmeden önce üretilmiş token'larda exp yok: süresiz kabul edilmez, yenilenemez de
+            if(claims.getExpiration() == null) {
+                log.debug("JWT reddedildi: bitiş zamanı yok");
+                return null;
+            }
+            Boolean active = claims.get(ACTIVE_CLAIM, Boolean.class);
+            return new TokenSubject(Long.parseLong(claims.getSubject()), claims.get(USERNAME_CLAIM, String.class),
+                Boolean.TRUE.equals(active), claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT doğrulanamadı: {}", e.getMessage());
         }
         return null;
     }
 
-    
+    private static String digest(String token) {
+        byte[] hash = SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
 
-    public static record TokenSubject(long id, boolean active) {}
+    @Override
+    public void logout(String authorizationHeader) {
+    }
 
+    // Önbellekten çıkan token'lar bir sonraki istekte veritabanındaki aktiflikle yeniden doğrulanır
+    @Override
+    public void invalidateUser(long userId) {
+        verifiedTokens.invalidateIf(subject -> subject != null && subject.id() == userId);
+    }
 
+    @Override
+    public String getMetricsName() {
+        return "jwtTokens";
+    }
 
     @Override
-    public void logout(String authorizationHeader) {
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("verifiedTokens", verifiedTokens.stats());
+        return metrics;
     }
-    
+
+    public static record TokenSubject(long id, String username, boolean active, long expiresAt) {}
+
 }
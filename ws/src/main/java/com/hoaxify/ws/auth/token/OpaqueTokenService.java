@@ -1,49 +1,214 @@
 package com.hoaxify.ws.auth.token;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.hoaxify.ws.auth.dto.Credentials;
+import com.hoaxify.ws.cache.EntityCache;
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.metrics.MetricsSource;
+import com.hoaxify.ws.shared.TtlCache;
 import com.hoaxify.ws.user.User;
+import com.hoaxify.ws.user.UserRepository;
 
+/**
+ * Veritabanında saklanan rastgele token'lar. Doğrulanan token -> (kullanıcı ID, bitiş zamanı) eşlemesi önbellekte
+ * tutulur, kullanıcı da EntityCache'ten okunur; böylece her istekte veritabanına gidilmez.
+ * Çıkışta token, hesap pasifleştirmede kullanıcının tüm token'ları önbellekten hemen çıkarılır.
+ * Her token hoaxify.auth.token-expiration-days sonra geçersiz olur; süresi dolanlar arka planda
+ * kısa transaction'lı gruplar halinde silinir.
+ */
 @Service
 @ConditionalOnProperty(name = "hoaxify.token-type", havingValue = "opaque")
-public class OpaqueTokenService implements TokenService {
+public class OpaqueTokenService implements TokenService, MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(OpaqueTokenService.class);
 
     @Autowired
     TokenRepository tokenRepository;
 
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityCache entityCache;
+
+    private final HoaxifyProperties.Auth properties;
+
+    private final TtlCache<String, TokenPrincipal> verifiedTokens;
+
+    private final LongAdder rotations = new LongAdder();
+
+    private final LongAdder purgedTotal = new LongAdder();
+
+    private final AtomicLong lastSweepPurged = new AtomicLong();
+
+    private final AtomicLong lastSweepMillis = new AtomicLong();
+
+    private final AtomicLong lastSweepAt = new AtomicLong();
+
+    private final long startedAt = System.currentTimeMillis();
+
+    public OpaqueTokenService(HoaxifyProperties hoaxifyProperties) {
+        this.properties = hoaxifyProperties.getAuth();
+        HoaxifyProperties.Cache cache = hoaxifyProperties.getCache();
+        this.verifiedTokens = new TtlCache<>(cache.getTokenMaxSize(), Duration.ofSeconds(cache.getTokenTtlSeconds()));
+    }
+
     @Override
     public Token createToken(User user, Credentials creds) {
         String randomValue = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
         Token token = new Token();
         token.setToken(randomValue);
         token.setUser(user);
+        token.setIssuedAt(new Date(now));
+        token.setExpiresAt(new Date(now + expirationMillis()));
         return tokenRepository.save(token);
     }
 
+    // Dönen kullanıcı önbellekteki anlık görüntünün çağırana ait kopyasıdır
     @Override
     public User verifyToken(String authorizationHeader) {
-        var tokenInDB = getToken(authorizationHeader);
-        if(!tokenInDB.isPresent()) return null;
-        return tokenInDB.get().getUser();
+        String token = extractToken(authorizationHeader);
+        if(token == null) return null;
+        TokenPrincipal principal = verifyPrincipal(token);
+        if(principal == null) return null;
+        User user = entityCache.getUser(principal.userId(), key -> userRepository.findById(key).orElse(null));
+        if(user == null) {
+            // Kullanıcı silinmiş: token da cascade ile gitti
+            verifiedTokens.invalidate(token);
+        }
+        return user;
+    }
+
+    /**
+     * Geçerli token'ı yenisiyle değiştirir: önce yeni kayıt yazılır, sonra eskisi silinip önbellekten çıkarılır.
+     * Süresi dolmuş ya da bilinmeyen token yenilenmez.
+     */
+    @Override
+    public Token rotateToken(String authorizationHeader) {
+        String token = extractToken(authorizationHeader);
+        if(token == null) return null;
+        TokenPrincipal principal = verifyPrincipal(token);
+        if(principal == null) return null;
+        User user = userRepository.findById(principal.userId()).orElse(null);
+        if(user == null || !user.isActive()) return null;
+        Token rotated = createToken(user, null);
+        tokenRepository.deleteById(token);
+        verifiedTokens.invalidate(token);
+        rotations.increment();
+        return rotated;
     }
 
     @Override
     public void logout(String authorizationHeader) {
-        var tokenInDB = getToken(authorizationHeader);
-        if(!tokenInDB.isPresent()) return;
-        tokenRepository.delete(tokenInDB.get());
+        String token = extractToken(authorizationHeader);
+        if(token == null) return;
+        // Önce silinir: araya giren doğrulama önbelleğe eski kaydı geri yazamaz
+        tokenRepository.deleteById(token);
+        verifiedTokens.invalidate(token);
     }
 
-    private Optional<Token> getToken(String authorizationHeader){
-        if(authorizationHeader == null) return Optional.empty();
-        var token = authorizationHeader.split(" ")[1];
-        return tokenRepository.findById(token);
+    @Override
+    public void invalidateUser(long userId) {
+        verifiedTokens.invalidateIf(cached -> cached.userId() == userId);
+    }
+
+    // Bitiş zamanı önbellekteki kayıtta da taşınır: süre dolunca önbellek TTL'i beklenmez
+    private TokenPrincipal verifyPrincipal(String token) {
+        TokenPrincipal principal = verifiedTokens.get(token, key -> tokenRepository.findPrincipalByToken(key).orElse(null));
+        if(principal == null) return null;
+        if(principal.isExpired(System.currentTimeMillis())) {
+            verifiedTokens.invalidate(token);
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * Bitiş zamanı alanı eklenmeden önce oluşturulan token'lara şimdiden itibaren tam süre verilir.
+     * Tek UPDATE; doldurulduktan sonraki açılışlarda iş yapmaz.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void assignMissingExpiry() {
+        long now = System.currentTimeMillis();
+        int updated = tokenRepository.assignMissingExpiry(new Date(now), new Date(now + expirationMillis()));
+        if(updated > 0) {
+            log.info("bitiş zamanı atanan token - {}", updated);
+        }
+    }
+
+    /**
+     * Süresi dolmuş token'ları siler. Her grup ayrı kısa transaction'da silinir, böylece tablo uzun süre kilitlenmez;
+     * tur başına grup sayısı sınırlıdır, kalanlar bir sonraki tura bırakılır.
+     */
+    @Scheduled(fixedDelayString = "${hoaxify.auth.token-sweep-interval-ms:600000}", initialDelayString = "${hoaxify.auth.token-sweep-interval-ms:600000}")
+    public void sweepExpiredTokens() {
+        long startNanos = System.nanoTime();
+        Date now = new Date();
+        int batchSize = Math.max(1, properties.getTokenSweepBatchSize());
+        long purged = 0;
+        for (int batch = 0; batch < properties.getTokenSweepMaxBatches(); batch++) {
+            List<String> expired = tokenRepository.findExpiredTokens(now, PageRequest.of(0, batchSize));
+            if(expired.isEmpty()) break;
+            purged += tokenRepository.deleteByTokens(expired);
+            expired.forEach(verifiedTokens::invalidate);
+            if(expired.size() < batchSize) break;
+        }
+        purgedTotal.add(purged);
+        lastSweepPurged.set(purged);
+        lastSweepMillis.set((System.nanoTime() - startNanos) / 1_000_000);
+        lastSweepAt.set(now.getTime());
+        if(purged > 0) {
+            log.info("süresi dolmuş token silindi - {}", purged);
+        }
+    }
+
+    private long expirationMillis() {
+        return Duration.ofDays(properties.getTokenExpirationDays()).toMillis();
+    }
+
+    private String extractToken(String authorizationHeader){
+        if(authorizationHeader == null) return null;
+        int space = authorizationHeader.indexOf(' ');
+        if(space < 0 || space == authorizationHeader.length() - 1) return null;
+        return authorizationHeader.substring(space + 1);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "opaqueTokens";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        long uptimeMinutes = Math.max(1, (System.currentTimeMillis() - startedAt) / 60_000);
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("verifiedTokens", verifiedTokens.stats());
+        metrics.put("tableSize", tokenRepository.count());
+        metrics.put("rotations", rotations.sum());
+        metrics.put("purgedTotal", purgedTotal.sum());
+        metrics.put("purgedPerMinute", purgedTotal.sum() / uptimeMinutes);
+        metrics.put("lastSweepPurged", lastSweepPurged.get());
+        metrics.put("lastSweepMillis", lastSweepMillis.get());
+        metrics.put("lastSweepAt", lastSweepAt.get());
+        return metrics;
     }
-    
 }
@@ -1,14 +1,24 @@
 package com.hoaxify.ws.auth.token;
 
+import java.util.Date;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.hoaxify.ws.user.User;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
 import jakarta.persistence.Transient;
 
 @Entity
+@Table(name = "token", indexes = {
+    @Index(name = "idx_token_expires_at", columnList = "expires_at")
+})
 public class Token {
 
     @Id
@@ -21,6 +31,15 @@ public class Token {
     @ManyToOne
     User user;
 
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "issued_at")
+    Date issuedAt;
+
+    // Süresi dolan kayıtlar zamanlanmış temizlikle gruplar halinde silinir
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "expires_at")
+    Date expiresAt;
+
     public Token(String prefix, String token) {
         this.prefix = prefix;
         this.token = token;
@@ -51,5 +70,21 @@ public class Token {
     public void setUser(User user) {
         this.user = user;
     }
+
+    public Date getIssuedAt() {
+        return issuedAt;
+    }
+
+    public void setIssuedAt(Date issuedAt) {
+        this.issuedAt = issuedAt;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
     
 }
@@ -0,0 +1,11 @@
+package com.hoaxify.ws.auth.token;
+
+import java.util.Date;
+
+// Doğrulama projeksiyonu: token sahibinin ID'si ve son geçerlilik zamanı (eski kayıtlarda null olabilir)
+public record TokenPrincipal(long userId, Date expiresAt) {
+
+    public boolean isExpired(long now) {
+        return expiresAt != null && expiresAt.getTime() <= now;
+    }
+}
@@ -1,7 +1,36 @@
 package com.hoaxify.ws.auth.token;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface TokenRepository extends JpaRepository<Token, String> {
-    
+
+    // Doğrulama için sadece kullanıcı ID'si ve bitiş zamanı; User entity'si yüklenmez
+    @Query("SELECT new com.hoaxify.ws.auth.token.TokenPrincipal(t.user.id, t.expiresAt) FROM Token t WHERE t.token = :token")
+    Optional<TokenPrincipal> findPrincipalByToken(@Param("token") String token);
+
+    // Süresi dolmuş token'lar, expires_at indeksi üzerinden sınırlı grup
+    @Query("SELECT t.token FROM Token t WHERE t.expiresAt < :now ORDER BY t.expiresAt")
+    List<String> findExpiredTokens(@Param("now") Date now, Pageable pageable);
+
+    // Her grup kendi kısa transaction'ında silinir (uzun kilit tutulmaz)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Token t WHERE t.token IN (:tokens)")
+    int deleteByTokens(@Param("tokens") Collection<String> tokens);
+
+    // Bitiş zamanı eklenmeden önce oluşturulmuş token'lara süre verilir
+    @Modifying
+    @Transactional
+    @Query("UPDATE Token t SET t.issuedAt = :now, t.expiresAt = :expiresAt WHERE t.expiresAt IS NULL")
+    int assignMissingExpiry(@Param("now") Date now, @Param("expiresAt") Date expiresAt);
 }
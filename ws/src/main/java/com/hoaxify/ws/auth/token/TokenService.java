@@ -10,5 +10,11 @@ public interface TokenService {
     public User verifyToken(String authorizationHeader);
 
     public void logout(String authorizationHeader);
+
+    // Geçerli token yerine süresi yenilenmiş yenisini verir; geçersizse null
+    public Token rotateToken(String authorizationHeader);
+
+    // Hesap pasifleştirildiğinde kullanıcının doğrulanmış token'ları hemen geçersiz sayılır
+    public void invalidateUser(long userId);
     
 }
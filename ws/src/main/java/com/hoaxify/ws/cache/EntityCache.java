@@ -0,0 +1,105 @@
+package com.hoaxify.ws.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.metrics.MetricsSource;
+import com.hoaxify.ws.post.Post;
+import com.hoaxify.ws.shared.TtlCache;
+import com.hoaxify.ws.user.User;
+
+/**
+ * Post ve User birincil anahtar okumaları için önbellek.
+ * Önbellekte yüklenen entity değil, tembel koleksiyonları boş bırakılmış ayrık bir anlık kopya tutulur;
+ * getUser/getPost her çağrıda bu kopyanın yeni bir kopyasını döner, böylece çağıranın yaptığı değişiklik
+ * diğer isteklere sızmaz. Güncelleme/silme sonrası kayıt yine invalidate edilmelidir.
+ */
+@Component
+public class EntityCache implements MetricsSource {
+
+    private final TtlCache<Long, Post> posts;
+
+    private final TtlCache<Long, User> users;
+
+    public EntityCache(HoaxifyProperties hoaxifyProperties) {
+        HoaxifyProperties.Cache cache = hoaxifyProperties.getCache();
+        this.posts = new TtlCache<>(cache.getPostMaxSize(), Duration.ofSeconds(cache.getPostTtlSeconds()));
+        this.users = new TtlCache<>(cache.getUserMaxSize(), Duration.ofSeconds(cache.getUserTtlSeconds()));
+    }
+
+    // Kayıt yoksa null; dönen nesne çağırana aittir
+    public User getUser(long id, Function<Long, User> loader) {
+        return copyOf(users.get(id, key -> copyOf(loader.apply(key))));
+    }
+
+    public Post getPost(long id, Function<Long, Post> loader) {
+        return copyOf(posts.get(id, key -> copyOf(loader.apply(key))));
+    }
+
+    // Sadece invalidate için; değerler anlık kopyadır, doğrudan döndürülmemeli
+    public TtlCache<Long, Post> posts() {
+        return posts;
+    }
+
+    public TtlCache<Long, User> users() {
+        return users;
+    }
+
+    // tokens tembel koleksiyonu kopyalanmaz: oturum dışında LazyInitializationException atmasın
+    static User copyOf(User user) {
+        if (user == null) return null;
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setActive(user.isActive());
+        copy.setActivationToken(user.getActivationToken());
+        copy.setImage(user.getImage());
+        copy.setBanner(user.getBanner());
+        copy.setBio(user.getBio());
+        copy.setPasswordResetToken(user.getPasswordResetToken());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setTimelineSeeded(user.getTimelineSeeded());
+        return copy;
+    }
+
+    // comments tembel koleksiyonu kopyalanmaz; ekler (EAGER) salt okunur liste olarak taşınır
+    static Post copyOf(Post post) {
+        if (post == null) return null;
+        Post copy = new Post();
+        copy.setId(post.getId());
+        copy.setContent(post.getContent());
+        copy.setCreatedAt(post.getCreatedAt());
+        copy.setTimestamp(post.getTimestamp());
+        copy.setUser(copyOf(post.getUser()));
+        if (post.getFileAttachments() != null) {
+            copy.setFileAttachments(Collections.unmodifiableList(new ArrayList<>(post.getFileAttachments())));
+        }
+        copy.setLikeCount(post.getLikeCount());
+        copy.setCommentCount(post.getCommentCount());
+        copy.setMediaKinds(post.getMediaKinds());
+        copy.setLiked(post.isLiked());
+        return copy;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "entityCache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("posts", posts.stats());
+        metrics.put("users", users.stats());
+        return metrics;
+    }
+}
@@ -13,9 +13,19 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_post_created_id", columnList = "post_id, created_at, id"),
+    @Index(name = "idx_comments_parent_created_id", columnList = "parent_comment_id, created_at, id"),
+    @Index(name = "idx_comments_path", columnList = "path")
+})
 public class Comment {
 
+    // Yol segmenti: 36 tabanında, sabit genişlikte ID (Long.MAX_VALUE 13 hane) - sözlük sırası = ağaç sırası
+    private static final int PATH_SEGMENT_LENGTH = 13;
+
+    // path kolonu (1024) bu derinliğe kadar yeterli
+    public static final int MAX_DEPTH = 64;
+
     @Id
     @GeneratedValue
     private long id;
@@ -25,6 +35,7 @@ public class Comment {
     private String content;
 
     @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at")
     private Date createdAt = new Date();
 
     @ManyToOne(fetch = FetchType.EAGER)
@@ -47,6 +58,16 @@ public class Comment {
     @OneToMany(mappedBy = "parentComment", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
     private List<Comment> replies;
 
+    // Kökten bu yoruma kadar atalarının ID segmentleri (materialized path).
+    // Alt ağaç [path, subtreeUpperBound) aralığıdır ve tek indeks taramasıyla okunur/silinir. null: henüz doldurulmamış eski kayıt
+    @Column(length = 1024)
+    private String path;
+
+    // Ana yorum 0
+    private Integer depth = 0;
+
+    // Sayaç sadece CounterService'in atomik UPDATE'leriyle değişir, entity kaydıyla ezilmez
+    @Column(updatable = false)
     private int likeCount = 0;
 
     @Transient
@@ -120,6 +141,48 @@ public class Comment {
         this.replies = replies;
     }
 
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    // ID atandıktan sonra çağrılır; parent null ise ana yorumdur
+    public void assignPath(Comment parent) {
+        if (parent == null) {
+            this.path = pathSegment(id);
+            this.depth = 0;
+        } else {
+            this.path = parent.getPath() + pathSegment(id);
+            this.depth = parent.getDepth() + 1;
+        }
+    }
+
+    // Alt ağaçtaki tüm yolların üst sınırı (hariç): son segmentteki ID'nin bir fazlası
+    public String subtreeUpperBound() {
+        return subtreeUpperBound(path, id);
+    }
+
+    // Entity yüklemeden (ör. [id, path] projeksiyonu) alt ağaç üst sınırı
+    public static String subtreeUpperBound(String path, long id) {
+        return path.substring(0, path.length() - PATH_SEGMENT_LENGTH) + pathSegment(id + 1);
+    }
+
+    public static String pathSegment(long id) {
+        String segment = Long.toString(id, 36);
+        return "0".repeat(PATH_SEGMENT_LENGTH - segment.length()) + segment;
+    }
+
     public int getLikeCount() {
         return likeCount;
     }
@@ -1,5 +1,7 @@
 package com.hoaxify.ws.comment;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,8 +9,6 @@ import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,13 +16,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.hoaxify.ws.comment.dto.CommentSubmitDTO;
 import com.hoaxify.ws.comment.dto.CommentResponseDTO;
 import com.hoaxify.ws.shared.CurrentUser;
+import com.hoaxify.ws.shared.Cursor;
+import com.hoaxify.ws.shared.CursorSlice;
 import com.hoaxify.ws.user.User;
-import com.hoaxify.ws.user.UserService;
 
 import jakarta.validation.Valid;
 
@@ -30,18 +32,21 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/v1")
 public class CommentController {
 
+    private static final Logger log = LoggerFactory.getLogger(CommentController.class);
+
     @Autowired
     CommentService commentService;
-    
-    @Autowired
-    UserService userService;
 
     @GetMapping("/posts/{postId}/comments")
-    public Page<CommentResponseDTO> getCommentsOfPost(@PathVariable long postId, 
+    public CursorSlice<CommentResponseDTO> getCommentsOfPost(@PathVariable long postId, 
             @PageableDefault(sort = "id", direction = Direction.DESC) Pageable pageable,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "0") int preloadReplies,
             @CurrentUser User currentUser) {
-        Page<Comment> comments = commentService.getCommentsOfPost(postId, pageable, currentUser);
-        return comments.map(CommentResponseDTO::new);
+        CursorSlice<Comment> comments = commentService.getCommentsOfPost(postId, pageable, Cursor.decode(before), Cursor.decode(after), currentUser, preloadReplies);
+        boolean includeReplies = preloadReplies > 0;
+        return comments.map(comment -> new CommentResponseDTO(comment, includeReplies));
     }
 
     @GetMapping("/users/{userId}/comments")
@@ -58,33 +63,16 @@ public class CommentController {
             @CurrentUser User user) {
         
         try {
-            if (user == null) {
-                // Security context'ten kullanıcıyı almayı deneyelim
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                if (authentication != null && authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                    com.hoaxify.ws.configuration.CurrentUser currentUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                    user = userService.getUserById(currentUser.getId());
-                    
-                    System.out.println("CommentController: Token'dan kullanıcı alındı - ID=" + user.getId() + ", Username=" + user.getUsername());
-                } else {
-                    System.out.println("CommentController: Kullanıcı bulunamadı veya oturum açılmamış!");
-                    throw new RuntimeException("Kullanıcı bilgileri alınamadı. Lütfen tekrar giriş yapın.");
-                }
-            } else {
-                System.out.println("CommentController: CurrentUser anotasyonu ile kullanıcı alındı - ID=" + user.getId() + ", Username=" + user.getUsername());
-            }
-            
             Comment createdComment = commentService.createComment(postId, comment, user);
-            System.out.println("CommentController: Yorum oluşturuldu - ID=" + createdComment.getId());
-            System.out.println("CommentController: Comment User - ID=" + createdComment.getUser().getId() + ", Username=" + createdComment.getUser().getUsername());
+            log.debug("Yorum oluşturuldu - ID={}", createdComment.getId());
+            log.debug("Comment User - ID={}, Username={}", createdComment.getUser().getId(), createdComment.getUser().getUsername());
             
             CommentResponseDTO responseDTO = new CommentResponseDTO(createdComment);
-            System.out.println("CommentController: DTO oluşturuldu - User ID=" + responseDTO.getUser().getId() + ", Username=" + responseDTO.getUser().getUsername());
+            log.debug("DTO oluşturuldu - User ID={}, Username={}", responseDTO.getUser().getId(), responseDTO.getUser().getUsername());
             
             return responseDTO;
         } catch (Exception e) {
-            System.err.println("CommentController - Yorum oluşturulurken hata: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Yorum oluşturulurken hata", e);
             throw e;
         }
     }
@@ -101,16 +89,6 @@ public class CommentController {
             @Valid @RequestBody CommentSubmitDTO commentUpdate, 
             @CurrentUser User loggedInUser) {
         
-        if (loggedInUser == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                com.hoaxify.ws.configuration.CurrentUser currentUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                loggedInUser = userService.getUserById(currentUser.getId());
-            } else {
-                throw new RuntimeException("Kullanıcı bilgileri alınamadı. Lütfen tekrar giriş yapın.");
-            }
-        }
-        
         Comment updatedComment = commentService.updateComment(id, commentUpdate, loggedInUser);
         return new CommentResponseDTO(updatedComment);
     }
@@ -118,16 +96,6 @@ public class CommentController {
     @DeleteMapping("/comments/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> deleteComment(@PathVariable long id, @CurrentUser User loggedInUser) {
-        if (loggedInUser == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                com.hoaxify.ws.configuration.CurrentUser currentUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                loggedInUser = userService.getUserById(currentUser.getId());
-            } else {
-                throw new RuntimeException("Kullanıcı bilgileri alınamadı. Lütfen tekrar giriş yapın.");
-            }
-        }
-        
         commentService.deleteComment(id, loggedInUser);
         return ResponseEntity.ok().build();
     }
@@ -145,32 +113,15 @@ public class CommentController {
             @CurrentUser User user) {
         
         try {
-            if (user == null) {
-                // Security context'ten kullanıcıyı almayı deneyelim
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                if (authentication != null && authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                    com.hoaxify.ws.configuration.CurrentUser currentUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                    user = userService.getUserById(currentUser.getId());
-                    
-                    System.out.println("CommentController: createReply - Token'dan kullanıcı alındı - ID=" + user.getId() + ", Username=" + user.getUsername());
-                } else {
-                    System.out.println("CommentController: createReply - Kullanıcı bulunamadı veya oturum açılmamış!");
-                    throw new RuntimeException("Kullanıcı bilgileri alınamadı. Lütfen tekrar giriş yapın.");
-                }
-            } else {
-                System.out.println("CommentController: createReply - CurrentUser anotasyonu ile kullanıcı alındı - ID=" + user.getId() + ", Username=" + user.getUsername());
-            }
-            
             Comment createdReply = commentService.createReply(commentId, replySubmit, user);
-            System.out.println("CommentController: Yanıt oluşturuldu - ID=" + createdReply.getId());
+            log.debug("Yanıt oluşturuldu - ID={}", createdReply.getId());
             
             CommentResponseDTO responseDTO = new CommentResponseDTO(createdReply);
-            System.out.println("CommentController: Yanıt DTO oluşturuldu - User ID=" + responseDTO.getUser().getId() + ", Username=" + responseDTO.getUser().getUsername());
+            log.debug("Yanıt DTO oluşturuldu - User ID={}, Username={}", responseDTO.getUser().getId(), responseDTO.getUser().getUsername());
             
             return ResponseEntity.ok(responseDTO);
         } catch (Exception e) {
-            System.err.println("CommentController - Yanıt oluşturulurken hata: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Yanıt oluşturulurken hata", e);
             throw e;
         }
     }
@@ -179,16 +130,6 @@ public class CommentController {
     @PreAuthorize("@commentSecurityService.canLike(#commentId)")
     public ResponseEntity<Boolean> toggleLike(@PathVariable long commentId,
             @CurrentUser User user) {
-        if (user == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                com.hoaxify.ws.configuration.CurrentUser currentUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                user = userService.getUserById(currentUser.getId());
-            } else {
-                throw new RuntimeException("Kullanıcı bilgileri alınamadı. Lütfen tekrar giriş yapın.");
-            }
-        }
-        
         boolean liked = commentService.toggleLike(commentId, user);
         return ResponseEntity.ok(liked);
     }
@@ -196,7 +137,8 @@ public class CommentController {
     @GetMapping("/comments/{commentId}/replies")
     public Page<CommentResponseDTO> getReplies(@PathVariable long commentId,
             @PageableDefault(sort = "id", direction = Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "1") int depth,
             @CurrentUser User currentUser) {
-        return commentService.getReplies(commentId, pageable, currentUser).map(CommentResponseDTO::new);
+        return commentService.getReplies(commentId, depth, pageable, currentUser).map(CommentResponseDTO::new);
     }
 } 
\ No newline at end of file
@@ -1,8 +1,15 @@
 package com.hoaxify.ws.comment;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.hoaxify.ws.user.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CommentLikeRepository extends JpaRepository<CommentLike, Long> {
@@ -10,12 +17,32 @@ public interface CommentLikeRepository extends JpaRepository<CommentLike, Long>
     Optional<CommentLike> findByCommentAndUser(Comment comment, User user);
     
     boolean existsByCommentAndUser(Comment comment, User user);
+
+    // Sayfadaki yorumlardan kullanıcının beğendiklerinin ID'leri - tek sorgu
+    @Query("SELECT cl.comment.id FROM CommentLike cl WHERE cl.comment.id IN (:commentIds) AND cl.user = :user")
+    List<Long> findLikedCommentIds(@Param("commentIds") Collection<Long> commentIds, @Param("user") User user);
     
     long countByComment(Comment comment);
     
     void deleteByCommentAndUser(Comment comment, User user);
     
     void deleteByComment(Comment comment);
-    
-    void deleteByUser(User user);
-} 
\ No newline at end of file
+
+    // Bir yorum alt ağacının tüm beğenileri tek DELETE ile
+    @Modifying
+    @Query("DELETE FROM CommentLike cl WHERE cl.comment.id IN " +
+           "(SELECT c.id FROM Comment c WHERE c.path >= :lower AND c.path < :upper)")
+    int deleteBySubtree(@Param("lower") String lower, @Param("upper") String upper);
+
+    // Hesap silme işi: kullanıcının yorum beğenileri [id, commentId]
+    @Query("SELECT cl.id, cl.comment.id FROM CommentLike cl WHERE cl.user.id = :userId ORDER BY cl.id")
+    List<Object[]> findIdsByUserId(@Param("userId") long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM CommentLike cl WHERE cl.id IN (:ids)")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM CommentLike cl WHERE cl.comment.id IN (:commentIds)")
+    int deleteByCommentIds(@Param("commentIds") Collection<Long> commentIds);
+}
@@ -0,0 +1,115 @@
+package com.hoaxify.ws.comment;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.metrics.MetricsSource;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * path alanı eklenmeden önceki yorumlara yol ve derinliği uygulama çalışırken atar. Her grup kendi kısa
+ * transaction'ında güncellenir, tur başına grup sayısı sınırlıdır; ebeveyni doldurulmamış yanıtlar sonraki gruplarda
+ * gelir. Yolu olmayan yorumlar okuma ve silmede eski davranışla işlenir. Tüm yorumların yolu varsa açılışta tek
+ * kontrolle tamamlanır ve bir daha sorgu çalışmaz.
+ */
+@Component
+public class CommentPathMigration implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentPathMigration.class);
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final HoaxifyProperties.Comments properties;
+
+    private TransactionTemplate transactionTemplate;
+
+    private volatile boolean complete;
+
+    private final LongAdder migratedComments = new LongAdder();
+
+    public CommentPathMigration(HoaxifyProperties hoaxifyProperties) {
+        this.properties = hoaxifyProperties.getComments();
+    }
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkComplete() {
+        if (!commentRepository.existsByPathIsNull()) {
+            complete = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hoaxify.comments.path-migration-interval-ms:5000}", initialDelayString = "${hoaxify.comments.path-migration-interval-ms:5000}")
+    public void migrateBatches() {
+        if (complete) return;
+        PageRequest batch = PageRequest.of(0, Math.max(1, properties.getPathMigrationBatchSize()));
+        for (int round = 0; round < properties.getPathMigrationMaxBatches(); round++) {
+            Integer filled = transactionTemplate.execute(status -> fillBatch(batch));
+            if (filled == null || filled == 0) {
+                // Ebeveyni kaybolmuş bir kayıt yüzünden döngüye girilmez: kalan varsa sonraki turda yeniden denenir
+                if (!commentRepository.existsByPathIsNull()) {
+                    complete = true;
+                    log.info("yorum yolu geçişi tamamlandı - {} yorum", migratedComments.sum());
+                }
+                return;
+            }
+            migratedComments.add(filled);
+        }
+    }
+
+    // Ebeveyni doldurulmuş (ya da ebeveynsiz) yorumlar [id, ebeveyn yolu, ebeveyn derinliği]
+    private int fillBatch(PageRequest batch) {
+        List<Object[]> rows = commentRepository.findUnpathedComments(batch);
+        for (Object[] row : rows) {
+            long id = (Long) row[0];
+            String parentPath = (String) row[1];
+            Integer parentDepth = (Integer) row[2];
+            if (parentPath == null) {
+                commentRepository.setPath(id, Comment.pathSegment(id), 0);
+            } else {
+                commentRepository.setPath(id, parentPath + Comment.pathSegment(id), parentDepth + 1);
+            }
+        }
+        return rows.size();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "commentPathMigration";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("complete", complete);
+        metrics.put("migratedComments", migratedComments.sum());
+        return metrics;
+    }
+}
@@ -2,16 +2,40 @@ package com.hoaxify.ws.comment;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.hoaxify.ws.post.Post;
 import com.hoaxify.ws.user.User;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     
     Page<Comment> findByPost(Post post, Pageable pageable);
     
     Page<Comment> findByPostAndParentCommentIsNull(Post post, Pageable pageable);
+
+    // Keyset sayfalama - imleçsiz ilk sayfa, OFFSET yok
+    @Query("SELECT c FROM Comment c WHERE c.post = :post AND c.parentComment IS NULL ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findLatestTopLevel(@Param("post") Post post, Pageable pageable);
+
+    // Sayfa numarasıyla gelen istemciler için offset sayfalama - COUNT sorgusu çalıştırmaz
+    Slice<Comment> findSliceByPostAndParentCommentIsNull(Post post, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE c.post = :post AND c.parentComment IS NULL AND " +
+           "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findTopLevelOlderThan(@Param("post") Post post, @Param("createdAt") Date createdAt, @Param("id") long id, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE c.post = :post AND c.parentComment IS NULL AND " +
+           "(c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findTopLevelNewerThan(@Param("post") Post post, @Param("createdAt") Date createdAt, @Param("id") long id, Pageable pageable);
     
     Page<Comment> findByUser(User user, Pageable pageable);
     
@@ -22,8 +46,73 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     long countByPostAndParentCommentIsNull(Post post);
     
     long countByParentComment(Comment parentComment);
-    
-    void deleteByPost(Post post);
-    
-    void deleteByUser(User user);
-} 
\ No newline at end of file
+
+    // Bir sayfadaki yorumların yanıt sayıları tek sorguda: [parentId, adet]
+    @Query("SELECT c.parentComment.id, COUNT(c) FROM Comment c WHERE c.parentComment.id IN (:parentIds) GROUP BY c.parentComment.id")
+    List<Object[]> countRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds);
+
+    // Her yorumun en yeni :limit yanıtı tek pencereli sorguda (yanıt uç noktasıyla aynı sıra)
+    @Query(value = "SELECT * FROM (SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.parent_comment_id ORDER BY c.created_at DESC, c.id DESC) AS reply_rank " +
+           "FROM comments c WHERE c.parent_comment_id IN (:parentIds)) ranked " +
+           "WHERE ranked.reply_rank <= :limit ORDER BY ranked.created_at DESC, ranked.id DESC", nativeQuery = true)
+    List<Comment> findLatestRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds, @Param("limit") int limit);
+
+    // Alt ağaç (kök hariç), derinlik sınırlı ve ağaç sırasında: tek aralık taraması
+    @Query("SELECT c FROM Comment c WHERE c.path > :lower AND c.path < :upper AND c.depth <= :maxDepth ORDER BY c.path")
+    Page<Comment> findSubtree(@Param("lower") String lower, @Param("upper") String upper, @Param("maxDepth") int maxDepth, Pageable pageable);
+
+    // Yolu olmayan eski kayıtlarda alt ağaç seviye seviye gezilir
+    @Query("SELECT c.id FROM Comment c WHERE c.parentComment.id IN (:parentIds)")
+    List<Long> findIdsByParentIds(@Param("parentIds") Collection<Long> parentIds);
+
+    // Kök dahil alt ağaç ID'leri
+    @Query("SELECT c.id FROM Comment c WHERE c.path >= :lower AND c.path < :upper")
+    List<Long> findSubtreeIds(@Param("lower") String lower, @Param("upper") String upper);
+
+    // Kendi kendine referans veren FK'ya takılmadan tek DELETE için önce ebeveyn bağları koparılır
+    @Modifying
+    @Query("UPDATE Comment c SET c.parentComment = null WHERE c.path >= :lower AND c.path < :upper")
+    int detachSubtree(@Param("lower") String lower, @Param("upper") String upper);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.path >= :lower AND c.path < :upper")
+    int deleteSubtree(@Param("lower") String lower, @Param("upper") String upper);
+
+    boolean existsByPathIsNull();
+
+    // path alanı eklenmeden önceki yorumlar: ebeveyni doldurulmuş olanlar [id, ebeveyn yolu, ebeveyn derinliği]
+    @Query("SELECT c.id, p.path, p.depth FROM Comment c LEFT JOIN c.parentComment p " +
+           "WHERE c.path IS NULL AND (p.id IS NULL OR p.path IS NOT NULL) ORDER BY c.id")
+    List<Object[]> findUnpathedComments(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Comment c SET c.path = :path, c.depth = :depth WHERE c.id = :id")
+    int setPath(@Param("id") long id, @Param("path") String path, @Param("depth") int depth);
+
+    // Trend skorları için [postId, yorum zamanı]
+    @Query("SELECT c.post.id, c.createdAt FROM Comment c WHERE c.createdAt >= :since")
+    List<Object[]> findCommentEventsSince(@Param("since") Date since);
+
+    // Sayaç farkları - okuma-değiştir-yaz yerine atomik artırım (CounterService)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Comment c SET c.likeCount = CASE WHEN c.likeCount + :delta < 0 THEN 0 ELSE c.likeCount + :delta END WHERE c.id IN (:ids)")
+    int addToLikeCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    // Hesap silme işi: kullanıcının yorumları [id, path, postId] - üst yorum alt ağacıyla birlikte silinir
+    @Query("SELECT c.id, c.path, c.post.id FROM Comment c WHERE c.user.id = :userId ORDER BY c.path, c.id")
+    List<Object[]> findRootsByUserId(@Param("userId") long userId, Pageable pageable);
+
+    // Hesap silme işi: kullanıcının gönderilerindeki yorumlar, önce en derindekiler
+    @Query("SELECT c.id FROM Comment c WHERE c.post.user.id = :userId ORDER BY c.depth DESC, c.id")
+    List<Long> findIdsOnPostsOfUser(@Param("userId") long userId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.parentComment = null WHERE c.parentComment.id IN (:ids)")
+    int detachChildren(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id IN (:ids)")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,5 +1,7 @@
 package com.hoaxify.ws.comment;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -10,6 +12,8 @@ import com.hoaxify.ws.configuration.CurrentUser;
 @Service
 public class CommentSecurityService {
 
+    private static final Logger log = LoggerFactory.getLogger(CommentSecurityService.class);
+
     @Autowired
     private CommentRepository commentRepository;
 
@@ -17,7 +21,7 @@ public class CommentSecurityService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
         if (authentication == null || !authentication.isAuthenticated()) {
-            System.out.println("CommentSecurityService.canReply: Kullanıcı kimlik doğrulaması yapılmamış");
+            log.debug("canReply: Kullanıcı kimlik doğrulaması yapılmamış");
             return false;
         }
         
@@ -25,14 +29,14 @@ public class CommentSecurityService {
             // Yorumun var olup olmadığını kontrol et
             boolean commentExists = commentRepository.existsById(commentId);
             if (!commentExists) {
-                System.out.println("CommentSecurityService.canReply: Yorum bulunamadı - ID: " + commentId);
+                log.debug("canReply: Yorum bulunamadı - ID: {}", commentId);
                 return false;
             }
             
-            System.out.println("CommentSecurityService.canReply: Yanıt izni verildi - Comment ID: " + commentId);
+            log.debug("canReply: Yanıt izni verildi - Comment ID: {}", commentId);
             return true;
         } catch (Exception e) {
-            System.err.println("CommentSecurityService.canReply hata: " + e.getMessage());
+            log.warn("canReply hata: {}", e.getMessage());
             return false;
         }
     }
@@ -41,7 +45,7 @@ public class CommentSecurityService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
         if (authentication == null || !authentication.isAuthenticated()) {
-            System.out.println("CommentSecurityService.canLike: Kullanıcı kimlik doğrulaması yapılmamış");
+            log.debug("canLike: Kullanıcı kimlik doğrulaması yapılmamış");
             return false;
         }
         
@@ -49,14 +53,14 @@ public class CommentSecurityService {
             // Yorumun var olup olmadığını kontrol et
             boolean commentExists = commentRepository.existsById(commentId);
             if (!commentExists) {
-                System.out.println("CommentSecurityService.canLike: Yorum bulunamadı - ID: " + commentId);
+                log.debug("canLike: Yorum bulunamadı - ID: {}", commentId);
                 return false;
             }
             
-            System.out.println("CommentSecurityService.canLike: Beğeni izni verildi - Comment ID: " + commentId);
+            log.debug("canLike: Beğeni izni verildi - Comment ID: {}", commentId);
             return true;
         } catch (Exception e) {
-            System.err.println("CommentSecurityService.canLike hata: " + e.getMessage());
+            log.warn("canLike hata: {}", e.getMessage());
             return false;
         }
     }
@@ -82,7 +86,7 @@ public class CommentSecurityService {
             
             return false;
         } catch (Exception e) {
-            System.err.println("CommentSecurityService.canEdit hata: " + e.getMessage());
+            log.warn("canEdit hata: {}", e.getMessage());
             return false;
         }
     }
@@ -110,7 +114,7 @@ public class CommentSecurityService {
             
             return false;
         } catch (Exception e) {
-            System.err.println("CommentSecurityService.canDelete hata: " + e.getMessage());
+            log.warn("canDelete hata: {}", e.getMessage());
             return false;
         }
     }
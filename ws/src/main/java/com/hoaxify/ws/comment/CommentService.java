@@ -1,23 +1,40 @@
 package com.hoaxify.ws.comment;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.hoaxify.ws.comment.dto.CommentSubmitDTO;
+import com.hoaxify.ws.counter.CounterService;
+import com.hoaxify.ws.counter.CounterType;
 import com.hoaxify.ws.post.Post;
 import com.hoaxify.ws.post.PostService;
+import com.hoaxify.ws.trending.TrendingService;
+import com.hoaxify.ws.shared.Cursor;
+import com.hoaxify.ws.shared.CursorSlice;
 import com.hoaxify.ws.user.User;
 import com.hoaxify.ws.notification.NotificationService;
 import com.hoaxify.ws.notification.NotificationType;
 
 @Service
 public class CommentService {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentService.class);
     
     @Autowired
     CommentRepository commentRepository;
@@ -31,27 +48,71 @@ public class CommentService {
     @Autowired
     NotificationService notificationService;
     
-    public Page<Comment> getCommentsOfPost(long postId, Pageable pageable, User currentUser) {
+    @Autowired
+    CounterService counterService;
+    
+    @Autowired
+    TrendingService trendingService;
+    
+    // Yanıt önyüklemesinde yorum başına üst sınır
+    public static final int MAX_PRELOADED_REPLIES = 10;
+    
+    /**
+     * Ana yorumları sabit sayıda sorguyla döner: sayfa, yanıt sayıları (GROUP BY) ve beğeni durumu.
+     * preloadReplies > 0 ise her yorumun en yeni yanıtları tek pencereli sorguyla replies listesine konur.
+     */
+    public CursorSlice<Comment> getCommentsOfPost(long postId, Pageable pageable, Cursor before, Cursor after, User currentUser, int preloadReplies) {
         Post post = postService.getPostById(postId);
-        // Sadece ana yorumları getir (parentComment = null)
-        Page<Comment> comments = commentRepository.findByPostAndParentCommentIsNull(post, pageable);
+        int size = pageable.getPageSize();
+        // Sadece ana yorumları getir (parentComment = null) - en yeni önce, COUNT sorgusu olmadan
+        CursorSlice<Comment> comments;
+        if (before != null) {
+            comments = CursorSlice.of(commentRepository.findTopLevelOlderThan(post, before.createdAtDate(), before.id(), PageRequest.of(0, size + 1)), size, false, true, CommentService::cursorOf);
+        } else if (after != null) {
+            comments = CursorSlice.of(commentRepository.findTopLevelNewerThan(post, after.createdAtDate(), after.id(), PageRequest.of(0, size + 1)), size, true, true, CommentService::cursorOf);
+        } else if (pageable.getPageNumber() == 0) {
+            comments = CursorSlice.of(commentRepository.findLatestTopLevel(post, PageRequest.of(0, size + 1)), size, false, true, CommentService::cursorOf);
+        } else {
+            // İmleç göndermeyen eski istemciler: sayfa numarasıyla offset
+            Pageable newestFirst = PageRequest.of(pageable.getPageNumber(), size, Sort.by(Direction.DESC, "createdAt", "id"));
+            comments = CursorSlice.of(commentRepository.findSliceByPostAndParentCommentIsNull(post, newestFirst), true, CommentService::cursorOf);
+        }
         
-        // Her ana yorum için replies sayısını hesapla
+        List<Comment> decorated = new ArrayList<>(comments.getContent());
+        setReplyCounts(comments.getContent());
+        
+        int limit = Math.min(Math.max(preloadReplies, 0), MAX_PRELOADED_REPLIES);
+        List<Long> parentIds = comments.getContent().stream()
+            .filter(comment -> comment.getReplyCount() > 0)
+            .map(Comment::getId)
+            .toList();
+        Map<Long, List<Comment>> repliesByParent = new HashMap<>();
+        if (limit > 0 && !parentIds.isEmpty()) {
+            List<Comment> replies = commentRepository.findLatestRepliesByParentIds(parentIds, limit);
+            setReplyCounts(replies);
+            for (Comment reply : replies) {
+                reply.setReplies(new ArrayList<>());
+                repliesByParent.computeIfAbsent(reply.getParentComment().getId(), key -> new ArrayList<>()).add(reply);
+            }
+            decorated.addAll(replies);
+        }
+        
+        // Replies listesi yalnızca önyüklenen yanıtları taşır (lazy koleksiyon yüklenmez)
         for (Comment comment : comments.getContent()) {
-            // Yorumun yanıt sayısını hesapla ve set et
-            long replyCount = commentRepository.countByParentComment(comment);
-            comment.setReplyCount((int) replyCount);
-            
-            // Replies listesini boş liste yap (performans için lazy loading)
-            comment.setReplies(new java.util.ArrayList<>());
+            comment.setReplies(repliesByParent.getOrDefault(comment.getId(), new ArrayList<>()));
         }
         
-        setLikedStatusForComments(comments.getContent(), currentUser);
+        counterService.applyPendingToComments(decorated);
+        setLikedStatusForComments(decorated, currentUser);
         return comments;
     }
     
-    public Page<Comment> getCommentsOfPost(long postId, Pageable pageable) {
-        return getCommentsOfPost(postId, pageable, null);
+    public CursorSlice<Comment> getCommentsOfPost(long postId, Pageable pageable, Cursor before, Cursor after, User currentUser) {
+        return getCommentsOfPost(postId, pageable, before, after, currentUser, 0);
+    }
+    
+    public CursorSlice<Comment> getCommentsOfPost(long postId, Pageable pageable) {
+        return getCommentsOfPost(postId, pageable, null, null, null);
     }
     
     public Page<Comment> getCommentsOfUser(long userId, Pageable pageable) {
@@ -64,7 +125,7 @@ public class CommentService {
     @Transactional
     public Comment createComment(long postId, CommentSubmitDTO commentSubmit, User user) {
         try {
-            System.out.println("CommentService.createComment çağrıldı. Post ID: " + postId + ", Kullanıcı: " + user.getUsername());
+            log.debug("CommentService.createComment çağrıldı. Post ID: {}, Kullanıcı: {}", postId, user.getUsername());
             
             Post post = postService.getPostById(postId);
             
@@ -74,9 +135,11 @@ public class CommentService {
             comment.setPost(post);
             
             Comment savedComment = commentRepository.save(comment);
+            savedComment.assignPath(null);
             
             // Post'un yorum sayısını artır
             postService.increaseCommentCount(postId);
+            trendingService.onComment(postId);
             
             // Yorum bildirimi oluştur (kendi gönderisine yorum yapmıyorsa)
             if (user.getId() != post.getUser().getId()) {
@@ -91,8 +154,7 @@ public class CommentService {
             
             return savedComment;
         } catch (Exception e) {
-            System.err.println("Yorum oluşturulurken hata: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Yorum oluşturulurken hata", e);
             throw e;
         }
     }
@@ -128,18 +190,43 @@ public class CommentService {
             throw new RuntimeException("Bu yorumu silme yetkiniz yok. Sadece kendi yorumlarınızı veya kendi gönderinizdeki yorumları silebilirsiniz.");
         }
         
-        System.out.println("CommentService: Yorum siliniyor - Yorum ID: " + id + 
-                          ", Silen Kullanıcı: " + loggedInUser.getUsername() + 
-                          ", Yorum Sahibi: " + isCommentOwner + 
-                          ", Gönderi Sahibi: " + isPostOwner);
+        log.debug("Yorum siliniyor - Yorum ID: {}, Silen Kullanıcı: {}, Yorum Sahibi: {}, Gönderi Sahibi: {}", id, loggedInUser.getUsername(), isCommentOwner, isPostOwner);
         
-        // Yorum beğenilerini sil
-        commentLikeRepository.deleteByComment(comment);
+        long postId = comment.getPost().getId();
         
-        // Post'un yorum sayısını azalt
-        postService.decreaseCommentCount(comment.getPost().getId());
+        List<Long> subtreeIds;
+        if (comment.getPath() == null) {
+            // Yolu henüz doldurulmamış eski kayıt: alt ağaç ebeveyn bağıyla seviye seviye toplanıp ID'lerle silinir
+            subtreeIds = findLegacySubtreeIds(id);
+            commentLikeRepository.deleteByCommentIds(subtreeIds);
+            commentRepository.detachChildren(subtreeIds);
+            commentRepository.deleteByIds(subtreeIds);
+        } else {
+            // Alt ağaç küme işlemleriyle silinir: beğeniler, ebeveyn bağları ve yorumlar birer sorgu
+            String lower = comment.getPath();
+            String upper = comment.subtreeUpperBound();
+            subtreeIds = commentRepository.findSubtreeIds(lower, upper);
+            commentLikeRepository.deleteBySubtree(lower, upper);
+            commentRepository.detachSubtree(lower, upper);
+            commentRepository.deleteSubtree(lower, upper);
+        }
         
-        commentRepository.delete(comment);
+        // Post'un yorum sayısını silinen yanıtlar dahil azalt
+        postService.decreaseCommentCount(postId, subtreeIds.size());
+        for (Long commentId : subtreeIds) {
+            counterService.discard(CounterType.COMMENT_LIKES, commentId);
+        }
+    }
+    
+    // Kök dahil; seviye başına bir sorgu
+    private List<Long> findLegacySubtreeIds(long rootId) {
+        List<Long> subtreeIds = new ArrayList<>();
+        List<Long> level = List.of(rootId);
+        while (!level.isEmpty()) {
+            subtreeIds.addAll(level);
+            level = commentRepository.findIdsByParentIds(level);
+        }
+        return subtreeIds;
     }
     
     public long getCommentCountByPost(long postId) {
@@ -152,6 +239,10 @@ public class CommentService {
         Comment parentComment = getCommentById(commentId);
         Post post = parentComment.getPost();
         
+        if (parentComment.getPath() != null && parentComment.getDepth() >= Comment.MAX_DEPTH) {
+            throw new RuntimeException("Bu yanıt zinciri daha fazla derinleşemez");
+        }
+        
         Comment reply = new Comment();
         reply.setContent(replySubmit.getContent());
         reply.setUser(user);
@@ -159,9 +250,13 @@ public class CommentService {
         reply.setParentComment(parentComment);
         
         Comment savedReply = commentRepository.save(reply);
+        if (parentComment.getPath() != null) {
+            savedReply.assignPath(parentComment);
+        }
         
         // Post'un yorum sayısını artır
         postService.increaseCommentCount(post.getId());
+        trendingService.onComment(post.getId());
         
         // Yanıt bildirimi oluştur (kendi yorumuna yanıt vermiyorsa)
         if (user.getId() != parentComment.getUser().getId()) {
@@ -186,9 +281,8 @@ public class CommentService {
         if (existingLike.isPresent()) {
             // Unlike - beğeniyi kaldır
             commentLikeRepository.delete(existingLike.get());
-            comment.setLikeCount(comment.getLikeCount() - 1);
-            commentRepository.save(comment);
-            System.out.println("CommentService: Kullanıcı " + user.getUsername() + " yorum " + commentId + " beğenisini kaldırdı");
+            counterService.decrement(CounterType.COMMENT_LIKES, commentId);
+            log.debug("Kullanıcı {} yorum {} beğenisini kaldırdı", user.getUsername(), commentId);
             
             // Beğeni bildirimini sil
             notificationService.deleteLikeNotification(user, comment.getUser(), comment.getPost().getId());
@@ -198,9 +292,8 @@ public class CommentService {
             // Like - beğeni ekle
             CommentLike commentLike = new CommentLike(comment, user);
             commentLikeRepository.save(commentLike);
-            comment.setLikeCount(comment.getLikeCount() + 1);
-            commentRepository.save(comment);
-            System.out.println("CommentService: Kullanıcı " + user.getUsername() + " yorum " + commentId + " beğendi");
+            counterService.increment(CounterType.COMMENT_LIKES, commentId);
+            log.debug("Kullanıcı {} yorum {} beğendi", user.getUsername(), commentId);
             
             // Beğeni bildirimi oluştur (kendi yorumunu beğenmiyorsa)
             if (user.getId() != comment.getUser().getId()) {
@@ -225,6 +318,8 @@ public class CommentService {
     public Page<Comment> getReplies(long commentId, Pageable pageable, User currentUser) {
         Comment parentComment = getCommentById(commentId);
         Page<Comment> replies = commentRepository.findByParentComment(parentComment, pageable);
+        setReplyCounts(replies.getContent());
+        counterService.applyPendingToComments(replies.getContent());
         setLikedStatusForComments(replies.getContent(), currentUser);
         return replies;
     }
@@ -233,14 +328,54 @@ public class CommentService {
         return getReplies(commentId, pageable, null);
     }
     
+    /**
+     * depth seviyeye kadar tüm alt ağaç, ağaç sırasında (her yorum kendi yanıtlarından hemen önce).
+     * depth 1 mevcut doğrudan yanıt listesidir; yolu olmayan eski kayıtlar da oraya düşer.
+     */
+    public Page<Comment> getReplies(long commentId, int depth, Pageable pageable, User currentUser) {
+        Comment root = getCommentById(commentId);
+        if (depth <= 1 || root.getPath() == null) {
+            return getReplies(commentId, pageable, currentUser);
+        }
+        
+        int maxDepth = root.getDepth() + Math.min(depth, Comment.MAX_DEPTH);
+        // Sıra yol üzerinden verilir, istemcinin sort parametresi uygulanmaz
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Comment> subtree = commentRepository.findSubtree(root.getPath(), root.subtreeUpperBound(), maxDepth, unsorted);
+        setReplyCounts(subtree.getContent());
+        counterService.applyPendingToComments(subtree.getContent());
+        setLikedStatusForComments(subtree.getContent(), currentUser);
+        return subtree;
+    }
+    
     // Yorumların beğeni durumunu set et
+    // Sayfa başına tek sorgu: yorum başına sorgu yerine beğenilen ID kümesi çekilir
     private void setLikedStatusForComments(List<Comment> comments, User currentUser) {
-        if (currentUser == null) return;
+        if (currentUser == null || comments.isEmpty()) return;
         
+        List<Long> commentIds = comments.stream().map(Comment::getId).toList();
+        Set<Long> likedIds = new HashSet<>(commentLikeRepository.findLikedCommentIds(commentIds, currentUser));
         for (Comment comment : comments) {
-            boolean isLiked = isCommentLikedByUser(comment.getId(), currentUser);
-            comment.setLiked(isLiked);
+            comment.setLiked(likedIds.contains(comment.getId()));
+        }
+    }
+    
+    // Yanıt sayıları yorum başına COUNT yerine tek GROUP BY sorgusuyla
+    private void setReplyCounts(List<Comment> comments) {
+        if (comments.isEmpty()) return;
+        
+        List<Long> commentIds = comments.stream().map(Comment::getId).toList();
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : commentRepository.countRepliesByParentIds(commentIds)) {
+            counts.put((Long) row[0], ((Long) row[1]).intValue());
         }
+        for (Comment comment : comments) {
+            comment.setReplyCount(counts.getOrDefault(comment.getId(), 0));
+        }
+    }
+    
+    private static Cursor cursorOf(Comment comment) {
+        return Cursor.of(comment.getCreatedAt(), comment.getId());
     }
     
     // Tek yorum için beğeni durumunu set et
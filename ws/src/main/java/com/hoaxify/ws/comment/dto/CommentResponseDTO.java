@@ -1,9 +1,11 @@
 package com.hoaxify.ws.comment.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.hoaxify.ws.comment.Comment;
 import com.hoaxify.ws.user.User;
 
 import java.util.Date;
+import java.util.List;
 
 public class CommentResponseDTO {
     private long id;
@@ -14,6 +16,10 @@ public class CommentResponseDTO {
     private boolean liked;
     private Long parentCommentId;
     private int replyCount;
+    private int depth;
+    // Sadece yanıt önyüklemesi istendiğinde doldurulur
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CommentResponseDTO> replies;
 
     public CommentResponseDTO() {}
 
@@ -27,12 +33,21 @@ public class CommentResponseDTO {
         
         // Entity'den replyCount'u al
         this.replyCount = comment.getReplyCount();
+        this.depth = comment.getDepth() != null ? comment.getDepth() : 0;
         
         if (comment.getUser() != null) {
             this.user = new UserInfo(comment.getUser());
         }
     }
 
+    // includeReplies: servis tarafından önyüklenmiş replies listesini de dönüştürür
+    public CommentResponseDTO(Comment comment, boolean includeReplies) {
+        this(comment);
+        if (includeReplies && comment.getReplies() != null) {
+            this.replies = comment.getReplies().stream().map(CommentResponseDTO::new).toList();
+        }
+    }
+
     public static class UserInfo {
         private long id;
         private String username;
@@ -134,4 +149,20 @@ public class CommentResponseDTO {
     public void setReplyCount(int replyCount) {
         this.replyCount = replyCount;
     }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public List<CommentResponseDTO> getReplies() {
+        return replies;
+    }
+
+    public void setReplies(List<CommentResponseDTO> replies) {
+        this.replies = replies;
+    }
 } 
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.hoaxify.ws.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
@@ -17,6 +19,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import com.hoaxify.ws.auth.token.TokenService;
+import com.hoaxify.ws.ratelimit.RateLimitService;
 import com.hoaxify.ws.user.User;
 import com.hoaxify.ws.user.UserService;
 
@@ -26,12 +29,17 @@ import java.util.Collections;
 @Order(Ordered.HIGHEST_PRECEDENCE + 99)
 public class WebSocketSecurityConfig implements ChannelInterceptor {
 
+    private static final Logger log = LoggerFactory.getLogger(WebSocketSecurityConfig.class);
+
     @Autowired
     private TokenService tokenService;
 
     @Autowired 
     private UserService userService;
 
+    @Autowired
+    private RateLimitService rateLimitService;
+
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
@@ -55,12 +63,20 @@ public class WebSocketSecurityConfig implements ChannelInterceptor {
                         accessor.getSessionAttributes().put("userId", user.getId());
                         accessor.getSessionAttributes().put("username", user.getUsername());
                         
-                        System.out.println("WebSocket kullanıcı kimliği doğrulandı: " + user.getUsername());
+                        log.info("WebSocket kullanıcı kimliği doğrulandı: {}", user.getUsername());
                     }
                 } catch (Exception e) {
-                    System.err.println("WebSocket authentication failed: " + e.getMessage());
+                    log.error("WebSocket authentication failed: {}", e.getMessage());
                 }
             }
+        } else if (StompCommand.SEND.equals(accessor.getCommand()) && "/app/chat.sendMessage".equals(accessor.getDestination())) {
+            // Sınırı aşan mesaj sessizce düşürülür; bağlantı kapatılmaz
+            Object userId = accessor.getSessionAttributes() == null ? null : accessor.getSessionAttributes().get("userId");
+            String key = userId != null ? "u" + userId : "s" + accessor.getSessionId();
+            if (rateLimitService.tryAcquire("chat-message", key) > 0) {
+                log.debug("WebSocket mesajı sınırlandı - {}", key);
+                return null;
+            }
         }
         
         return message;
@@ -15,13 +15,16 @@ public class AppUserDetailsService implements UserDetailsService{
     @Autowired
     UserService userService;
 
+    @Autowired
+    HoaxifyProperties hoaxifyProperties;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User inDB = userService.findByEmail(email);
         if(inDB == null) {
             throw new UsernameNotFoundException(email + " is not found");
         }
-        return new CurrentUser(inDB);
+        return new CurrentUser(inDB, hoaxifyProperties.getAuth().getAdminUserIds().contains(inDB.getId()));
     }
     
 }
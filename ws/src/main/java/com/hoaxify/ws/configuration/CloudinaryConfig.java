@@ -1,6 +1,8 @@
 package com.hoaxify.ws.configuration;
 
 import com.cloudinary.Cloudinary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,16 +11,18 @@ import java.net.URI;
 @Configuration
 public class CloudinaryConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(CloudinaryConfig.class);
+
     @Value("${CLOUDINARY_URL:}")
     private String cloudinaryUrl;
 
     @Bean
     public Cloudinary cloudinary() {
         if (cloudinaryUrl != null && !cloudinaryUrl.trim().isEmpty()) {
-            System.out.println("Cloudinary URL ile konfigüre ediliyor...");
+            log.info("Cloudinary URL ile konfigüre ediliyor...");
             return new Cloudinary(cloudinaryUrl);
         } else {
-            System.out.println("Cloudinary URL bulunamadı - manuel konfigürasyon deneniyor...");
+            log.info("Cloudinary URL bulunamadı - manuel konfigürasyon deneniyor...");
             // Fallback: Ayrı environment variable'lar
             return new Cloudinary();
         }
@@ -34,7 +38,7 @@ public class CloudinaryConfig {
                 URI uri = new URI(cloudinaryUrl);
                 return uri.getHost(); // Cloud name host kısmında
             } catch (Exception e) {
-                System.err.println("Cloud name çıkarılırken hata: " + e.getMessage());
+                log.error("Cloud name çıkarılırken hata: {}", e.getMessage());
             }
         }
         return "your-cloud-name"; // Fallback
@@ -18,6 +18,7 @@ public class CurrentUser implements UserDetails {
 
     boolean enabled;
 
+    boolean admin;
 
     public CurrentUser(User user){
         this.id = user.getId();
@@ -26,6 +27,11 @@ public class CurrentUser implements UserDetails {
         this.enabled = user.isActive();
     }
 
+    public CurrentUser(User user, boolean admin){
+        this(user);
+        this.admin = admin;
+    }
+
     public long getId() {
         return id;
     }
@@ -35,6 +41,9 @@ public class CurrentUser implements UserDetails {
     }
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
+        if(admin) {
+            return AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN");
+        }
         return AuthorityUtils.createAuthorityList("ROLE_USER");
     }
 
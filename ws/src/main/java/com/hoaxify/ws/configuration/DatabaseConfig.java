@@ -1,5 +1,7 @@
 package com.hoaxify.ws.configuration;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
@@ -14,6 +16,8 @@ import java.net.URISyntaxException;
 @Profile("production")
 public class DatabaseConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(DatabaseConfig.class);
+
     @Value("${DATABASE_URL:}")
     private String databaseUrl;
 
@@ -30,8 +34,8 @@ public class DatabaseConfig {
             int port = dbUri.getPort() == -1 ? 5432 : dbUri.getPort();
             String dbUrl = "jdbc:postgresql://" + dbUri.getHost() + ':' + port + dbUri.getPath();
 
-            System.out.println("Database URL: " + dbUrl);
-            System.out.println("Username: " + username);
+            log.info("Database URL: {}", dbUrl);
+            log.info("Username: {}", username);
 
             return DataSourceBuilder.create()
                     .url(dbUrl)
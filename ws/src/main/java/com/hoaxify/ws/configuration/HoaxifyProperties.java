@@ -1,5 +1,9 @@
 package com.hoaxify.ws.configuration;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,6 +21,24 @@ public class HoaxifyProperties {
     
     private Cloudinary cloudinary = new Cloudinary();
 
+    private Feed feed = new Feed();
+
+    private Trending trending = new Trending();
+
+    private Cache cache = new Cache();
+
+    private Suggestions suggestions = new Suggestions();
+
+    private Profile profile = new Profile();
+
+    private Deletion deletion = new Deletion();
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private Messaging messaging = new Messaging();
+
+    private Comments comments = new Comments();
+
     public static class Email {
         private String username;
         private String password;
@@ -41,6 +63,9 @@ public class HoaxifyProperties {
         private String profile = "profile";
         private String attachment = "attachment";
         private boolean useCloudinary = false;
+        // Gönderi eklerini paralel yükleyen havuzun iş parçacığı ve kuyruk sınırları
+        private int uploadThreads = 4;
+        private int uploadQueueCapacity = 32;
 
         public String getRoot() { return root; }
         public void setRoot(String root) { this.root = root; }
@@ -50,16 +75,44 @@ public class HoaxifyProperties {
         public void setAttachment(String attachment) { this.attachment = attachment; }
         public boolean isUseCloudinary() { return useCloudinary; }
         public void setUseCloudinary(boolean useCloudinary) { this.useCloudinary = useCloudinary; }
+        public int getUploadThreads() { return uploadThreads; }
+        public void setUploadThreads(int uploadThreads) { this.uploadThreads = uploadThreads; }
+        public int getUploadQueueCapacity() { return uploadQueueCapacity; }
+        public void setUploadQueueCapacity(int uploadQueueCapacity) { this.uploadQueueCapacity = uploadQueueCapacity; }
     }
     
     public static class Auth {
         private String tokenSecret = "your-super-secret-key-minimum-32-characters-long";
         private int tokenExpirationDays = 30;
+        // Süresi dolan token temizliği: transaction başına satır ve tur başına en çok grup
+        private int tokenSweepBatchSize = 1000;
+        private int tokenSweepMaxBatches = 100;
+        // Şifre özetleme: bcrypt maliyeti (4-31), ayrı thread havuzu ve kuyruk sınırı; 0 thread = çekirdek sayısının yarısı
+        private int passwordHashStrength = 10;
+        private int passwordHashThreads = 0;
+        private int passwordHashQueueSize = 32;
+        private long passwordHashTimeoutMs = 5000;
+        // ROLE_ADMIN verilen kullanıcı ID'leri (ör. /api/v1/metrics); boşsa kimse yönetici değildir
+        private Set<Long> adminUserIds = Set.of();
 
         public String getTokenSecret() { return tokenSecret; }
         public void setTokenSecret(String tokenSecret) { this.tokenSecret = tokenSecret; }
         public int getTokenExpirationDays() { return tokenExpirationDays; }
         public void setTokenExpirationDays(int tokenExpirationDays) { this.tokenExpirationDays = tokenExpirationDays; }
+        public int getTokenSweepBatchSize() { return tokenSweepBatchSize; }
+        public void setTokenSweepBatchSize(int tokenSweepBatchSize) { this.tokenSweepBatchSize = tokenSweepBatchSize; }
+        public int getTokenSweepMaxBatches() { return tokenSweepMaxBatches; }
+        public void setTokenSweepMaxBatches(int tokenSweepMaxBatches) { this.tokenSweepMaxBatches = tokenSweepMaxBatches; }
+        public int getPasswordHashStrength() { return passwordHashStrength; }
+        public void setPasswordHashStrength(int passwordHashStrength) { this.passwordHashStrength = passwordHashStrength; }
+        public int getPasswordHashThreads() { return passwordHashThreads; }
+        public void setPasswordHashThreads(int passwordHashThreads) { this.passwordHashThreads = passwordHashThreads; }
+        public int getPasswordHashQueueSize() { return passwordHashQueueSize; }
+        public void setPasswordHashQueueSize(int passwordHashQueueSize) { this.passwordHashQueueSize = passwordHashQueueSize; }
+        public long getPasswordHashTimeoutMs() { return passwordHashTimeoutMs; }
+        public void setPasswordHashTimeoutMs(long passwordHashTimeoutMs) { this.passwordHashTimeoutMs = passwordHashTimeoutMs; }
+        public Set<Long> getAdminUserIds() { return adminUserIds; }
+        public void setAdminUserIds(Set<Long> adminUserIds) { this.adminUserIds = adminUserIds; }
     }
     
     public static class Cloudinary {
@@ -75,6 +128,187 @@ public class HoaxifyProperties {
         public void setApiSecret(String apiSecret) { this.apiSecret = apiSecret; }
     }
 
+    public static class Feed {
+        // Kullanıcı başına saklanan en fazla zaman akışı kaydı
+        private int timelineCapacity = 800;
+        // Bu sayıdan fazla takipçisi olan hesapların gönderileri okuma anında birleştirilir
+        private long fanOutFollowerLimit = 10000;
+        // Yeni takip edilen kullanıcının zaman akışına eklenecek son gönderi sayısı
+        private int backfillSize = 20;
+        // Eski hesapların zaman akışını doldurma geçişinde transaction başına kullanıcı ve tur başına grup
+        private int seedBatchSize = 100;
+        private int seedMaxBatches = 10;
+
+        public int getTimelineCapacity() { return timelineCapacity; }
+        public void setTimelineCapacity(int timelineCapacity) { this.timelineCapacity = timelineCapacity; }
+        public long getFanOutFollowerLimit() { return fanOutFollowerLimit; }
+        public void setFanOutFollowerLimit(long fanOutFollowerLimit) { this.fanOutFollowerLimit = fanOutFollowerLimit; }
+        public int getBackfillSize() { return backfillSize; }
+        public void setBackfillSize(int backfillSize) { this.backfillSize = backfillSize; }
+        public int getSeedBatchSize() { return seedBatchSize; }
+        public void setSeedBatchSize(int seedBatchSize) { this.seedBatchSize = seedBatchSize; }
+        public int getSeedMaxBatches() { return seedMaxBatches; }
+        public void setSeedMaxBatches(int seedMaxBatches) { this.seedMaxBatches = seedMaxBatches; }
+    }
+
+    public static class Trending {
+        // Pencere başına bellekte tutulan en yüksek skorlu gönderi sayısı
+        private int size = 100;
+        private double likeWeight = 1.0;
+        private double commentWeight = 3.0;
+        // Pencere başına skoru izlenen en fazla gönderi; dolunca en düşük skorlular atılır
+        private int maxTrackedPosts = 10000;
+
+        public int getSize() { return size; }
+        public void setSize(int size) { this.size = size; }
+        public int getMaxTrackedPosts() { return maxTrackedPosts; }
+        public void setMaxTrackedPosts(int maxTrackedPosts) { this.maxTrackedPosts = maxTrackedPosts; }
+        public double getLikeWeight() { return likeWeight; }
+        public void setLikeWeight(double likeWeight) { this.likeWeight = likeWeight; }
+        public double getCommentWeight() { return commentWeight; }
+        public void setCommentWeight(double commentWeight) { this.commentWeight = commentWeight; }
+    }
+
+    public static class Suggestions {
+        // Kullanıcı başına önbellekte tutulan öneri sayısı; isteklerde verilebilecek en büyük boyut
+        private int size = 50;
+        // Öneri listesi önbellekte tutulan en fazla kullanıcı
+        private int maxSize = 100000;
+        private int ttlSeconds = 600;
+        // İki adımlı gezinmenin üst sınırları: ilk adımda en çok firstHopLimit takip edilen,
+        // her birinden en çok secondHopLimit takip örneklenir
+        private int firstHopLimit = 200;
+        private int secondHopLimit = 500;
+        // Son istekten bu kadar dakika sonrasına kadar kullanıcı arka planda güncel tutulur
+        private int activeWindowMinutes = 30;
+        // Bir yenileme turunda en çok hesaplanan kullanıcı
+        private int refreshBatchSize = 200;
+
+        public int getSize() { return size; }
+        public void setSize(int size) { this.size = size; }
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+        public int getTtlSeconds() { return ttlSeconds; }
+        public void setTtlSeconds(int ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+        public int getFirstHopLimit() { return firstHopLimit; }
+        public void setFirstHopLimit(int firstHopLimit) { this.firstHopLimit = firstHopLimit; }
+        public int getSecondHopLimit() { return secondHopLimit; }
+        public void setSecondHopLimit(int secondHopLimit) { this.secondHopLimit = secondHopLimit; }
+        public int getActiveWindowMinutes() { return activeWindowMinutes; }
+        public void setActiveWindowMinutes(int activeWindowMinutes) { this.activeWindowMinutes = activeWindowMinutes; }
+        public int getRefreshBatchSize() { return refreshBatchSize; }
+        public void setRefreshBatchSize(int refreshBatchSize) { this.refreshBatchSize = refreshBatchSize; }
+    }
+
+    public static class Profile {
+        // Profil alt sorgularını paralel çalıştıran thread sayısı
+        private int queryThreads = 8;
+        // Bekleyen alt sorgu sınırı; dolunca sorgu isteği yapan thread'de çalışır
+        private int queryQueueCapacity = 256;
+        // Gönderi/beğeni/medya sayaçlarının önbellek ayarları
+        private int counterMaxSize = 10000;
+        private int counterTtlSeconds = 30;
+
+        public int getQueryThreads() { return queryThreads; }
+        public void setQueryThreads(int queryThreads) { this.queryThreads = queryThreads; }
+        public int getQueryQueueCapacity() { return queryQueueCapacity; }
+        public void setQueryQueueCapacity(int queryQueueCapacity) { this.queryQueueCapacity = queryQueueCapacity; }
+        public int getCounterMaxSize() { return counterMaxSize; }
+        public void setCounterMaxSize(int counterMaxSize) { this.counterMaxSize = counterMaxSize; }
+        public int getCounterTtlSeconds() { return counterTtlSeconds; }
+        public void setCounterTtlSeconds(int counterTtlSeconds) { this.counterTtlSeconds = counterTtlSeconds; }
+    }
+
+    public static class Deletion {
+        // Hesap silme işinde transaction başına en çok silinen satır
+        private int batchSize = 500;
+        // Hata alan iş bu kadar denemeye kadar yeniden başlatılır
+        private int maxAttempts = 5;
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+        public int getMaxAttempts() { return maxAttempts; }
+        public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+    }
+
+    public static class Messaging {
+        // Sayısal konuşma anahtarı geçişinde transaction başına güncellenen satır ve tur başına grup
+        private int keyMigrationBatchSize = 1000;
+        private int keyMigrationMaxBatches = 50;
+
+        public int getKeyMigrationBatchSize() { return keyMigrationBatchSize; }
+        public void setKeyMigrationBatchSize(int keyMigrationBatchSize) { this.keyMigrationBatchSize = keyMigrationBatchSize; }
+        public int getKeyMigrationMaxBatches() { return keyMigrationMaxBatches; }
+        public void setKeyMigrationMaxBatches(int keyMigrationMaxBatches) { this.keyMigrationMaxBatches = keyMigrationMaxBatches; }
+    }
+
+    public static class Comments {
+        // Yorum yolu geçişinde transaction başına güncellenen satır ve tur başına grup
+        private int pathMigrationBatchSize = 500;
+        private int pathMigrationMaxBatches = 20;
+
+        public int getPathMigrationBatchSize() { return pathMigrationBatchSize; }
+        public void setPathMigrationBatchSize(int pathMigrationBatchSize) { this.pathMigrationBatchSize = pathMigrationBatchSize; }
+        public int getPathMigrationMaxBatches() { return pathMigrationMaxBatches; }
+        public void setPathMigrationMaxBatches(int pathMigrationMaxBatches) { this.pathMigrationMaxBatches = pathMigrationMaxBatches; }
+    }
+
+    public static class RateLimit {
+        private boolean enabled = true;
+        // Kural adı -> kova; hoaxify.rate-limit.policies.<ad>.capacity / refill-per-second ile ezilebilir
+        private Map<String, Policy> policies = new LinkedHashMap<>(Map.of(
+            "auth", new Policy(10, 10.0 / 60),
+            "post", new Policy(20, 20.0 / 60),
+            "password-reset", new Policy(3, 3.0 / 900),
+            "resend-activation", new Policy(3, 3.0 / 900),
+            "chat-message", new Policy(20, 2)));
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public Map<String, Policy> getPolicies() { return policies; }
+        public void setPolicies(Map<String, Policy> policies) { this.policies = policies; }
+
+        public static class Policy {
+            // Kova boyutu (ani istek hakkı) ve saniyede eklenen jeton
+            private int capacity;
+            private double refillPerSecond;
+
+            public Policy() {}
+
+            public Policy(int capacity, double refillPerSecond) {
+                this.capacity = capacity;
+                this.refillPerSecond = refillPerSecond;
+            }
+
+            public int getCapacity() { return capacity; }
+            public void setCapacity(int capacity) { this.capacity = capacity; }
+            public double getRefillPerSecond() { return refillPerSecond; }
+            public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+        }
+    }
+
+    public static class Cache {
+        private int postMaxSize = 10000;
+        private int postTtlSeconds = 30;
+        private int userMaxSize = 10000;
+        private int userTtlSeconds = 60;
+        private int tokenMaxSize = 100000;
+        private int tokenTtlSeconds = 300;
+
+        public int getPostMaxSize() { return postMaxSize; }
+        public void setPostMaxSize(int postMaxSize) { this.postMaxSize = postMaxSize; }
+        public int getPostTtlSeconds() { return postTtlSeconds; }
+        public void setPostTtlSeconds(int postTtlSeconds) { this.postTtlSeconds = postTtlSeconds; }
+        public int getUserMaxSize() { return userMaxSize; }
+        public void setUserMaxSize(int userMaxSize) { this.userMaxSize = userMaxSize; }
+        public int getUserTtlSeconds() { return userTtlSeconds; }
+        public void setUserTtlSeconds(int userTtlSeconds) { this.userTtlSeconds = userTtlSeconds; }
+        public int getTokenMaxSize() { return tokenMaxSize; }
+        public void setTokenMaxSize(int tokenMaxSize) { this.tokenMaxSize = tokenMaxSize; }
+        public int getTokenTtlSeconds() { return tokenTtlSeconds; }
+        public void setTokenTtlSeconds(int tokenTtlSeconds) { this.tokenTtlSeconds = tokenTtlSeconds; }
+    }
+
     public String getClientHost() {
         return clientHost;
     }
@@ -114,4 +348,76 @@ public class HoaxifyProperties {
     public void setCloudinary(Cloudinary cloudinary) {
         this.cloudinary = cloudinary;
     }
+
+    public Feed getFeed() {
+        return feed;
+    }
+
+    public void setFeed(Feed feed) {
+        this.feed = feed;
+    }
+
+    public Trending getTrending() {
+        return trending;
+    }
+
+    public void setTrending(Trending trending) {
+        this.trending = trending;
+    }
+
+    public Suggestions getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(Suggestions suggestions) {
+        this.suggestions = suggestions;
+    }
+
+    public Profile getProfile() {
+        return profile;
+    }
+
+    public void setProfile(Profile profile) {
+        this.profile = profile;
+    }
+
+    public Deletion getDeletion() {
+        return deletion;
+    }
+
+    public void setDeletion(Deletion deletion) {
+        this.deletion = deletion;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(RateLimit rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    public Messaging getMessaging() {
+        return messaging;
+    }
+
+    public void setMessaging(Messaging messaging) {
+        this.messaging = messaging;
+    }
+
+    public Comments getComments() {
+        return comments;
+    }
+
+    public void setComments(Comments comments) {
+        this.comments = comments;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
 }
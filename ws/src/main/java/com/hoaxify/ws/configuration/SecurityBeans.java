@@ -1,5 +1,6 @@
 package com.hoaxify.ws.configuration;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -7,9 +8,13 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class SecurityBeans {
+
+    @Autowired
+    HoaxifyProperties hoaxifyProperties;
     
+    // Yeni özetler ayarlanan maliyetle üretilir; eski maliyetli özetler doğrulanmaya devam eder
     @Bean
     PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(hoaxifyProperties.getAuth().getPasswordHashStrength());
     }
 }
@@ -1,6 +1,7 @@
 package com.hoaxify.ws.configuration;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,6 +14,10 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.hoaxify.ws.ratelimit.RateLimitFilter;
+import com.hoaxify.ws.ratelimit.RateLimitService;
 
 import java.util.Arrays;
 
@@ -24,6 +29,13 @@ public class SecurityConfiguration {
     @Autowired
     TokenFilter tokenFilter;
 
+    @Autowired
+    RateLimitService rateLimitService;
+
+    @Autowired
+    @Qualifier("handlerExceptionResolver")
+    HandlerExceptionResolver exceptionResolver;
+
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception{
 
@@ -45,6 +57,8 @@ public class SecurityConfiguration {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()));
 
         http.addFilterBefore(tokenFilter, UsernamePasswordAuthenticationFilter.class);
+        // Kimlik çözüldükten sonra: giriş yapmış kullanıcı ID'siyle sınırlanır
+        http.addFilterAfter(new RateLimitFilter(rateLimitService, exceptionResolver), TokenFilter.class);
 
         return http.build();
     }
@@ -2,6 +2,8 @@ package com.hoaxify.ws.configuration;
 
 import java.io.IOException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.DisabledException;
@@ -12,7 +14,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
+import com.hoaxify.ws.auth.exception.PasswordHashingBusyException;
 import com.hoaxify.ws.auth.token.TokenService;
+import com.hoaxify.ws.logging.LogMarkers;
 import com.hoaxify.ws.user.User;
 
 import jakarta.servlet.FilterChain;
@@ -23,9 +27,14 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class TokenFilter extends OncePerRequestFilter{
 
+    private static final Logger log = LoggerFactory.getLogger(TokenFilter.class);
+
     @Autowired
     TokenService tokenService;
 
+    @Autowired
+    HoaxifyProperties hoaxifyProperties;
+
     @Autowired
     @Qualifier("handlerExceptionResolver")
     private HandlerExceptionResolver exceptionResolver;
@@ -34,52 +43,49 @@ public class TokenFilter extends OncePerRequestFilter{
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
-        String requestPath = request.getRequestURI();
-        String method = request.getMethod();
-        System.out.println("TokenFilter: İstek - " + method + " " + requestPath);
-        
         String tokenWithPrefix = getTokenWithPrefix(request);
-        System.out.println("TokenFilter: Token mevcut - " + (tokenWithPrefix != null));
+        Long userId = null;
         
         if(tokenWithPrefix != null) {
-            User user = tokenService.verifyToken(tokenWithPrefix);
-            System.out.println("TokenFilter: Token doğrulandı - " + (user != null));
+            User user;
+            try {
+                user = tokenService.verifyToken(tokenWithPrefix);
+            } catch (PasswordHashingBusyException e) {
+                // Basic modda her istek bcrypt doğrular; havuz doluysa 500 yerine ErrorHandler üzerinden 503 + Retry-After
+                exceptionResolver.resolveException(request, response, null, e);
+                return;
+            }
             
             if(user != null) {
-                System.out.println("TokenFilter: Kullanıcı bilgileri - ID: " + user.getId() + ", Username: " + user.getUsername() + ", Active: " + user.isActive());
-                
                 if(!user.isActive()) {
-                    System.out.println("TokenFilter: Kullanıcı aktif değil");
+                    log.debug("Kullanıcı aktif değil - ID: {}", user.getId());
                     exceptionResolver.resolveException(request, response, null, new DisabledException("User is disabled"));
                     return;
                 }
-                CurrentUser currentUser = new CurrentUser(user);
+                CurrentUser currentUser = new CurrentUser(user, hoaxifyProperties.getAuth().getAdminUserIds().contains(user.getId()));
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(currentUser, null, currentUser.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                System.out.println("TokenFilter: SecurityContext'e authentication eklendi");
+                userId = user.getId();
             }
-        } else {
-            System.out.println("TokenFilter: Token bulunamadı");
         }
+        // Her istekte tekrarlanan satır: örneklenerek yazılır, token değeri loglanmaz
+        log.debug(LogMarkers.SAMPLED, "İstek - {} {}, token: {}, kullanıcı: {}", request.getMethod(), request.getRequestURI(), tokenWithPrefix != null, userId);
         
         filterChain.doFilter(request, response);
     }
 
     private String getTokenWithPrefix(HttpServletRequest request) {
         var tokenWithPrefix = request.getHeader("Authorization");
-        System.out.println("TokenFilter: Authorization header - " + tokenWithPrefix);
         
         var cookies = request.getCookies();
         if(cookies == null) {
-            System.out.println("TokenFilter: Cookie bulunamadı");
             return tokenWithPrefix;
         }
         
         for(var cookie: cookies){
             if(!cookie.getName().equals("hoax-token")) continue;
             if(cookie.getValue() == null || cookie.getValue().isEmpty()) continue;
-            System.out.println("TokenFilter: hoax-token cookie bulundu");
             return "AnyPrefix " + cookie.getValue();
         }
         return tokenWithPrefix;
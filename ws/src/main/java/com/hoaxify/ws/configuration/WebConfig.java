@@ -1,23 +1,34 @@
 package com.hoaxify.ws.configuration;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.CacheControl;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.mvc.WebContentInterceptor;
 
+import com.hoaxify.ws.shared.CurrentUserArgumentResolver;
+
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(WebConfig.class);
     
     @Autowired
     HoaxifyProperties hoaxifyProperties;
+
+    @Autowired
+    CurrentUserArgumentResolver currentUserArgumentResolver;
     
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
@@ -30,15 +41,16 @@ public class WebConfig implements WebMvcConfigurer {
                 .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS))
                 .resourceChain(true);
         
-        // Gönderi eklerini servis et
-        registry.addResourceHandler("/assets/attachment/**")
-                .addResourceLocations("file:./" + uploadPath + "/" + hoaxifyProperties.getStorage().getAttachment() + "/")
-                .setCacheControl(CacheControl.maxAge(30, TimeUnit.DAYS))
-                .resourceChain(true);
+        // Gönderi ekleri Range desteğiyle AttachmentController üzerinden servis edilir
         
-        System.out.println("Resource handlers configured successfully:");
-        System.out.println("Profile images: file:./" + uploadPath + "/" + hoaxifyProperties.getStorage().getProfile() + "/");
-        System.out.println("Attachments: file:./" + uploadPath + "/" + hoaxifyProperties.getStorage().getAttachment() + "/");
+        log.info("Resource handlers configured successfully:");
+        log.info("Profile images: file:./{}/{}/", uploadPath, hoaxifyProperties.getStorage().getProfile());
+    }
+    
+    // @CurrentUser User parametreleri
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserArgumentResolver);
     }
     
     @Override
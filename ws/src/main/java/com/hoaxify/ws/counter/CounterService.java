@@ -0,0 +1,164 @@
+package com.hoaxify.ws.counter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.hoaxify.ws.comment.Comment;
+import com.hoaxify.ws.comment.CommentRepository;
+import com.hoaxify.ws.post.PostRepository;
+import com.hoaxify.ws.post.dto.PostView;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Beğeni ve yorum sayaçları için yazma-arkası (write-behind) toplayıcı.
+ * Artışlar varlık başına LongAdder'da birikir, böylece aynı gönderiye gelen eşzamanlı
+ * beğeniler tek bir satır kilidinde sıraya girmez. Biriken farklar periyodik olarak
+ * "count = count + :delta" şeklinde atomik UPDATE'lerle veritabanına yazılır.
+ */
+@Service
+public class CounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterService.class);
+
+    // Tek bir UPDATE ... IN (...) sorgusundaki en fazla ID sayısı
+    private static final int UPDATE_CHUNK_SIZE = 500;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    private final Map<CounterType, ConcurrentHashMap<Long, LongAdder>> pending = new EnumMap<>(CounterType.class);
+
+    // Boşta kalıp haritadan çıkarılan sayaçlar - geç gelen artışlar bir sonraki turda toplanır
+    private final Map<CounterType, Map<Long, LongAdder>> retired = new EnumMap<>(CounterType.class);
+
+    public CounterService() {
+        for (CounterType type : CounterType.values()) {
+            pending.put(type, new ConcurrentHashMap<>());
+            retired.put(type, new HashMap<>());
+        }
+    }
+
+    public void increment(CounterType type, long id) {
+        add(type, id, 1);
+    }
+
+    public void decrement(CounterType type, long id) {
+        add(type, id, -1);
+    }
+
+    public void add(CounterType type, long id, long delta) {
+        pending.get(type).computeIfAbsent(id, key -> new LongAdder()).add(delta);
+    }
+
+    // Henüz veritabanına yazılmamış fark
+    public long getPending(CounterType type, long id) {
+        LongAdder adder = pending.get(type).get(id);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // Silinen varlığın bekleyen farklarını at
+    public void discard(CounterType type, long id) {
+        pending.get(type).remove(id);
+    }
+
+    // Okuma yolu: veritabanındaki değere bekleyen farkları ekler
+    public void applyPendingToViews(Collection<PostView> posts) {
+        for (PostView post : posts) {
+            post.setLikeCount(nonNegative(post.getLikeCount() + getPending(CounterType.POST_LIKES, post.getId())));
+            post.setCommentCount(nonNegative(post.getCommentCount() + getPending(CounterType.POST_COMMENTS, post.getId())));
+        }
+    }
+
+    public void applyPendingToComments(Collection<Comment> comments) {
+        for (Comment comment : comments) {
+            comment.setLikeCount(nonNegative(comment.getLikeCount() + getPending(CounterType.COMMENT_LIKES, comment.getId())));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hoaxify.counter.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        for (CounterType type : CounterType.values()) {
+            flush(type);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(CounterType type) {
+        Map<Long, Long> deltas = new HashMap<>();
+
+        Map<Long, LongAdder> retiredAdders = retired.get(type);
+        for (Map.Entry<Long, LongAdder> entry : retiredAdders.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                deltas.merge(entry.getKey(), delta, Long::sum);
+            }
+        }
+        retiredAdders.clear();
+
+        ConcurrentHashMap<Long, LongAdder> adders = pending.get(type);
+        for (Map.Entry<Long, LongAdder> entry : adders.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                deltas.merge(entry.getKey(), delta, Long::sum);
+            } else if (adders.remove(entry.getKey(), entry.getValue())) {
+                // Bu turda artış yoksa haritadan çıkar, yarışta kalan artışlar bir sonraki turda toplanır
+                retiredAdders.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (deltas.isEmpty()) return;
+
+        // Aynı farka sahip varlıklar tek UPDATE ile yazılır (çoğunlukla +1 / -1)
+        Map<Long, List<Long>> idsByDelta = new HashMap<>();
+        deltas.forEach((id, delta) -> idsByDelta.computeIfAbsent(delta, key -> new ArrayList<>()).add(id));
+
+        for (Map.Entry<Long, List<Long>> group : idsByDelta.entrySet()) {
+            long delta = group.getKey();
+            List<Long> ids = group.getValue();
+            for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size()));
+                try {
+                    apply(type, chunk, (int) delta);
+                } catch (Exception e) {
+                    // Yazılamayan farkları geri koy, bir sonraki turda tekrar denenir
+                    log.error("{} sayaçları yazılamadı: {}", type, e.getMessage());
+                    for (Long id : chunk) {
+                        add(type, id, delta);
+                    }
+                }
+            }
+        }
+    }
+
+    private void apply(CounterType type, List<Long> ids, int delta) {
+        switch (type) {
+            case POST_LIKES -> postRepository.addToLikeCount(ids, delta);
+            case POST_COMMENTS -> postRepository.addToCommentCount(ids, delta);
+            case COMMENT_LIKES -> commentRepository.addToLikeCount(ids, delta);
+        }
+    }
+
+    private static int nonNegative(long value) {
+        return (int) Math.max(value, 0);
+    }
+}
@@ -0,0 +1,7 @@
+package com.hoaxify.ws.counter;
+
+public enum CounterType {
+    POST_LIKES,
+    POST_COMMENTS,
+    COMMENT_LIKES
+}
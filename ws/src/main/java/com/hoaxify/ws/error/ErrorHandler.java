@@ -2,7 +2,10 @@ package com.hoaxify.ws.error;
 
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,7 +13,10 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.hoaxify.ws.auth.exception.AuthenticationException;
+import com.hoaxify.ws.auth.exception.PasswordHashingBusyException;
+import com.hoaxify.ws.ratelimit.exception.RateLimitExceededException;
 import com.hoaxify.ws.shared.Messages;
+import com.hoaxify.ws.shared.exception.InvalidCursorException;
 import com.hoaxify.ws.user.exception.ActivationNotificationException;
 import com.hoaxify.ws.user.exception.InvalidTokenException;
 import com.hoaxify.ws.user.exception.NotFoundException;
@@ -21,6 +27,8 @@ import jakarta.servlet.http.HttpServletRequest;
 @RestControllerAdvice
 public class ErrorHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(ErrorHandler.class);
+
     @ExceptionHandler({
         MethodArgumentNotValidException.class,
         NotUniqueEmailException.class,
@@ -28,6 +36,9 @@ public class ErrorHandler {
         InvalidTokenException.class,
         NotFoundException.class,
         AuthenticationException.class,
+        PasswordHashingBusyException.class,
+        RateLimitExceededException.class,
+        InvalidCursorException.class,
         RuntimeException.class,  // Genel runtime exception
         Exception.class          // Tüm diğer exception'lar
     })
@@ -36,13 +47,6 @@ public class ErrorHandler {
         apiError.setPath(request.getRequestURI());
         apiError.setMessage(exception.getMessage());
         
-        System.err.println("=== ERROR HANDLER ===");
-        System.err.println("Exception type: " + exception.getClass().getSimpleName());
-        System.err.println("Exception message: " + exception.getMessage());
-        System.err.println("Request URI: " + request.getRequestURI());
-        exception.printStackTrace();
-        System.err.println("=== ERROR HANDLER END ===");
-        
         if(exception instanceof MethodArgumentNotValidException) {
             String message = Messages.getMessageForLocale("hoaxify.error.validation", LocaleContextHolder.getLocale());
             apiError.setMessage(message);
@@ -60,6 +64,12 @@ public class ErrorHandler {
             apiError.setStatus(404);
         } else if (exception instanceof AuthenticationException) {
             apiError.setStatus(401);
+        } else if (exception instanceof PasswordHashingBusyException) {
+            apiError.setStatus(503);
+        } else if (exception instanceof RateLimitExceededException) {
+            apiError.setStatus(429);
+        } else if (exception instanceof InvalidCursorException) {
+            apiError.setStatus(400);
         } else if (exception instanceof RuntimeException) {
             // Runtime exception'lar için 500 döndür
             apiError.setStatus(500);
@@ -70,7 +80,18 @@ public class ErrorHandler {
             apiError.setMessage("Beklenmeyen sunucu hatası: " + exception.getMessage());
         }
 
-        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+        // İstemci hataları tek satır; sunucu hataları yığın iziyle
+        if (apiError.getStatus() >= 500) {
+            log.error("{} - {}: {}", request.getRequestURI(), exception.getClass().getSimpleName(), exception.getMessage(), exception);
+        } else {
+            log.debug("{} - {} ({}): {}", request.getRequestURI(), exception.getClass().getSimpleName(), apiError.getStatus(), exception.getMessage());
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(apiError.getStatus());
+        if (exception instanceof PasswordHashingBusyException) {
+            response.header(HttpHeaders.RETRY_AFTER, Integer.toString(PasswordHashingBusyException.RETRY_AFTER_SECONDS));
+        }
+        return response.body(apiError);
     }
     
 }
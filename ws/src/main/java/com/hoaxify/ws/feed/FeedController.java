@@ -0,0 +1,40 @@
+package com.hoaxify.ws.feed;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hoaxify.ws.post.PostService;
+import com.hoaxify.ws.post.dto.PostView;
+import com.hoaxify.ws.shared.CurrentUser;
+import com.hoaxify.ws.shared.Cursor;
+import com.hoaxify.ws.shared.CursorSlice;
+import com.hoaxify.ws.user.User;
+
+@RestController
+@RequestMapping("/api/v1")
+public class FeedController {
+
+    @Autowired
+    FeedService feedService;
+
+    @Autowired
+    PostService postService;
+
+    // Takip edilen kullanıcılardan oluşan ana sayfa akışı
+    // before: bir önceki sayfanın beforeCursor değeri
+    @GetMapping("/feed")
+    @PreAuthorize("isAuthenticated()")
+    public CursorSlice<PostView> getHomeTimeline(@RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUser User user) {
+        int pageSize = Math.min(Math.max(size, 1), 50);
+
+        CursorSlice<PostView> posts = feedService.getHomeTimeline(user.getId(), Cursor.decode(before), pageSize);
+        postService.decorateViews(posts.getContent(), user);
+        return posts;
+    }
+}
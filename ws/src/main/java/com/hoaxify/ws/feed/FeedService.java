@@ -0,0 +1,343 @@
+package com.hoaxify.ws.feed;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.graph.FollowGraphService;
+import com.hoaxify.ws.metrics.MetricsSource;
+import com.hoaxify.ws.post.Post;
+import com.hoaxify.ws.post.PostRepository;
+import com.hoaxify.ws.post.dto.PostView;
+import com.hoaxify.ws.shared.Cursor;
+import com.hoaxify.ws.shared.CursorSlice;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Takip edilen hesapların gönderilerinden oluşan ana sayfa zaman akışı (fan-out-on-write).
+ * Dağıtım gönderi commit edildikten sonra ayrı bir thread havuzunda, takipçi grupları halinde kısa transaction'larla
+ * yapılır; gönderi oluşturma isteği takipçi sayısını beklemez ve dağıtım hatası gönderiyi geri almaz.
+ * Kapasiteyi aşan kutular okuma yolunda değil, yazılan kutular üzerinden zamanlanmış işte kırpılır.
+ */
+@Service
+public class FeedService implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedService.class);
+
+    // Transaction başına yazılan zaman akışı kaydı
+    private static final int FAN_OUT_BATCH_SIZE = 500;
+
+    @Autowired
+    TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    FollowGraphService followGraphService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    HoaxifyProperties hoaxifyProperties;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    TimelineSeedMigration timelineSeedMigration;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ThreadPoolExecutor fanOutExecutor;
+
+    // Yeni kayıt yazılan kutular; zamanlanmış kırpma bunları kapasiteye indirir
+    private final Set<Long> pendingTrim = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder fannedOutPosts = new LongAdder();
+
+    private final LongAdder writtenEntries = new LongAdder();
+
+    private final LongAdder failedFanOuts = new LongAdder();
+
+    @PostConstruct
+    void startFanOutExecutor() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        // Kuyruk doluysa dağıtım çağıran thread'de yapılır (commit sonrası): iş kaybolmaz, yük geri basınç olur
+        fanOutExecutor = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1000),
+            runnable -> {
+                Thread thread = new Thread(runnable, "feed-fan-out-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        fanOutExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stopFanOutExecutor() {
+        fanOutExecutor.shutdown();
+    }
+
+    /**
+     * Gönderi commit edildikten sonra yazarın ve takipçilerinin zaman akışına arka planda yazılır.
+     * Takipçi sayısı limiti aşan hesaplarda yazma yapılmaz, gönderi okuma anında birleştirilir.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        fanOutExecutor.execute(() -> {
+            try {
+                fanOut(event);
+            } catch (RuntimeException e) {
+                failedFanOuts.increment();
+                log.error("Gönderi {} zaman akışlarına dağıtılamadı", event.postId(), e);
+            }
+        });
+    }
+
+    void fanOut(PostCreatedEvent event) {
+        long authorId = event.authorId();
+        List<Long> ownerIds = new ArrayList<>();
+        ownerIds.add(authorId);
+        if (!isHighFanOut(authorId)) {
+            for (long followerId : followGraphService.getFollowerIds(authorId)) {
+                ownerIds.add(followerId);
+            }
+        }
+        for (int start = 0; start < ownerIds.size(); start += FAN_OUT_BATCH_SIZE) {
+            List<Long> batch = ownerIds.subList(start, Math.min(ownerIds.size(), start + FAN_OUT_BATCH_SIZE));
+            List<TimelineEntry> entries = batch.stream()
+                .map(ownerId -> new TimelineEntry(ownerId, event.postId(), authorId, event.createdAt()))
+                .toList();
+            insertMissing(entries);
+        }
+        fannedOutPosts.increment();
+    }
+
+    /**
+     * Kullanıcının ana sayfa zaman akışı. Maliyet sayfa boyutuyla orantılıdır:
+     * kendi kutusundan bir sayfa kayıt + fan-out yapılmayan hesaplardan bir sayfa gönderi.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<PostView> getHomeTimeline(long userId, Cursor before, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<TimelineEntry> entries;
+        if (before == null) {
+            entries = timelineEntryRepository.findByOwnerIdOrderByCreatedAtDescPostIdDesc(userId, limit);
+        } else {
+            entries = timelineEntryRepository.findOlderThan(userId, before.createdAtDate(), before.id(), limit);
+        }
+
+        long[] followingIds = followGraphService.getFollowingIds(userId);
+        List<Long> pullAuthorIds = new ArrayList<>();
+        // Eski hesabın kutusu henüz mevcut gönderilerle doldurulmadıysa tüm takip edilenlerden oku;
+        // kutuda yeni fan-out kayıtları olması eski gönderilerin de orada olduğunu göstermez
+        boolean timelineMissing = !timelineSeedMigration.isSeeded(userId);
+        for (long followingId : followingIds) {
+            if (timelineMissing || isHighFanOut(followingId)) {
+                pullAuthorIds.add(followingId);
+            }
+        }
+        if (timelineMissing) {
+            pullAuthorIds.add(userId);
+        }
+
+        Map<Long, PostView> merged = new LinkedHashMap<>();
+        if (!entries.isEmpty()) {
+            List<Long> postIds = entries.stream().map(TimelineEntry::getPostId).toList();
+            for (PostView post : postRepository.findViewsByIds(postIds)) {
+                merged.put(post.getId(), post);
+            }
+        }
+        if (!pullAuthorIds.isEmpty()) {
+            Cursor upperBound = before != null ? before : new Cursor(System.currentTimeMillis() + 60_000, Long.MAX_VALUE);
+            for (PostView post : postRepository.findViewsByUserIdsOlderThan(pullAuthorIds, upperBound.createdAtDate(), upperBound.id(), limit)) {
+                merged.putIfAbsent(post.getId(), post);
+            }
+        }
+
+        List<PostView> posts = new ArrayList<>(merged.values());
+        posts.sort(Comparator.comparing(PostView::getCreatedAt).thenComparingLong(PostView::getId).reversed());
+
+        return CursorSlice.of(posts, size, false, true, post -> Cursor.of(post.getCreatedAt(), post.getId()));
+    }
+
+    /**
+     * Yeni takip edilen kullanıcının son gönderilerini takipçinin zaman akışına ekle.
+     * Takip kaydı commit edildikten sonra arka planda çalışır.
+     */
+    public void onFollow(long followerId, long followingId) {
+        if (isHighFanOut(followingId)) {
+            return; // Okuma anında birleştirilecek
+        }
+        runAfterCommit(() -> {
+            List<Post> recentPosts = postRepository.findByUserIdOrderByCreatedAtDesc(
+                followingId, PageRequest.of(0, hoaxifyProperties.getFeed().getBackfillSize()));
+            List<TimelineEntry> entries = recentPosts.stream()
+                .map(post -> new TimelineEntry(followerId, post.getId(), followingId, post.getCreatedAt()))
+                .toList();
+            insertMissing(entries);
+        });
+    }
+
+    /**
+     * Takipten çıkınca o kullanıcının gönderilerini zaman akışından çıkar
+     */
+    @Transactional
+    public void onUnfollow(long followerId, long followingId) {
+        timelineEntryRepository.deleteByOwnerIdAndAuthorId(followerId, followingId);
+    }
+
+    @Transactional
+    public void removePost(long postId) {
+        timelineEntryRepository.deleteByPostId(postId);
+    }
+
+    @Transactional
+    public void removeUser(long userId) {
+        timelineEntryRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Son turdan beri kayıt yazılan kutuları kapasiteye indirir. Her kutu kendi kısa transaction'ında kırpılır.
+     */
+    @Scheduled(fixedDelayString = "${hoaxify.feed.trim-interval-ms:60000}", initialDelayString = "${hoaxify.feed.trim-interval-ms:60000}")
+    public void trimPendingTimelines() {
+        Iterator<Long> iterator = pendingTrim.iterator();
+        while (iterator.hasNext()) {
+            long ownerId = iterator.next();
+            iterator.remove();
+            try {
+                transactionTemplate.executeWithoutResult(status -> trimTimeline(ownerId));
+            } catch (RuntimeException e) {
+                log.warn("Zaman akışı {} kırpılamadı: {}", ownerId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Aynı (sahip, gönderi) kaydı tekrar yazılmaz: önce var olanlar çıkarılır, araya giren bir yazım benzersizlik
+     * kısıtına takılırsa grup bir kez yeniden süzülüp yazılır.
+     */
+    private void insertMissing(List<TimelineEntry> entries) {
+        if (entries.isEmpty()) return;
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveMissing(entries));
+        } catch (DataIntegrityViolationException e) {
+            transactionTemplate.executeWithoutResult(status -> saveMissing(entries));
+        }
+    }
+
+    private void saveMissing(List<TimelineEntry> entries) {
+        long postId = entries.get(0).getPostId();
+        boolean samePost = entries.stream().allMatch(entry -> entry.getPostId() == postId);
+        List<TimelineEntry> missing;
+        if (samePost) {
+            Set<Long> existingOwners = new HashSet<>(timelineEntryRepository.findOwnerIdsByPostId(postId, ownerIdsOf(entries)));
+            missing = entries.stream().filter(entry -> !existingOwners.contains(entry.getOwnerId())).toList();
+        } else {
+            long ownerId = entries.get(0).getOwnerId();
+            Set<Long> existingPosts = new HashSet<>(timelineEntryRepository.findPostIdsByOwnerId(ownerId,
+                entries.stream().map(TimelineEntry::getPostId).toList()));
+            missing = entries.stream().filter(entry -> !existingPosts.contains(entry.getPostId())).toList();
+        }
+        // Kaydedilen nesneler yeniden denemede tekrar kullanılmasın diye kopyalanır
+        List<TimelineEntry> copies = missing.stream()
+            .map(entry -> new TimelineEntry(entry.getOwnerId(), entry.getPostId(), entry.getAuthorId(), entry.getCreatedAt()))
+            .toList();
+        timelineEntryRepository.saveAll(copies);
+        writtenEntries.add(copies.size());
+        copies.forEach(entry -> pendingTrim.add(entry.getOwnerId()));
+    }
+
+    private static Collection<Long> ownerIdsOf(List<TimelineEntry> entries) {
+        return entries.stream().map(TimelineEntry::getOwnerId).toList();
+    }
+
+    private void runAfterCommit(Runnable work) {
+        Runnable guarded = () -> {
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                failedFanOuts.increment();
+                log.error("Zaman akışı güncellenemedi", e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    fanOutExecutor.execute(guarded);
+                }
+            });
+        } else {
+            fanOutExecutor.execute(guarded);
+        }
+    }
+
+    // Kapasiteyi aşan en eski kayıtları sil (sınırlı kutu)
+    private void trimTimeline(long ownerId) {
+        int capacity = hoaxifyProperties.getFeed().getTimelineCapacity();
+        List<TimelineEntry> overflow = timelineEntryRepository.findByOwnerIdOrderByCreatedAtDescPostIdDesc(
+            ownerId, PageRequest.of(capacity, 1));
+        if (!overflow.isEmpty()) {
+            timelineEntryRepository.deleteOlderEntries(ownerId, overflow.get(0).getCreatedAt());
+        }
+    }
+
+    private boolean isHighFanOut(long userId) {
+        return followGraphService.getFollowerCount(userId) > fanOutFollowerLimit();
+    }
+
+    private long fanOutFollowerLimit() {
+        return hoaxifyProperties.getFeed().getFanOutFollowerLimit();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "feed";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("fannedOutPosts", fannedOutPosts.sum());
+        metrics.put("writtenEntries", writtenEntries.sum());
+        metrics.put("failedFanOuts", failedFanOuts.sum());
+        metrics.put("fanOutQueue", fanOutExecutor.getQueue().size());
+        metrics.put("pendingTrim", pendingTrim.size());
+        return metrics;
+    }
+}
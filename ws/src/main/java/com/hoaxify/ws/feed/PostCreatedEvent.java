@@ -0,0 +1,7 @@
+package com.hoaxify.ws.feed;
+
+import java.util.Date;
+
+// Gönderi kaydı commit edildikten sonra zaman akışlarına dağıtılır (FeedService)
+public record PostCreatedEvent(long postId, long authorId, Date createdAt) {
+}
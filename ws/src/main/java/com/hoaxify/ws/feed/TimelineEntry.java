@@ -0,0 +1,84 @@
+package com.hoaxify.ws.feed;
+
+import java.util.Date;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "timeline_entries",
+    uniqueConstraints = @UniqueConstraint(name = "uk_timeline_owner_post", columnNames = {"owner_id", "post_id"}),
+    indexes = {
+    @Index(name = "idx_timeline_owner_created", columnList = "owner_id, created_at"),
+    @Index(name = "idx_timeline_post", columnList = "post_id")
+})
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue
+    private long id;
+
+    // Zaman akışının sahibi (takipçi)
+    @Column(name = "owner_id", nullable = false)
+    private long ownerId;
+
+    @Column(name = "post_id", nullable = false)
+    private long postId;
+
+    // Gönderinin sahibi - takipten çıkınca kayıtları temizlemek için
+    @Column(name = "author_id", nullable = false)
+    private long authorId;
+
+    // Gönderinin oluşturulma zamanı, sıralama bu alana göre yapılır
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+
+    public TimelineEntry() {}
+
+    public TimelineEntry(long ownerId, long postId, long authorId, Date createdAt) {
+        this.ownerId = ownerId;
+        this.postId = postId;
+        this.authorId = authorId;
+        this.createdAt = createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(long postId) {
+        this.postId = postId;
+    }
+
+    public long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(long authorId) {
+        this.authorId = authorId;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.hoaxify.ws.feed;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Long> {
+
+    // Zaman akışının en yeni kayıtları
+    List<TimelineEntry> findByOwnerIdOrderByCreatedAtDescPostIdDesc(long ownerId, Pageable pageable);
+
+    // İmleçten daha eski kayıtlar (sonraki sayfa)
+    @Query("SELECT t FROM TimelineEntry t WHERE t.ownerId = :ownerId AND " +
+           "(t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.postId < :postId)) ORDER BY t.createdAt DESC, t.postId DESC")
+    List<TimelineEntry> findOlderThan(@Param("ownerId") long ownerId, @Param("createdAt") Date createdAt, @Param("postId") long postId, Pageable pageable);
+
+    // Tekrar yazımı önlemek için: gönderinin zaten bulunduğu kutular / kutuda zaten bulunan gönderiler
+    @Query("SELECT t.ownerId FROM TimelineEntry t WHERE t.postId = :postId AND t.ownerId IN (:ownerIds)")
+    List<Long> findOwnerIdsByPostId(@Param("postId") long postId, @Param("ownerIds") Collection<Long> ownerIds);
+
+    @Query("SELECT t.postId FROM TimelineEntry t WHERE t.ownerId = :ownerId AND t.postId IN (:postIds)")
+    List<Long> findPostIdsByOwnerId(@Param("ownerId") long ownerId, @Param("postIds") Collection<Long> postIds);
+
+    // Kapasiteyi aşan eski kayıtları temizle
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.ownerId = :ownerId AND t.createdAt <= :cutoff")
+    int deleteOlderEntries(@Param("ownerId") long ownerId, @Param("cutoff") Date cutoff);
+
+    // Gönderi silindiğinde tüm zaman akışlarından çıkar
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.postId = :postId")
+    int deleteByPostId(@Param("postId") long postId);
+
+    // Takipten çıkınca o kullanıcının gönderilerini zaman akışından çıkar
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.ownerId = :ownerId AND t.authorId = :authorId")
+    int deleteByOwnerIdAndAuthorId(@Param("ownerId") long ownerId, @Param("authorId") long authorId);
+
+    // Kullanıcı silme için - sahibi veya yazarı olduğu tüm kayıtlar
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.ownerId = :userId OR t.authorId = :userId")
+    int deleteByUserId(@Param("userId") long userId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.postId IN (:postIds)")
+    int deleteByPostIds(@Param("postIds") Collection<Long> postIds);
+}
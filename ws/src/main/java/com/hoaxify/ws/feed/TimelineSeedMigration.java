@@ -0,0 +1,162 @@
+package com.hoaxify.ws.feed;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.graph.FollowGraphService;
+import com.hoaxify.ws.metrics.MetricsSource;
+import com.hoaxify.ws.post.PostRepository;
+import com.hoaxify.ws.post.dto.PostView;
+import com.hoaxify.ws.user.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Zaman akışı özelliğinden önce var olan hesapların kutusunu, takip ettiklerinin mevcut gönderileriyle bir kez
+ * doldurur. Kullanıcı başına kutu kapasitesi kadar en yeni gönderi tek sorguyla okunur; her grup kendi kısa
+ * transaction'ında yazılıp kullanıcılar doldurulmuş olarak işaretlenir. Doldurulmamış kullanıcının zaman akışı
+ * okuma anında tüm takip ettiklerinden birleştirilir, böylece kutuya yeni bir kayıt düşse de eski gönderiler kaybolmaz.
+ */
+@Component
+public class TimelineSeedMigration implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineSeedMigration.class);
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    FollowGraphService followGraphService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final HoaxifyProperties.Feed properties;
+
+    private TransactionTemplate transactionTemplate;
+
+    private volatile boolean complete;
+
+    private final LongAdder seededUsers = new LongAdder();
+
+    private final LongAdder seededEntries = new LongAdder();
+
+    public TimelineSeedMigration(HoaxifyProperties hoaxifyProperties) {
+        this.properties = hoaxifyProperties.getFeed();
+    }
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    // Geçiş sürerken okuma yolu bunu sorar; bittikten sonra sorgu çalışmaz
+    public boolean isSeeded(long userId) {
+        return complete || !userRepository.existsByIdAndTimelineSeededIsNull(userId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkComplete() {
+        if (!userRepository.existsByTimelineSeededIsNull()) {
+            complete = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hoaxify.feed.seed-interval-ms:5000}", initialDelayString = "${hoaxify.feed.seed-interval-ms:5000}")
+    public void migrateBatches() {
+        if (complete) return;
+        PageRequest batch = PageRequest.of(0, Math.max(1, properties.getSeedBatchSize()));
+        for (int round = 0; round < properties.getSeedMaxBatches(); round++) {
+            Integer seeded;
+            try {
+                seeded = transactionTemplate.execute(status -> seedBatch(batch));
+            } catch (DataIntegrityViolationException e) {
+                // Araya giren bir fan-out aynı kaydı yazdı: grup geri alındı, sonraki turda yeniden süzülüp yazılır
+                log.debug("zaman akışı doldurma grubu yeniden denenecek: {}", e.getMessage());
+                return;
+            }
+            if (seeded == null || seeded == 0) {
+                complete = true;
+                log.info("zaman akışı doldurma geçişi tamamlandı - {} kullanıcı, {} kayıt", seededUsers.sum(), seededEntries.sum());
+                return;
+            }
+            seededUsers.add(seeded);
+        }
+    }
+
+    private int seedBatch(PageRequest batch) {
+        List<Long> userIds = userRepository.findIdsWithoutSeededTimeline(batch);
+        if (userIds.isEmpty()) return 0;
+        for (long userId : userIds) {
+            seedTimeline(userId);
+        }
+        userRepository.markTimelineSeeded(userIds);
+        return userIds.size();
+    }
+
+    // Fan-out ile aynı kapsam: kullanıcının kendisi ve okuma anında birleştirilmeyen takip edilenler
+    private void seedTimeline(long ownerId) {
+        List<Long> authorIds = new ArrayList<>();
+        authorIds.add(ownerId);
+        for (long followingId : followGraphService.getFollowingIds(ownerId)) {
+            if (followGraphService.getFollowerCount(followingId) <= properties.getFanOutFollowerLimit()) {
+                authorIds.add(followingId);
+            }
+        }
+        List<PostView> posts = postRepository.findViewsByUserIdsOlderThan(authorIds,
+            new Date(System.currentTimeMillis() + 60_000), Long.MAX_VALUE,
+            PageRequest.of(0, Math.max(1, properties.getTimelineCapacity())));
+        if (posts.isEmpty()) return;
+        Set<Long> existing = new HashSet<>(timelineEntryRepository.findPostIdsByOwnerId(ownerId,
+            posts.stream().map(PostView::getId).toList()));
+        List<TimelineEntry> entries = posts.stream()
+            .filter(post -> !existing.contains(post.getId()))
+            .map(post -> new TimelineEntry(ownerId, post.getId(), post.getUser().getId(), post.getCreatedAt()))
+            .toList();
+        timelineEntryRepository.saveAll(entries);
+        seededEntries.add(entries.size());
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "timelineSeedMigration";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("complete", complete);
+        metrics.put("seededUsers", seededUsers.sum());
+        metrics.put("seededEntries", seededEntries.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,89 @@
+package com.hoaxify.ws.file;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.hoaxify.ws.metrics.MetricsSource;
+
+// Ek servisinin istek ve aktarım istatistikleri
+@Component
+public class AttachmentServingMetrics implements MetricsSource {
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder partialResponses = new LongAdder();
+
+    private final LongAdder notModified = new LongAdder();
+
+    private final LongAdder unsatisfiableRanges = new LongAdder();
+
+    private final LongAdder sendfileResponses = new LongAdder();
+
+    private final LongAdder abortedResponses = new LongAdder();
+
+    private final LongAdder bytesServed = new LongAdder();
+
+    // Sadece servlet thread'inde kopyalanan yanıtlar (sendfile süresi ölçülemez)
+    private final LongAdder copiedBytes = new LongAdder();
+
+    private final LongAdder copyNanos = new LongAdder();
+
+    private final LongAccumulator maxBytesPerSecond = new LongAccumulator(Math::max, 0);
+
+    void recordRequest() {
+        requests.increment();
+    }
+
+    void recordNotModified() {
+        notModified.increment();
+    }
+
+    void recordUnsatisfiable() {
+        unsatisfiableRanges.increment();
+    }
+
+    void recordAborted() {
+        abortedResponses.increment();
+    }
+
+    void recordSendfile(boolean partial, long bytes) {
+        if (partial) partialResponses.increment();
+        sendfileResponses.increment();
+        bytesServed.add(bytes);
+    }
+
+    void recordCopy(boolean partial, long bytes, long nanos) {
+        if (partial) partialResponses.increment();
+        bytesServed.add(bytes);
+        copiedBytes.add(bytes);
+        copyNanos.add(nanos);
+        if (nanos > 0) {
+            maxBytesPerSecond.accumulate(bytes * 1_000_000_000L / nanos);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "attachments";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        long nanos = copyNanos.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("requests", requests.sum());
+        metrics.put("partialResponses", partialResponses.sum());
+        metrics.put("notModified", notModified.sum());
+        metrics.put("unsatisfiableRanges", unsatisfiableRanges.sum());
+        metrics.put("sendfileResponses", sendfileResponses.sum());
+        metrics.put("abortedResponses", abortedResponses.sum());
+        metrics.put("bytesServed", bytesServed.sum());
+        metrics.put("avgCopyBytesPerSecond", nanos == 0 ? 0 : (long) (copiedBytes.sum() * 1e9 / nanos));
+        metrics.put("maxCopyBytesPerSecond", maxBytesPerSecond.get());
+        return metrics;
+    }
+}
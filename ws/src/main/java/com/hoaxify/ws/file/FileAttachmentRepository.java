@@ -1,15 +1,27 @@
 package com.hoaxify.ws.file;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.hoaxify.ws.post.Post;
+import com.hoaxify.ws.post.dto.AttachmentView;
 
 public interface FileAttachmentRepository extends JpaRepository<FileAttachment, Long> {
     List<FileAttachment> findByPostId(long postId);
     
     List<FileAttachment> findByPost(Post post);
-    
-    void deleteByPost(Post post);
-} 
\ No newline at end of file
+
+    // Bir sayfadaki tüm gönderilerin ekleri tek sorguda (Post entity'si yüklenmeden)
+    @Query("SELECT new com.hoaxify.ws.post.dto.AttachmentView(a.id, a.name, a.fileType, a.uploadDate, a.post.id) " +
+           "FROM FileAttachment a WHERE a.post.id IN (:postIds) ORDER BY a.id")
+    List<AttachmentView> findViewsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM FileAttachment a WHERE a.post.id IN (:postIds)")
+    int deleteByPostIds(@Param("postIds") Collection<Long> postIds);
+}
@@ -3,13 +3,30 @@ package com.hoaxify.ws.file;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.apache.tika.Tika;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,10 +38,17 @@ import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import com.hoaxify.ws.configuration.HoaxifyProperties;
 import com.hoaxify.ws.post.Post;
+import com.hoaxify.ws.post.dto.AttachmentView;
+import com.hoaxify.ws.shared.TtlCache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 @Service
 public class FileService {
 
+    private static final Logger log = LoggerFactory.getLogger(FileService.class);
+
     @Autowired
     HoaxifyProperties hoaxifyProperties;
     
@@ -39,12 +63,19 @@ public class FileService {
 
     Tika tika = new Tika();
 
+    private static final long TRANSFER_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private ThreadPoolExecutor uploadExecutor;
+
+    private static final Pattern ATTACHMENT_NAME = Pattern.compile("[A-Za-z0-9-]+");
+
+    private final TtlCache<String, String> attachmentContentTypes = new TtlCache<>(10000, Duration.ofHours(1));
+
     public String saveBase64StringAsFile(String image) {
-        System.out.println("=== FileService.saveBase64StringAsFile başlatıldı ===");
-        System.out.println("Use Cloudinary: " + useCloudinary);
+        log.debug("Use Cloudinary: {}", useCloudinary);
         
         if (image == null || image.trim().isEmpty()) {
-            System.err.println("Base64 string boş veya null!");
+            log.error("Base64 string boş veya null!");
             return null;
         }
 
@@ -55,18 +86,17 @@ public class FileService {
                 return saveToLocalStorage(image);
             }
         } catch (Exception e) {
-            System.err.println("Dosya kaydetme genel hatası: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Dosya kaydetme genel hatası", e);
             return null;
         }
     }
 
     private String saveToCloudinary(String image) throws Exception {
-        System.out.println("Cloudinary'ye kaydetme başlatıldı...");
+        log.debug("Cloudinary'ye kaydetme başlatıldı...");
         
         // Base64 string'i decode et
         byte[] decodedBytes = decodedImage(image);
-        System.out.println("Base64 decode edildi, byte sayısı: " + decodedBytes.length);
+        log.debug("Base64 decode edildi, byte sayısı: {}", decodedBytes.length);
         
         // Cloudinary'ye upload et
         Map uploadParams = ObjectUtils.asMap(
@@ -84,9 +114,9 @@ public class FileService {
         String secureUrl = (String) uploadResult.get("secure_url");
         String publicId = (String) uploadResult.get("public_id");
         
-        System.out.println("Cloudinary'ye başarıyla yüklendi:");
-        System.out.println("Public ID: " + publicId);
-        System.out.println("Secure URL: " + secureUrl);
+        log.debug("Cloudinary'ye başarıyla yüklendi:");
+        log.debug("Public ID: {}", publicId);
+        log.debug("Secure URL: {}", secureUrl);
         
         // Public ID'yi döndür (URL'yi değil)
         return publicId;
@@ -94,161 +124,231 @@ public class FileService {
 
     private String saveToLocalStorage(String image) throws IOException {
         String filename = UUID.randomUUID().toString();
-        System.out.println("Local storage'a kaydetme, dosya adı: " + filename);
+        log.debug("Local storage'a kaydetme, dosya adı: {}", filename);
 
         Path path = getProfileImagePath(filename);
-        System.out.println("Hedef path: " + path.toString());
+        log.debug("Hedef path: {}", path.toString());
         
         // Base64 string'i decode et
         byte[] decodedBytes = decodedImage(image);
-        System.out.println("Base64 decode edildi, byte sayısı: " + decodedBytes.length);
+        log.debug("Base64 decode edildi, byte sayısı: {}", decodedBytes.length);
         
         // Dosya türünü tespit et
         String detectedType = detectType(image);
-        System.out.println("Tespit edilen dosya türü: " + detectedType);
+        log.debug("Tespit edilen dosya türü: {}", detectedType);
         
         OutputStream outputStream = new FileOutputStream(path.toFile());
         outputStream.write(decodedBytes);
         outputStream.close();
         
-        System.out.println("Local storage'a başarıyla kaydedildi: " + filename);
+        log.debug("Local storage'a başarıyla kaydedildi: {}", filename);
         return filename;
     }
 
+    @PostConstruct
+    void startUploadExecutor() {
+        HoaxifyProperties.Storage storage = hoaxifyProperties.getStorage();
+        int threads = Math.max(1, storage.getUploadThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        // Kuyruk dolarsa yükleme isteği yapan thread'de çalışır - bellek ve bağlantı sayısı sınırlı kalır
+        uploadExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, storage.getUploadQueueCapacity())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "attachment-upload-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        uploadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stopUploadExecutor() {
+        uploadExecutor.shutdown();
+    }
+
+    /**
+     * Ekleri havuzda paralel olarak depolamaya aktarır, ardından kayıtları tek saveAll ile (JDBC batch) ekler.
+     * Dosyalar belleğe alınmaz; MultipartFile akışı kanal üzerinden doğrudan hedefe kopyalanır.
+     * Depolama işleri veritabanına dokunmaz, kayıtlar çağıran thread'in transaction'ında yazılır.
+     */
     public List<FileAttachment> savePostAttachments(List<MultipartFile> files, Post post) {
         try {
-            System.out.println("FileService.savePostAttachments çağrıldı. Post ID: " + post.getId());
-            System.out.println("Use Cloudinary for attachments: " + useCloudinary);
+            log.debug("FileService.savePostAttachments çağrıldı. Post ID: {}", post.getId());
+            log.debug("Use Cloudinary for attachments: {}", useCloudinary);
             
             if (files == null || files.isEmpty()) {
-                System.out.println("Dosya ekleri boş, hiç dosya eklenmemiş.");
+                log.debug("Dosya ekleri boş, hiç dosya eklenmemiş.");
                 return List.of();
             }
 
-            System.out.println("Toplam " + files.size() + " adet dosya eklenmek üzere işleniyor.");
+            log.debug("Toplam {} adet dosya eklenmek üzere işleniyor.", files.size());
+            long startTime = System.currentTimeMillis();
             
             // Local storage için klasörlerin var olduğunu kontrol et
             if (!useCloudinary || cloudinary == null) {
                 Path attachmentDir = Paths.get(hoaxifyProperties.getStorage().getRoot(), hoaxifyProperties.getStorage().getAttachment());
                 if (!Files.exists(attachmentDir)) {
-                    System.out.println("Attachment dizini oluşturuluyor: " + attachmentDir);
+                    log.debug("Attachment dizini oluşturuluyor: {}", attachmentDir);
                     Files.createDirectories(attachmentDir);
                 }
             }
 
-            return files.stream().map(file -> {
-                String filename = UUID.randomUUID().toString();
-                String fileType = file.getContentType();
-                String originalFilename = file.getOriginalFilename();
-                
-                // HEIC/HEIF dosyaları için özel işlem
-                if (originalFilename != null) {
-                    String lowerName = originalFilename.toLowerCase();
-                    if (lowerName.endsWith(".heic")) {
-                        fileType = "image/heic";
-                        System.out.println("HEIC dosyası tespit edildi, file type 'image/heic' olarak ayarlandı");
-                    } else if (lowerName.endsWith(".heif")) {
-                        fileType = "image/heif";
-                        System.out.println("HEIF dosyası tespit edildi, file type 'image/heif' olarak ayarlandı");
-                    }
-                    // Diğer iPhone formatları için de kontrol
-                    else if (lowerName.endsWith(".mov") && (fileType == null || fileType.equals("application/octet-stream"))) {
-                        fileType = "video/quicktime";
-                        System.out.println("iPhone MOV dosyası tespit edildi, file type 'video/quicktime' olarak ayarlandı");
-                    }
-                }
-                
-                // Eğer file type hala null ise, dosya uzantısından tahmin et
-                if (fileType == null || fileType.equals("application/octet-stream")) {
-                    if (originalFilename != null) {
-                        String ext = originalFilename.toLowerCase();
-                        if (ext.endsWith(".jpg") || ext.endsWith(".jpeg")) {
-                            fileType = "image/jpeg";
-                        } else if (ext.endsWith(".png")) {
-                            fileType = "image/png";
-                        } else if (ext.endsWith(".mp4")) {
-                            fileType = "video/mp4";
-                        } else if (ext.endsWith(".webm")) {
-                            fileType = "video/webm";
-                        } else {
-                            fileType = "application/octet-stream"; // Fallback
-                        }
-                        System.out.println("File type dosya uzantısından tahmin edildi: " + fileType);
-                    }
-                }
-                
-                System.out.println("Dosya işleniyor: " + originalFilename + ", final file type: " + fileType);
-                
-                try {
-                    String savedIdentifier;
-                    
-                    if (useCloudinary && cloudinary != null) {
-                        // Cloudinary'ye kaydet
-                        savedIdentifier = saveAttachmentToCloudinary(file, filename);
-                        System.out.println("Attachment Cloudinary'ye kaydedildi: " + savedIdentifier);
-                    } else {
-                        // Local storage'a kaydet
-                        savedIdentifier = saveAttachmentToLocal(file, filename);
-                        System.out.println("Attachment local storage'a kaydedildi: " + savedIdentifier);
-                    }
-                    
-                    if (savedIdentifier != null) {
-                        FileAttachment attachment = new FileAttachment(savedIdentifier, fileType);
-                        attachment.setPost(post);
-                        return fileAttachmentRepository.save(attachment);
-                    } else {
-                        System.err.println("Dosya kaydedilemedi!");
-                        return null;
-                    }
-                } catch (Exception e) {
-                    System.err.println("Dosya kaydedilirken hata: " + e.getMessage());
-                    e.printStackTrace();
-                    return null;
+            // Sıra korunur: her dosyanın future'ı kendi indeksinde
+            List<CompletableFuture<FileAttachment>> uploads = new ArrayList<>(files.size());
+            for (MultipartFile file : files) {
+                uploads.add(CompletableFuture.supplyAsync(() -> storeAttachment(file), uploadExecutor));
+            }
+
+            List<FileAttachment> storedAttachments = new ArrayList<>(files.size());
+            for (CompletableFuture<FileAttachment> upload : uploads) {
+                FileAttachment attachment = upload.join();
+                if (attachment != null) {
+                    attachment.setPost(post);
+                    storedAttachments.add(attachment);
                 }
-            }).filter(attachment -> attachment != null).toList();
+            }
+
+            List<FileAttachment> savedAttachments = fileAttachmentRepository.saveAll(storedAttachments);
+
+            // Medya sekmesi için gönderinin medya bitlerini güncelle (post, createPost transaction'ında yönetiliyor)
+            int mediaKinds = post.getMediaKinds() != null ? post.getMediaKinds() : 0;
+            for (FileAttachment attachment : savedAttachments) {
+                mediaKinds |= Post.mediaKindOf(attachment.getFileType());
+            }
+            post.setMediaKinds(mediaKinds);
+
+            log.debug("{} ek {} ms içinde kaydedildi", savedAttachments.size(), (System.currentTimeMillis() - startTime));
+            return savedAttachments;
         } catch (Exception e) {
-            System.err.println("savePostAttachments metodunda kritik hata: " + e.getMessage());
-            e.printStackTrace();
+            log.error("savePostAttachments metodunda kritik hata", e);
             throw new RuntimeException("Dosya ekleri kaydedilirken bir hata oluştu", e);
         }
     }
 
-    private String saveAttachmentToCloudinary(MultipartFile file, String filename) throws Exception {
-        System.out.println("Attachment Cloudinary'ye kaydetme başlatıldı...");
-        
-        byte[] fileBytes = file.getBytes();
-        System.out.println("File byte sayısı: " + fileBytes.length);
-        
-        // Cloudinary'ye upload et
-        Map uploadParams = ObjectUtils.asMap(
-            "resource_type", "auto",
-            "folder", "hoaxify/attachments",
-            "public_id", filename,
-            "overwrite", true,
-            "quality", "auto:good",
-            "fetch_format", "auto"
-        );
+    // Havuz thread'inde çalışır: dosyayı depolar, henüz kaydedilmemiş FileAttachment döner (hata durumunda null)
+    private FileAttachment storeAttachment(MultipartFile file) {
+        String filename = UUID.randomUUID().toString();
+        String fileType = resolveFileType(file);
+        log.debug("Dosya işleniyor: {}, final file type: {}", file.getOriginalFilename(), fileType);
         
-        @SuppressWarnings("unchecked")
-        Map<String, Object> uploadResult = cloudinary.uploader().upload(fileBytes, uploadParams);
+        try {
+            String savedIdentifier;
+            
+            if (useCloudinary && cloudinary != null) {
+                // Cloudinary'ye kaydet
+                savedIdentifier = saveAttachmentToCloudinary(file, filename);
+                log.debug("Attachment Cloudinary'ye kaydedildi: {}", savedIdentifier);
+            } else {
+                // Local storage'a kaydet
+                savedIdentifier = saveAttachmentToLocal(file, filename);
+                log.debug("Attachment local storage'a kaydedildi: {}", savedIdentifier);
+            }
+            
+            if (savedIdentifier != null) {
+                return new FileAttachment(savedIdentifier, fileType);
+            }
+            log.error("Dosya kaydedilemedi!");
+            return null;
+        } catch (Exception e) {
+            log.error("Dosya kaydedilirken hata", e);
+            return null;
+        }
+    }
+
+    private String resolveFileType(MultipartFile file) {
+        String fileType = file.getContentType();
+        String originalFilename = file.getOriginalFilename();
         
-        String publicId = (String) uploadResult.get("public_id");
-        String secureUrl = (String) uploadResult.get("secure_url");
+        // HEIC/HEIF dosyaları için özel işlem
+        if (originalFilename != null) {
+            String lowerName = originalFilename.toLowerCase();
+            if (lowerName.endsWith(".heic")) {
+                fileType = "image/heic";
+            } else if (lowerName.endsWith(".heif")) {
+                fileType = "image/heif";
+            }
+            // Diğer iPhone formatları için de kontrol
+            else if (lowerName.endsWith(".mov") && (fileType == null || fileType.equals("application/octet-stream"))) {
+                fileType = "video/quicktime";
+            }
+        }
         
-        System.out.println("Attachment Cloudinary'ye başarıyla yüklendi:");
-        System.out.println("Public ID: " + publicId);
-        System.out.println("Secure URL: " + secureUrl);
+        // Eğer file type hala null ise, dosya uzantısından tahmin et
+        if (fileType == null || fileType.equals("application/octet-stream")) {
+            if (originalFilename != null) {
+                String ext = originalFilename.toLowerCase();
+                if (ext.endsWith(".jpg") || ext.endsWith(".jpeg")) {
+                    fileType = "image/jpeg";
+                } else if (ext.endsWith(".png")) {
+                    fileType = "image/png";
+                } else if (ext.endsWith(".mp4")) {
+                    fileType = "video/mp4";
+                } else if (ext.endsWith(".webm")) {
+                    fileType = "video/webm";
+                } else {
+                    fileType = "application/octet-stream"; // Fallback
+                }
+                log.debug("File type dosya uzantısından tahmin edildi: {}", fileType);
+            }
+        }
+        return fileType;
+    }
+
+    private String saveAttachmentToCloudinary(MultipartFile file, String filename) throws Exception {
+        log.debug("Attachment Cloudinary'ye kaydetme başlatıldı...");
         
-        return publicId;
+        // SDK'ya byte[] yerine diskteki dosya verilir, gövde oradan akıtılır
+        Path tempFile = Files.createTempFile("hoaxify-upload-", null);
+        try {
+            long size = copyToFile(file, tempFile, StandardOpenOption.TRUNCATE_EXISTING);
+            log.debug("File byte sayısı: {}", size);
+            
+            // Cloudinary'ye upload et
+            Map uploadParams = ObjectUtils.asMap(
+                "resource_type", "auto",
+                "folder", "hoaxify/attachments",
+                "public_id", filename,
+                "overwrite", true,
+                "quality", "auto:good",
+                "fetch_format", "auto"
+            );
+            
+            @SuppressWarnings("unchecked")
+            Map<String, Object> uploadResult = cloudinary.uploader().upload(tempFile.toFile(), uploadParams);
+            
+            String publicId = (String) uploadResult.get("public_id");
+            String secureUrl = (String) uploadResult.get("secure_url");
+            
+            log.debug("Attachment Cloudinary'ye başarıyla yüklendi:");
+            log.debug("Public ID: {}", publicId);
+            log.debug("Secure URL: {}", secureUrl);
+            
+            return publicId;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
     }
 
     private String saveAttachmentToLocal(MultipartFile file, String filename) throws Exception {
         Path path = getPostAttachmentPath(filename);
-        byte[] fileBytes = file.getBytes();
-        Files.write(path, fileBytes);
+        copyToFile(file, path, StandardOpenOption.CREATE_NEW);
         return filename;
     }
 
+    // Yükleme akışını kanal üzerinden dosyaya kopyalar, kopyalanan byte sayısını döner
+    private long copyToFile(MultipartFile file, Path target, StandardOpenOption openOption) throws IOException {
+        try (ReadableByteChannel source = Channels.newChannel(file.getInputStream());
+             FileChannel destination = FileChannel.open(target, StandardOpenOption.WRITE, openOption)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = destination.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                position += transferred;
+            }
+            return position;
+        }
+    }
+
     public String detectType(String value) {
         return tika.detect(decodedImage(value));
     }
@@ -263,41 +363,56 @@ public class FileService {
         try {
             if (useCloudinary && cloudinary != null && imageIdentifier.startsWith("hoaxify/")) {
                 // Cloudinary'den sil
-                System.out.println("Cloudinary'den siliniyor: " + imageIdentifier);
+                log.debug("Cloudinary'den siliniyor: {}", imageIdentifier);
                 cloudinary.uploader().destroy(imageIdentifier, ObjectUtils.emptyMap());
-                System.out.println("Cloudinary'den silindi: " + imageIdentifier);
+                log.debug("Cloudinary'den silindi: {}", imageIdentifier);
             } else {
                 // Local storage'dan sil
                 Path path = getProfileImagePath(imageIdentifier);
                 Files.deleteIfExists(path);
-                System.out.println("Local storage'dan silindi: " + imageIdentifier);
+                log.debug("Local storage'dan silindi: {}", imageIdentifier);
             }
         } catch (Exception e) {
-            System.err.println("Profil fotoğrafı silinirken hata: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Profil fotoğrafı silinirken hata", e);
         }
     }
     
+    // Gönderi ID'sine göre gruplanmış ekler - sayfa başına tek sorgu
+    public Map<Long, List<AttachmentView>> getAttachmentViews(Collection<Long> postIds) {
+        if (postIds.isEmpty()) return Map.of();
+        return fileAttachmentRepository.findViewsByPostIds(postIds).stream()
+            .collect(Collectors.groupingBy(AttachmentView::getPostId));
+    }
+
     public void deleteAttachment(FileAttachment attachment) {
         if(attachment.getName() == null) return;
         
         try {
-            if (useCloudinary && cloudinary != null && attachment.getName().startsWith("hoaxify/")) {
+            deleteAttachmentFile(attachment.getName());
+            fileAttachmentRepository.delete(attachment);
+        } catch (Exception e) {
+            log.error("Attachment silinirken hata", e);
+        }
+    }
+
+    // Sadece depodaki dosya; kayıt silme çağırana aittir (toplu silmelerde satırlar tek sorguyla gider)
+    public void deleteAttachmentFile(String name) {
+        if(name == null) return;
+        
+        try {
+            if (useCloudinary && cloudinary != null && name.startsWith("hoaxify/")) {
                 // Cloudinary'den sil
-                System.out.println("Attachment Cloudinary'den siliniyor: " + attachment.getName());
-                cloudinary.uploader().destroy(attachment.getName(), ObjectUtils.emptyMap());
-                System.out.println("Attachment Cloudinary'den silindi: " + attachment.getName());
+                log.debug("Attachment Cloudinary'den siliniyor: {}", name);
+                cloudinary.uploader().destroy(name, ObjectUtils.emptyMap());
+                log.debug("Attachment Cloudinary'den silindi: {}", name);
             } else {
                 // Local storage'dan sil
-                Path path = getPostAttachmentPath(attachment.getName());
+                Path path = getPostAttachmentPath(name);
                 Files.deleteIfExists(path);
-                System.out.println("Attachment local storage'dan silindi: " + attachment.getName());
+                log.debug("Attachment local storage'dan silindi: {}", name);
             }
-            
-            fileAttachmentRepository.delete(attachment);
         } catch (Exception e) {
-            System.err.println("Attachment silinirken hata: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Attachment dosyası silinirken hata", e);
         }
     }
 
@@ -307,17 +422,33 @@ public class FileService {
         // Dizin yoksa oluştur
         try {
             if (!Files.exists(profileDir)) {
-                System.out.println("Profile dizini oluşturuluyor: " + profileDir);
+                log.debug("Profile dizini oluşturuluyor: {}", profileDir);
                 Files.createDirectories(profileDir);
             }
         } catch (IOException e) {
-            System.err.println("Profile dizini oluşturulamadı: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Profile dizini oluşturulamadı", e);
         }
         
         return profileDir.resolve(filename);
     }
     
+    // Servis edilecek ek dosyası; ad UUID değilse (ör. yol geçişi denemesi) null döner
+    public Path getAttachmentFile(String name) {
+        if (name == null || !ATTACHMENT_NAME.matcher(name).matches()) return null;
+        return getPostAttachmentPath(name);
+    }
+
+    // Ek adları uzantısız olduğu için içerik türü dosya başından tespit edilir ve önbelleğe alınır
+    public String getAttachmentContentType(String name, Path path) {
+        return attachmentContentTypes.get(name, key -> {
+            try {
+                return tika.detect(path.toFile());
+            } catch (IOException e) {
+                return "application/octet-stream";
+            }
+        });
+    }
+
     private Path getPostAttachmentPath(String filename){
         return Paths.get(hoaxifyProperties.getStorage().getRoot(), hoaxifyProperties.getStorage().getAttachment(), filename);
     }
@@ -0,0 +1,244 @@
+package com.hoaxify.ws.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hoaxify.ws.metrics.MetricsSource;
+import com.hoaxify.ws.user.UserFollowingRepository;
+
+/**
+ * Takip grafiğinin bellekteki kopyası. Her kullanıcı için takip ettikleri ve takipçileri
+ * sıralı long[] olarak tutulur: üyelik O(log n), sayılar O(1), veritabanına gidilmez.
+ * Diziler değiştirilmez, güncellemede yenisiyle değiştirilir (okuyucular kilitsiz).
+ * Başlangıçta user_following tablosundan yüklenir; yükleme bitene kadar sorgular veritabanına düşer.
+ */
+@Service
+public class FollowGraphService implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowGraphService.class);
+
+    private static final int LOAD_PAGE_SIZE = 10000;
+
+    // Dizi başlığı, harita düğümü ve Long anahtar için yaklaşık bayt
+    private static final long ENTRY_OVERHEAD_BYTES = 16 + 32 + 16;
+
+    @Autowired
+    UserFollowingRepository userFollowingRepository;
+
+    // takipçi -> takip ettikleri
+    private volatile Map<Long, long[]> following = new ConcurrentHashMap<>();
+
+    // takip edilen -> takipçileri
+    private volatile Map<Long, long[]> followers = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    private volatile long loadMillis;
+
+    private final Object loadLock = new Object();
+
+    // Yükleme sürerken commit edilen değişiklikler, yükleme sonunda yeni haritalara uygulanır
+    private List<Runnable> changesDuringLoad;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startTime = System.currentTimeMillis();
+        synchronized (loadLock) {
+            changesDuringLoad = new ArrayList<>();
+        }
+
+        Map<Long, SortedLongs.Builder> followingBuilders = new HashMap<>();
+        Map<Long, SortedLongs.Builder> followerBuilders = new HashMap<>();
+        long lastId = 0;
+        List<Object[]> rows;
+        do {
+            rows = userFollowingRepository.findEdgesAfter(lastId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                long followerId = (Long) row[1];
+                long followingId = (Long) row[2];
+                followingBuilders.computeIfAbsent(followerId, key -> new SortedLongs.Builder()).add(followingId);
+                followerBuilders.computeIfAbsent(followingId, key -> new SortedLongs.Builder()).add(followerId);
+            }
+        } while (rows.size() == LOAD_PAGE_SIZE);
+
+        Map<Long, long[]> loadedFollowing = freeze(followingBuilders);
+        Map<Long, long[]> loadedFollowers = freeze(followerBuilders);
+
+        synchronized (loadLock) {
+            following = loadedFollowing;
+            followers = loadedFollowers;
+            for (Runnable change : changesDuringLoad) {
+                change.run();
+            }
+            changesDuringLoad = null;
+            loaded = true;
+        }
+        loadMillis = System.currentTimeMillis() - startTime;
+        log.info("takip grafiği yüklendi - {} ilişki, {} ms", edgeCount(), loadMillis);
+    }
+
+    public boolean isFollowing(long followerId, long followingId) {
+        if (!loaded) {
+            return userFollowingRepository.existsByFollowerIdAndFollowingId(followerId, followingId);
+        }
+        return SortedLongs.contains(following.get(followerId), followingId);
+    }
+
+    public long getFollowerCount(long userId) {
+        if (!loaded) {
+            return userFollowingRepository.countFollowersByUserId(userId);
+        }
+        long[] set = followers.get(userId);
+        return set == null ? 0 : set.length;
+    }
+
+    public long getFollowingCount(long userId) {
+        if (!loaded) {
+            return userFollowingRepository.countFollowingByUserId(userId);
+        }
+        long[] set = following.get(userId);
+        return set == null ? 0 : set.length;
+    }
+
+    // Artan sırada; dönen dizi paylaşılır, değiştirilmemeli
+    public long[] getFollowerIds(long userId) {
+        if (!loaded) {
+            return toSortedArray(userFollowingRepository.findFollowerIds(userId));
+        }
+        long[] set = followers.get(userId);
+        return set == null ? SortedLongs.EMPTY : set;
+    }
+
+    // Artan sırada; dönen dizi paylaşılır, değiştirilmemeli
+    public long[] getFollowingIds(long userId) {
+        if (!loaded) {
+            return toSortedArray(userFollowingRepository.findFollowingIds(userId));
+        }
+        long[] set = following.get(userId);
+        return set == null ? SortedLongs.EMPTY : set;
+    }
+
+    // Değişiklikler transaction commit edildikten sonra uygulanır (geri alınan işlem grafiği bozmaz)
+    public void onFollow(long followerId, long followingId) {
+        afterCommit(() -> addEdge(followerId, followingId));
+    }
+
+    public void onUnfollow(long followerId, long followingId) {
+        afterCommit(() -> removeEdge(followerId, followingId));
+    }
+
+    public void onUserDeleted(long userId) {
+        afterCommit(() -> removeUser(userId));
+    }
+
+    private void addEdge(long followerId, long followingId) {
+        following.compute(followerId, (key, set) -> SortedLongs.with(set, followingId));
+        followers.compute(followingId, (key, set) -> SortedLongs.with(set, followerId));
+    }
+
+    private void removeEdge(long followerId, long followingId) {
+        following.computeIfPresent(followerId, (key, set) -> SortedLongs.without(set, followingId));
+        followers.computeIfPresent(followingId, (key, set) -> SortedLongs.without(set, followerId));
+    }
+
+    private void removeUser(long userId) {
+        long[] followedByUser = following.remove(userId);
+        if (followedByUser != null) {
+            for (long followingId : followedByUser) {
+                followers.computeIfPresent(followingId, (key, set) -> SortedLongs.without(set, userId));
+            }
+        }
+        long[] followersOfUser = followers.remove(userId);
+        if (followersOfUser != null) {
+            for (long followerId : followersOfUser) {
+                following.computeIfPresent(followerId, (key, set) -> SortedLongs.without(set, userId));
+            }
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Runnable change) {
+        synchronized (loadLock) {
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(change);
+                return;
+            }
+        }
+        change.run();
+    }
+
+    private static Map<Long, long[]> freeze(Map<Long, SortedLongs.Builder> builders) {
+        Map<Long, long[]> result = new ConcurrentHashMap<>(Math.max(16, builders.size() * 4 / 3 + 1));
+        builders.forEach((userId, builder) -> result.put(userId, builder.freeze()));
+        return result;
+    }
+
+    private static long[] toSortedArray(List<Long> ids) {
+        SortedLongs.Builder builder = new SortedLongs.Builder();
+        for (Long id : ids) {
+            builder.add(id);
+        }
+        return builder.freeze();
+    }
+
+    private long edgeCount() {
+        long edges = 0;
+        for (long[] set : following.values()) {
+            edges += set.length;
+        }
+        return edges;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "followGraph";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        long edges = 0;
+        long bytes = 0;
+        for (long[] set : following.values()) {
+            edges += set.length;
+            bytes += ENTRY_OVERHEAD_BYTES + 8L * set.length;
+        }
+        for (long[] set : followers.values()) {
+            bytes += ENTRY_OVERHEAD_BYTES + 8L * set.length;
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("loaded", loaded);
+        metrics.put("loadMillis", loadMillis);
+        metrics.put("followers", following.size());
+        metrics.put("followedUsers", followers.size());
+        metrics.put("edges", edges);
+        metrics.put("approxBytes", bytes);
+        return metrics;
+    }
+}
@@ -0,0 +1,72 @@
+package com.hoaxify.ws.graph;
+
+import java.util.Arrays;
+
+/**
+ * Sıralı, tekrarsız long[] kümeleri üzerinde değiştirilemez işlemler.
+ * Ekleme/çıkarma yeni dizi döner; okuyucular kilitsiz olarak eski diziyi kullanmaya devam edebilir.
+ */
+final class SortedLongs {
+
+    static final long[] EMPTY = new long[0];
+
+    private SortedLongs() {
+    }
+
+    static boolean contains(long[] set, long value) {
+        return set != null && Arrays.binarySearch(set, value) >= 0;
+    }
+
+    static long[] with(long[] set, long value) {
+        if (set == null) return new long[] { value };
+        int index = Arrays.binarySearch(set, value);
+        if (index >= 0) return set;
+        int insertAt = -index - 1;
+        long[] result = new long[set.length + 1];
+        System.arraycopy(set, 0, result, 0, insertAt);
+        result[insertAt] = value;
+        System.arraycopy(set, insertAt, result, insertAt + 1, set.length - insertAt);
+        return result;
+    }
+
+    // Küme boşalırsa null döner (haritadan anahtar silinir)
+    static long[] without(long[] set, long value) {
+        if (set == null) return null;
+        int index = Arrays.binarySearch(set, value);
+        if (index < 0) return set;
+        if (set.length == 1) return null;
+        long[] result = new long[set.length - 1];
+        System.arraycopy(set, 0, result, 0, index);
+        System.arraycopy(set, index + 1, result, index, set.length - index - 1);
+        return result;
+    }
+
+    /**
+     * Yükleme sırasında kullanılan büyüyebilen tampon; freeze() sıralı ve tekrarsız dizi üretir.
+     */
+    static final class Builder {
+
+        private long[] values = new long[4];
+
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] freeze() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            int distinct = 0;
+            for (int i = 0; i < result.length; i++) {
+                if (i == 0 || result[i] != result[i - 1]) {
+                    result[distinct++] = result[i];
+                }
+            }
+            return distinct == result.length ? result : Arrays.copyOf(result, distinct);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hoaxify.ws.graph;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hoaxify.ws.graph.dto.SuggestedUser;
+import com.hoaxify.ws.shared.CurrentUser;
+import com.hoaxify.ws.user.User;
+
+@RestController
+public class SuggestionController {
+
+    @Autowired
+    SuggestionService suggestionService;
+
+    // Sabit yol, /api/v1/users/{id} eşlemesinden önce seçilir
+    @GetMapping("/api/v1/users/suggestions")
+    @PreAuthorize("isAuthenticated()")
+    public List<SuggestedUser> getSuggestions(@CurrentUser User currentUser,
+            @RequestParam(defaultValue = "10") int size) {
+        return suggestionService.getSuggestions(currentUser.getId(), Math.max(1, Math.min(size, suggestionService.getMaxSize())));
+    }
+}
@@ -0,0 +1,283 @@
+package com.hoaxify.ws.graph;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.graph.dto.SuggestedUser;
+import com.hoaxify.ws.metrics.MetricsSource;
+import com.hoaxify.ws.shared.TtlCache;
+import com.hoaxify.ws.user.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Arkadaşın arkadaşı önerileri: kullanıcının takip ettiklerinin takip ettikleri, ortak takip sayısına göre sıralanır.
+ * Gezinme bellekteki takip grafiği üzerinde yapılır ve iki adımda da sınırlıdır; yüksek dereceli düğümlerden örnek alınır.
+ * Sonuçlar kullanıcı başına önbellekte tutulur; takip değişen ve son zamanlarda istek yapan kullanıcılar arka planda yenilenir,
+ * böylece istek yolu önbellekten O(k) okur. Önbellekte kaydı olmayan kullanıcı için istek beklemez: boş liste döner ve
+ * hesaplama arka plan thread'ine verilir.
+ */
+@Service
+public class SuggestionService implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestionService.class);
+
+    @Autowired
+    FollowGraphService followGraphService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    private final HoaxifyProperties.Suggestions properties;
+
+    private final TtlCache<Long, Computed> cache;
+
+    // Takip listesi değişen kullanıcılar (bir sonraki turda yeniden hesaplanır)
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    // Önbellek ıskası sonrası hesaplaması kuyrukta olan kullanıcılar (aynı kullanıcı iki kez kuyruğa alınmaz)
+    private final Set<Long> pendingUsers = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor computeExecutor;
+
+    // Kullanıcı -> son öneri isteği zamanı
+    private final Map<Long, Long> activeUsers = new ConcurrentHashMap<>();
+
+    private final LongAdder computations = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder computeNanos = new LongAdder();
+
+    private final LongAdder sampledNodes = new LongAdder();
+
+    public SuggestionService(HoaxifyProperties hoaxifyProperties) {
+        this.properties = hoaxifyProperties.getSuggestions();
+        this.cache = new TtlCache<>(properties.getMaxSize(), Duration.ofSeconds(properties.getTtlSeconds()));
+    }
+
+    @PostConstruct
+    void startComputeExecutor() {
+        computeExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1000),
+            runnable -> {
+                Thread thread = new Thread(runnable, "suggestion-compute");
+                thread.setDaemon(true);
+                return thread;
+            });
+        computeExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stopComputeExecutor() {
+        computeExecutor.shutdownNow();
+    }
+
+    // Önbellekte tutulan ve bir istekte dönebilecek en fazla öneri
+    public int getMaxSize() {
+        return Math.max(1, properties.getSize());
+    }
+
+    public List<SuggestedUser> getSuggestions(long userId, int size) {
+        activeUsers.put(userId, System.currentTimeMillis());
+        Computed computed = cache.getIfPresent(userId);
+        if (computed == null) {
+            misses.increment();
+            scheduleCompute(userId);
+            return List.of();
+        }
+        List<SuggestedUser> result = new ArrayList<>(Math.min(size, computed.suggestions().size()));
+        // Önbellekteki liste yenilenene kadar yeni takip edilenler okurken elenir
+        for (SuggestedUser suggestion : computed.suggestions()) {
+            if (result.size() == size) break;
+            if (!followGraphService.isFollowing(userId, suggestion.id())) {
+                result.add(suggestion);
+            }
+        }
+        return result;
+    }
+
+    private void scheduleCompute(long userId) {
+        if (!pendingUsers.add(userId)) return;
+        try {
+            computeExecutor.execute(() -> {
+                try {
+                    cache.put(userId, compute(userId));
+                } catch (RuntimeException e) {
+                    log.warn("kullanıcı {} için öneriler hesaplanamadı: {}", userId, e.getMessage());
+                } finally {
+                    pendingUsers.remove(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Kuyruk dolu: kullanıcı aktif listede olduğu için zamanlanmış yenileme onu yine hesaplar
+            pendingUsers.remove(userId);
+        }
+    }
+
+    // Takip/takipten çıkma sonrası: kullanıcının kendi önerileri arka planda yenilenir
+    public void onFollowChanged(long userId) {
+        dirtyUsers.add(userId);
+    }
+
+    public void onUserDeleted(long userId) {
+        dirtyUsers.remove(userId);
+        activeUsers.remove(userId);
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Takibi değişen kullanıcıları ve önbellek kaydı yarı ömrünü geçmiş aktif kullanıcıları yeniden hesaplar.
+     * Tur başına hesaplanan kullanıcı sayısı sınırlıdır.
+     */
+    @Scheduled(fixedDelayString = "${hoaxify.suggestions.refresh-interval-ms:30000}", initialDelayString = "${hoaxify.suggestions.refresh-interval-ms:30000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        long activeSince = now - Duration.ofMinutes(properties.getActiveWindowMinutes()).toMillis();
+        long staleBefore = now - properties.getTtlSeconds() * 1000L / 2;
+        activeUsers.values().removeIf(lastSeen -> lastSeen < activeSince);
+
+        int budget = properties.getRefreshBatchSize();
+        for (Long userId : dirtyUsers) {
+            if (budget-- <= 0) return;
+            dirtyUsers.remove(userId);
+            if (activeUsers.containsKey(userId)) {
+                cache.put(userId, compute(userId));
+            } else {
+                cache.invalidate(userId);
+            }
+        }
+        for (Map.Entry<Long, Long> active : activeUsers.entrySet()) {
+            if (budget <= 0) return;
+            Computed cached = cache.getIfPresent(active.getKey());
+            if (cached == null || cached.computedAt() < staleBefore) {
+                cache.put(active.getKey(), compute(active.getKey()));
+                budget--;
+            }
+        }
+    }
+
+    private Computed compute(long userId) {
+        long startNanos = System.nanoTime();
+        long[] following = followGraphService.getFollowingIds(userId);
+        long[] firstHop = sample(following, properties.getFirstHopLimit());
+
+        // aday -> ortak takip sayısı
+        Map<Long, int[]> mutualCounts = new HashMap<>();
+        int secondHopLimit = properties.getSecondHopLimit();
+        for (long friendId : firstHop) {
+            long[] friendFollowing = followGraphService.getFollowingIds(friendId);
+            int step = friendFollowing.length > secondHopLimit ? (friendFollowing.length + secondHopLimit - 1) / secondHopLimit : 1;
+            if (step > 1) {
+                sampledNodes.increment();
+            }
+            // Yüksek dereceli düğümde sabit adımlı örnek: gezinme maliyeti firstHopLimit * secondHopLimit ile sınırlı
+            for (int i = 0; i < friendFollowing.length; i += step) {
+                long candidateId = friendFollowing[i];
+                if (candidateId == userId || SortedLongs.contains(following, candidateId)) continue;
+                mutualCounts.computeIfAbsent(candidateId, key -> new int[1])[0]++;
+            }
+        }
+
+        List<Map.Entry<Long, int[]>> top = topByCount(mutualCounts, getMaxSize());
+        List<SuggestedUser> suggestions = hydrate(top);
+
+        computations.increment();
+        computeNanos.add(System.nanoTime() - startNanos);
+        return new Computed(suggestions, System.currentTimeMillis());
+    }
+
+    // En yüksek sayılı k aday; eşitlikte küçük ID önce
+    private static List<Map.Entry<Long, int[]>> topByCount(Map<Long, int[]> counts, int k) {
+        Comparator<Map.Entry<Long, int[]>> byRank = Comparator
+            .<Map.Entry<Long, int[]>>comparingInt(entry -> entry.getValue()[0])
+            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+        PriorityQueue<Map.Entry<Long, int[]>> heap = new PriorityQueue<>(byRank);
+        for (Map.Entry<Long, int[]> entry : counts.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<Long, int[]>> result = new ArrayList<>(heap);
+        result.sort(byRank.reversed());
+        return result;
+    }
+
+    // Özetler tek sorguyla; pasif/silinmiş kullanıcılar düşer
+    private List<SuggestedUser> hydrate(List<Map.Entry<Long, int[]>> ranked) {
+        if (ranked.isEmpty()) return List.of();
+        Map<Long, Object[]> rows = new HashMap<>();
+        for (Object[] row : userRepository.findSummaryRowsByIds(ranked.stream().map(Map.Entry::getKey).toList())) {
+            rows.put((Long) row[0], row);
+        }
+        List<SuggestedUser> suggestions = new ArrayList<>(ranked.size());
+        for (Map.Entry<Long, int[]> entry : ranked) {
+            Object[] row = rows.get(entry.getKey());
+            if (row != null) {
+                suggestions.add(new SuggestedUser(entry.getKey(), (String) row[1], (String) row[2], entry.getValue()[0]));
+            }
+        }
+        return List.copyOf(suggestions);
+    }
+
+    // Sınırı aşan listeden rastgele örnek (kısmi Fisher-Yates); aşmıyorsa aynı dizi
+    private static long[] sample(long[] ids, int limit) {
+        if (ids.length <= limit) return ids;
+        long[] copy = Arrays.copyOf(ids, ids.length);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < limit; i++) {
+            int j = i + random.nextInt(copy.length - i);
+            long swap = copy[i];
+            copy[i] = copy[j];
+            copy[j] = swap;
+        }
+        return Arrays.copyOf(copy, limit);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "suggestions";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        long count = computations.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("cache", cache.stats());
+        metrics.put("activeUsers", activeUsers.size());
+        metrics.put("dirtyUsers", dirtyUsers.size());
+        metrics.put("misses", misses.sum());
+        metrics.put("pendingComputations", pendingUsers.size());
+        metrics.put("computations", count);
+        metrics.put("avgComputeMicros", count == 0 ? 0 : computeNanos.sum() / count / 1000);
+        metrics.put("sampledNodes", sampledNodes.sum());
+        return metrics;
+    }
+
+    private record Computed(List<SuggestedUser> suggestions, long computedAt) {
+    }
+}
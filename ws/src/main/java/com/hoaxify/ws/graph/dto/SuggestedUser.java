@@ -0,0 +1,5 @@
+package com.hoaxify.ws.graph.dto;
+
+// mutualCount: kullanıcının takip ettiklerinden kaçının bu kişiyi takip ettiği
+public record SuggestedUser(long id, String username, String image, int mutualCount) {
+}
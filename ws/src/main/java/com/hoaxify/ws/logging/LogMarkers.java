@@ -0,0 +1,13 @@
+package com.hoaxify.ws.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+public final class LogMarkers {
+
+    // İstek başına tekrarlanan ayrıntı satırları: SamplingTurboFilter örnekleyerek geçirir
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogMarkers() {
+    }
+}
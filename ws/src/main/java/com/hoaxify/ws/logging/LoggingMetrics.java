@@ -0,0 +1,40 @@
+package com.hoaxify.ws.logging;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.hoaxify.ws.metrics.MetricsSource;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.Appender;
+
+// Asenkron log tamponunun doluluğu ve düşürülen satırlar
+@Component
+public class LoggingMetrics implements MetricsSource {
+
+    static final String APPENDER_NAME = "ASYNC_CONSOLE";
+
+    @Override
+    public String getMetricsName() {
+        return "logging";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) return metrics;
+        Appender<?> appender = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).getAppender(APPENDER_NAME);
+        if (appender instanceof RingBufferAppender ring) {
+            metrics.put("capacity", ring.getBufferCapacity());
+            metrics.put("queued", ring.getQueueSize());
+            metrics.put("enqueued", ring.getEnqueued());
+            metrics.put("written", ring.getWritten());
+            metrics.put("dropped", ring.getDropped());
+            metrics.put("overflowWrites", ring.getOverflowWrites());
+        }
+        return metrics;
+    }
+}
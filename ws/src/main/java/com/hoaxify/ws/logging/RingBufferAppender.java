@@ -0,0 +1,218 @@
+package com.hoaxify.ws.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+
+/**
+ * Konsola asenkron yazan appender. İstek thread'leri olayı sabit boyutlu, kilitsiz bir halka tampona bırakıp döner
+ * (tek CAS); biçimlendirme ve stdout'a yazma tek bir arka plan thread'inde toplu yapılır. Böylece yük altında
+ * thread'ler stdout kilidinde sıraya girmez.
+ * Tampon doluysa WARN altı olaylar düşürülüp sayılır; WARN/ERROR kaybolmasın diye doğrudan yazılır.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private Encoder<ILoggingEvent> encoder;
+
+    private int capacity = 8192;
+
+    private int mask;
+
+    // Yuva i için beklenen sıra numarası (sınırlı MPSC kuyruğu)
+    private AtomicLongArray sequences;
+
+    private AtomicReferenceArray<ILoggingEvent> slots;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    // Sadece yazıcı thread'i ilerletir
+    private volatile long head;
+
+    private OutputStream out;
+
+    private Thread writer;
+
+    private final LongAdder enqueued = new LongAdder();
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder overflowWrites = new LongAdder();
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void start() {
+        if (encoder == null) {
+            addError("RingBufferAppender için encoder tanımlanmamış: " + name);
+            return;
+        }
+        // Kapasite ikinin kuvvetine yuvarlanır: indeks = sıra & mask
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        slots = new AtomicReferenceArray<>(size);
+        out = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 64 * 1024);
+        writer = new Thread(this::drainLoop, "log-writer");
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) return;
+        super.stop();
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Kapanışta kalan olaylar; yazıcı hâlâ çalışıyorsa iki tüketici olmasın
+        if (!writer.isAlive()) {
+            drain();
+        }
+        flush();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Mesaj, MDC ve thread adı şimdi sabitlenir; yazım başka thread'de yapılacak
+        event.prepareForDeferredProcessing();
+        if (offer(event)) {
+            enqueued.increment();
+            return;
+        }
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            overflowWrites.increment();
+            write(event);
+            flush();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private boolean offer(ILoggingEvent event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // Yazıcı bu yuvayı henüz boşaltmadı: tampon dolu
+                return false;
+            }
+            // Başka üretici yuvayı aldı, yeniden dene
+        }
+    }
+
+    private ILoggingEvent poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) return null;
+        ILoggingEvent event = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return event;
+    }
+
+    private void drainLoop() {
+        while (isStarted()) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    // Kuyruk boşalana kadar yazar, sonra tek seferde flush eder
+    private int drain() {
+        int count = 0;
+        ILoggingEvent event;
+        while ((event = poll()) != null) {
+            write(event);
+            count++;
+        }
+        if (count > 0) {
+            written.add(count);
+            flush();
+        }
+        return count;
+    }
+
+    // Taşma yazımları üretici thread'den gelebilir; kilit sadece o durumda çekişir
+    private void write(ILoggingEvent event) {
+        byte[] bytes = encoder.encode(event);
+        synchronized (this) {
+            try {
+                out.write(bytes);
+            } catch (IOException e) {
+                addError("Log yazılamadı", e);
+            }
+        }
+    }
+
+    private void flush() {
+        synchronized (this) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                addError("Log flush edilemedi", e);
+            }
+        }
+    }
+
+    public int getQueueSize() {
+        return (int) (tail.get() - head);
+    }
+
+    public int getBufferCapacity() {
+        return mask + 1;
+    }
+
+    public long getEnqueued() {
+        return enqueued.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getOverflowWrites() {
+        return overflowWrites.sum();
+    }
+}
@@ -0,0 +1,33 @@
+package com.hoaxify.ws.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * LogMarkers.SAMPLED işaretli satırların sadece her N'incisini geçirir. Olay nesnesi oluşturulmadan önce çalışır;
+ * seviyesi kapalı olan satırlar sayaca da girmez. İşaretsiz satırlara dokunmaz.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private int sampleEvery = 100;
+
+    private final AtomicLong seen = new AtomicLong();
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || !marker.contains(LogMarkers.SAMPLED)) return FilterReply.NEUTRAL;
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) return FilterReply.NEUTRAL;
+        if (sampleEvery <= 1) return FilterReply.NEUTRAL;
+        return seen.getAndIncrement() % sampleEvery == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -1,5 +1,6 @@
 package com.hoaxify.ws.message;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.hoaxify.ws.user.User;
 
@@ -17,6 +18,11 @@ public class Conversation {
     @Column(name = "conversation_id", unique = true)
     private String conversationId;
 
+    // Sayısal konuşma anahtarı (ConversationKeys); geçiş tamamlanana kadar eski satırlarda boş olabilir
+    @JsonIgnore
+    @Column(name = "conversation_key", unique = true)
+    private Long conversationKey;
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "user1_id")
     @JsonIgnoreProperties({"password", "email", "active", "activationToken", "tokens", "passwordResetToken"})
@@ -47,8 +53,9 @@ public class Conversation {
     public Conversation() {
     }
 
-    public Conversation(String conversationId, User user1, User user2) {
-        this.conversationId = conversationId;
+    public Conversation(long conversationKey, User user1, User user2) {
+        this.conversationKey = conversationKey;
+        this.conversationId = ConversationKeys.format(conversationKey);
         this.user1 = user1;
         this.user2 = user2;
     }
@@ -70,6 +77,14 @@ public class Conversation {
         this.conversationId = conversationId;
     }
 
+    public Long getConversationKey() {
+        return conversationKey;
+    }
+
+    public void setConversationKey(Long conversationKey) {
+        this.conversationKey = conversationKey;
+    }
+
     public User getUser1() {
         return user1;
     }
@@ -0,0 +1,95 @@
+package com.hoaxify.ws.message;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.metrics.MetricsSource;
+
+/**
+ * Metin konuşma ID'li eski mesaj ve konuşmalara sayısal anahtarı uygulama çalışırken atar.
+ * Her grup kendi kısa transaction'ında güncellenir, tur başına grup sayısı sınırlıdır. Yeni kayıtlar iki alanı da
+ * yazdığı için geçiş bitene kadar okumalar metin ID ile yapılır; bittiğinde MessageService anahtar sorgularına geçer.
+ */
+@Component
+public class ConversationKeyMigration implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationKeyMigration.class);
+
+    @Autowired
+    MessageRepository messageRepository;
+
+    @Autowired
+    ConversationRepository conversationRepository;
+
+    private final HoaxifyProperties.Messaging properties;
+
+    private volatile boolean complete;
+
+    private final LongAdder migratedMessages = new LongAdder();
+
+    private final LongAdder migratedConversations = new LongAdder();
+
+    public ConversationKeyMigration(HoaxifyProperties hoaxifyProperties) {
+        this.properties = hoaxifyProperties.getMessaging();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    // Geçişi yapılmış veritabanında açılışta tek kontrolle tamamlanır
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkComplete() {
+        if (!conversationRepository.existsByConversationKeyIsNull() && !messageRepository.existsByConversationKeyIsNull()) {
+            complete = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hoaxify.messaging.key-migration-interval-ms:5000}", initialDelayString = "${hoaxify.messaging.key-migration-interval-ms:5000}")
+    public void migrateBatches() {
+        if (complete) return;
+        int batchSize = Math.max(1, properties.getKeyMigrationBatchSize());
+        PageRequest batch = PageRequest.of(0, batchSize);
+        for (int round = 0; round < properties.getKeyMigrationMaxBatches(); round++) {
+            // Konuşmalar önce: az sayıda ve mesaj okumaları bunlara bağlı değil
+            List<Long> conversationIds = conversationRepository.findIdsWithoutConversationKey(batch);
+            if (!conversationIds.isEmpty()) {
+                migratedConversations.add(conversationRepository.assignConversationKeys(conversationIds));
+                continue;
+            }
+            List<Long> messageIds = messageRepository.findIdsWithoutConversationKey(batch);
+            if (messageIds.isEmpty()) {
+                complete = true;
+                log.info("konuşma anahtarı geçişi tamamlandı - {} mesaj, {} konuşma", migratedMessages.sum(), migratedConversations.sum());
+                return;
+            }
+            migratedMessages.add(messageRepository.assignConversationKeys(messageIds));
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "conversationKeyMigration";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("complete", complete);
+        metrics.put("migratedMessages", migratedMessages.sum());
+        metrics.put("migratedConversations", migratedConversations.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,54 @@
+package com.hoaxify.ws.message;
+
+/**
+ * İki kullanıcı arasındaki konuşmanın sayısal anahtarı: küçük ID üst 32 bitte, büyük ID alt 32 bitte.
+ * Sabit uzunluklu tek BIGINT olduğu için (conversation_key, created_at, id) indeksinde aralık taraması yapılır.
+ * İstemciye dönen "küçük_büyük" metin ID'si aynı anahtardan türetilir ve değişmez.
+ */
+public final class ConversationKeys {
+
+    private static final long MAX_USER_ID = 0xFFFFFFFFL;
+
+    private ConversationKeys() {
+    }
+
+    public static long of(long userId1, long userId2) {
+        long minId = Math.min(userId1, userId2);
+        long maxId = Math.max(userId1, userId2);
+        if (minId < 0 || maxId > MAX_USER_ID) {
+            throw new IllegalArgumentException("Kullanıcı ID'si konuşma anahtarına sığmıyor: " + maxId);
+        }
+        return (minId << 32) | maxId;
+    }
+
+    // "küçük_büyük" metin ID'sinden anahtar; geçersizse -1
+    public static long parse(String conversationId) {
+        if (conversationId == null) return -1;
+        int separator = conversationId.indexOf('_');
+        if (separator <= 0 || separator != conversationId.lastIndexOf('_')) return -1;
+        try {
+            long userId1 = Long.parseLong(conversationId.substring(0, separator));
+            long userId2 = Long.parseLong(conversationId.substring(separator + 1));
+            if (userId1 > userId2 || userId1 < 0 || userId2 > MAX_USER_ID) return -1;
+            return (userId1 << 32) | userId2;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public static String format(long conversationKey) {
+        return firstUserId(conversationKey) + "_" + secondUserId(conversationKey);
+    }
+
+    public static long firstUserId(long conversationKey) {
+        return conversationKey >>> 32;
+    }
+
+    public static long secondUserId(long conversationKey) {
+        return conversationKey & MAX_USER_ID;
+    }
+
+    public static boolean hasParticipant(long conversationKey, long userId) {
+        return firstUserId(conversationKey) == userId || secondUserId(conversationKey) == userId;
+    }
+}
@@ -3,15 +3,21 @@ package com.hoaxify.ws.message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.hoaxify.ws.user.User;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ConversationRepository extends JpaRepository<Conversation, Long> {
 
-    // Konuşma ID'sine göre konuşma getir
+    // Konuşma anahtarına göre konuşma getir (tekil indeks)
+    Optional<Conversation> findByConversationKey(long conversationKey);
+
+    // Metin ID ile arama: sadece anahtar geçişi sürerken kullanılır
     Optional<Conversation> findByConversationId(String conversationId);
 
     // Kullanıcının tüm konuşmalarını getir
@@ -34,6 +40,24 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
            "FROM Conversation c WHERE c.user1.id = :userId OR c.user2.id = :userId")
     Long getTotalUnreadCount(@Param("userId") long userId);
 
-    // Kullanıcı silme için - user1 veya user2 olan tüm konuşmaları sil
-    void deleteByUser1OrUser2(User user1, User user2);
-} 
\ No newline at end of file
+    // Anahtar geçişi: anahtarı boş konuşmalar sınırlı gruplar halinde
+    @Query("SELECT c.id FROM Conversation c WHERE c.conversationKey IS NULL ORDER BY c.id")
+    List<Long> findIdsWithoutConversationKey(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Conversation c SET c.conversationKey = CASE WHEN c.user1.id < c.user2.id " +
+           "THEN c.user1.id * 4294967296L + c.user2.id ELSE c.user2.id * 4294967296L + c.user1.id END " +
+           "WHERE c.id IN (:ids) AND c.conversationKey IS NULL")
+    int assignConversationKeys(@Param("ids") Collection<Long> ids);
+
+    boolean existsByConversationKeyIsNull();
+
+    // Hesap silme işi: user1 veya user2 olduğu konuşmalar sınırlı gruplar halinde
+    @Query("SELECT c.id FROM Conversation c WHERE c.user1.id = :userId OR c.user2.id = :userId ORDER BY c.id")
+    List<Long> findIdsByParticipant(@Param("userId") long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Conversation c WHERE c.id IN (:ids)")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,5 +1,6 @@
 package com.hoaxify.ws.message;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.hoaxify.ws.user.User;
 
@@ -10,7 +11,9 @@ import jakarta.validation.constraints.Size;
 import java.util.Date;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+    @Index(name = "idx_messages_conversation_key_created_id", columnList = "conversation_key, created_at, id")
+})
 public class Message {
 
     @Id
@@ -22,6 +25,7 @@ public class Message {
     private String content;
 
     @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at")
     private Date createdAt = new Date();
 
     @ManyToOne(fetch = FetchType.EAGER)
@@ -42,6 +46,11 @@ public class Message {
     @Column(name = "conversation_id")
     private String conversationId;
 
+    // Sayısal konuşma anahtarı (ConversationKeys); geçiş tamamlanana kadar eski satırlarda boş olabilir
+    @JsonIgnore
+    @Column(name = "conversation_key")
+    private Long conversationKey;
+
     public Message() {
     }
 
@@ -49,14 +58,8 @@ public class Message {
         this.content = content;
         this.sender = sender;
         this.receiver = receiver;
-        this.conversationId = generateConversationId(sender.getId(), receiver.getId());
-    }
-
-    // İki kullanıcı arasında benzersiz konuşma ID'si oluştur
-    private String generateConversationId(long userId1, long userId2) {
-        long minId = Math.min(userId1, userId2);
-        long maxId = Math.max(userId1, userId2);
-        return minId + "_" + maxId;
+        this.conversationKey = ConversationKeys.of(sender.getId(), receiver.getId());
+        this.conversationId = ConversationKeys.format(conversationKey);
     }
 
     // Getters and Setters
@@ -115,4 +118,12 @@ public class Message {
     public void setConversationId(String conversationId) {
         this.conversationId = conversationId;
     }
+
+    public Long getConversationKey() {
+        return conversationKey;
+    }
+
+    public void setConversationKey(Long conversationKey) {
+        this.conversationKey = conversationKey;
+    }
 } 
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.hoaxify.ws.message;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.web.PageableDefault;
@@ -15,6 +14,8 @@ import org.springframework.web.bind.annotation.*;
 import com.hoaxify.ws.message.dto.MessageDTO;
 import com.hoaxify.ws.message.dto.ConversationResponseDTO;
 import com.hoaxify.ws.configuration.CurrentUser;
+import com.hoaxify.ws.shared.Cursor;
+import com.hoaxify.ws.shared.CursorSlice;
 import com.hoaxify.ws.user.User;
 import com.hoaxify.ws.user.UserService;
 
@@ -54,9 +55,11 @@ public class MessageController {
     // Belirli konuşmadaki mesajları getir
     @GetMapping("/conversations/{conversationId}/messages")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<Message>> getMessagesInConversation(
+    public ResponseEntity<CursorSlice<Message>> getMessagesInConversation(
             @PathVariable String conversationId,
             @PageableDefault(sort = "createdAt", direction = Direction.ASC) Pageable pageable,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
             @AuthenticationPrincipal CurrentUser currentUser) {
         
         // Kullanıcının bu konuşmaya erişim yetkisi var mı kontrol et
@@ -64,7 +67,7 @@ public class MessageController {
             return ResponseEntity.status(403).build();
         }
         
-        Page<Message> messages = messageService.getMessagesInConversation(conversationId, pageable);
+        CursorSlice<Message> messages = messageService.getMessagesInConversation(conversationId, pageable, Cursor.decode(before), Cursor.decode(after));
         
         // Mesajları okundu olarak işaretle
         messageService.markMessagesAsRead(conversationId, currentUser.getId());
@@ -75,15 +78,17 @@ public class MessageController {
     // İki kullanıcı arasındaki mesajları getir
     @GetMapping("/messages/with/{otherUserId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<Message>> getMessagesBetweenUsers(
+    public ResponseEntity<CursorSlice<Message>> getMessagesBetweenUsers(
             @PathVariable long otherUserId,
             @PageableDefault(sort = "createdAt", direction = Direction.ASC) Pageable pageable,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
             @AuthenticationPrincipal CurrentUser currentUser) {
         
-        Page<Message> messages = messageService.getMessagesBetweenUsers(currentUser.getId(), otherUserId, pageable);
+        CursorSlice<Message> messages = messageService.getMessagesBetweenUsers(currentUser.getId(), otherUserId, pageable, Cursor.decode(before), Cursor.decode(after));
         
         // Mesajları okundu olarak işaretle
-        String conversationId = generateConversationId(currentUser.getId(), otherUserId);
+        String conversationId = ConversationKeys.format(ConversationKeys.of(currentUser.getId(), otherUserId));
         messageService.markMessagesAsRead(conversationId, currentUser.getId());
         
         return ResponseEntity.ok(messages);
@@ -139,23 +144,7 @@ public class MessageController {
 
     // Helper methods
     private boolean hasAccessToConversation(String conversationId, long userId) {
-        String[] parts = conversationId.split("_");
-        if (parts.length != 2) {
-            return false;
-        }
-        
-        try {
-            long userId1 = Long.parseLong(parts[0]);
-            long userId2 = Long.parseLong(parts[1]);
-            return userId == userId1 || userId == userId2;
-        } catch (NumberFormatException e) {
-            return false;
-        }
-    }
-
-    private String generateConversationId(long userId1, long userId2) {
-        long minId = Math.min(userId1, userId2);
-        long maxId = Math.max(userId1, userId2);
-        return minId + "_" + maxId;
+        long conversationKey = ConversationKeys.parse(conversationId);
+        return conversationKey >= 0 && ConversationKeys.hasParticipant(conversationKey, userId);
     }
 } 
\ No newline at end of file
@@ -2,23 +2,61 @@ package com.hoaxify.ws.message;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.hoaxify.ws.user.User;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
     // İki kullanıcı arasındaki mesajları getir
-    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId ORDER BY m.createdAt ASC")
-    Page<Message> findByConversationId(@Param("conversationId") String conversationId, Pageable pageable);
+    @Query("SELECT m FROM Message m WHERE m.conversationKey = :conversationKey ORDER BY m.createdAt ASC, m.id ASC")
+    Page<Message> findByConversationKey(@Param("conversationKey") long conversationKey, Pageable pageable);
+
+    // Keyset sayfalama - imleçsiz ilk sayfa; (conversation_key, created_at, id) indeksinde aralık taraması, OFFSET yok
+    @Query("SELECT m FROM Message m WHERE m.conversationKey = :conversationKey ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findFirstInConversation(@Param("conversationKey") long conversationKey, Pageable pageable);
+
+    // Sayfa numarasıyla gelen istemciler için offset sayfalama - COUNT sorgusu çalıştırmaz
+    @Query("SELECT m FROM Message m WHERE m.conversationKey = :conversationKey ORDER BY m.createdAt ASC, m.id ASC")
+    Slice<Message> findSliceByConversationKey(@Param("conversationKey") long conversationKey, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.conversationKey = :conversationKey AND " +
+           "(m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findInConversationAfter(@Param("conversationKey") long conversationKey, @Param("createdAt") Date createdAt, @Param("id") long id, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.conversationKey = :conversationKey AND " +
+           "(m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findInConversationBefore(@Param("conversationKey") long conversationKey, @Param("createdAt") Date createdAt, @Param("id") long id, Pageable pageable);
 
     // İki kullanıcı arasındaki mesajları getir (list olarak)
-    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId ORDER BY m.createdAt ASC")
-    List<Message> findByConversationIdOrderByCreatedAt(@Param("conversationId") String conversationId);
+    @Query("SELECT m FROM Message m WHERE m.conversationKey = :conversationKey ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findByConversationKeyOrderByCreatedAt(@Param("conversationKey") long conversationKey);
+
+    // Metin konuşma ID'si ile okuma: sadece anahtar geçişi sürerken kullanılır (ConversationKeyMigration)
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findFirstInConversationId(@Param("conversationId") String conversationId, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId ORDER BY m.createdAt ASC, m.id ASC")
+    Slice<Message> findSliceByConversationId(@Param("conversationId") String conversationId, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId AND " +
+           "(m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findInConversationIdAfter(@Param("conversationId") String conversationId, @Param("createdAt") Date createdAt, @Param("id") long id, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId AND " +
+           "(m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findInConversationIdBefore(@Param("conversationId") String conversationId, @Param("createdAt") Date createdAt, @Param("id") long id, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.conversationId = :conversationId AND m.receiver.id = :receiverId AND m.isRead = false")
+    int markMessagesAsReadByConversationId(@Param("conversationId") String conversationId, @Param("receiverId") long receiverId);
 
     // Bir kullanıcının gönderdiği mesajlar
     @Query("SELECT m FROM Message m WHERE m.sender.id = :senderId ORDER BY m.createdAt DESC")
@@ -30,21 +68,39 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
 
     // Okunmamış mesajları işaretle
     @Modifying
-    @Query("UPDATE Message m SET m.isRead = true WHERE m.conversationId = :conversationId AND m.receiver.id = :receiverId AND m.isRead = false")
-    int markMessagesAsRead(@Param("conversationId") String conversationId, @Param("receiverId") long receiverId);
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.conversationKey = :conversationKey AND m.receiver.id = :receiverId AND m.isRead = false")
+    int markMessagesAsRead(@Param("conversationKey") long conversationKey, @Param("receiverId") long receiverId);
 
     // Okunmamış mesaj sayısı
     @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver.id = :receiverId AND m.isRead = false")
     long countUnreadMessages(@Param("receiverId") long receiverId);
 
     // Belirli konuşmadaki okunmamış mesaj sayısı
-    @Query("SELECT COUNT(m) FROM Message m WHERE m.conversationId = :conversationId AND m.receiver.id = :receiverId AND m.isRead = false")
-    long countUnreadMessagesInConversation(@Param("conversationId") String conversationId, @Param("receiverId") long receiverId);
+    @Query("SELECT COUNT(m) FROM Message m WHERE m.conversationKey = :conversationKey AND m.receiver.id = :receiverId AND m.isRead = false")
+    long countUnreadMessagesInConversation(@Param("conversationKey") long conversationKey, @Param("receiverId") long receiverId);
 
     // En son mesajı getir
-    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId ORDER BY m.createdAt DESC")
-    List<Message> findLatestMessageInConversation(@Param("conversationId") String conversationId, Pageable pageable);
+    @Query("SELECT m FROM Message m WHERE m.conversationKey = :conversationKey ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findLatestMessageInConversation(@Param("conversationKey") long conversationKey, Pageable pageable);
 
-    // Kullanıcı silme için - gönderdiği veya aldığı tüm mesajları sil
-    void deleteBySenderOrReceiver(User sender, User receiver);
-} 
\ No newline at end of file
+    // Anahtar geçişi: anahtarı boş satırlar sınırlı gruplar halinde, anahtar gönderen/alıcı ID'lerinden hesaplanır
+    @Query("SELECT m.id FROM Message m WHERE m.conversationKey IS NULL ORDER BY m.id")
+    List<Long> findIdsWithoutConversationKey(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Message m SET m.conversationKey = CASE WHEN m.sender.id < m.receiver.id " +
+           "THEN m.sender.id * 4294967296L + m.receiver.id ELSE m.receiver.id * 4294967296L + m.sender.id END " +
+           "WHERE m.id IN (:ids) AND m.conversationKey IS NULL")
+    int assignConversationKeys(@Param("ids") Collection<Long> ids);
+
+    boolean existsByConversationKeyIsNull();
+
+    // Hesap silme işi: gönderdiği veya aldığı mesajlar sınırlı gruplar halinde
+    @Query("SELECT m.id FROM Message m WHERE m.sender.id = :userId OR m.receiver.id = :userId ORDER BY m.id")
+    List<Long> findIdsByParticipant(@Param("userId") long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Message m WHERE m.id IN (:ids)")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
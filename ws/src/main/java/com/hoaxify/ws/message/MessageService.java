@@ -9,6 +9,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.hoaxify.ws.message.dto.MessageDTO;
 import com.hoaxify.ws.message.dto.ConversationResponseDTO;
+import com.hoaxify.ws.shared.Cursor;
+import com.hoaxify.ws.shared.CursorSlice;
 import com.hoaxify.ws.user.User;
 import com.hoaxify.ws.user.UserService;
 
@@ -28,6 +30,9 @@ public class MessageService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ConversationKeyMigration conversationKeyMigration;
+
     // Mesaj gönder
     @Transactional
     public Message sendMessage(MessageDTO messageDTO, User sender) {
@@ -43,15 +48,53 @@ public class MessageService {
         return savedMessage;
     }
 
-    // Konuşmadaki mesajları getir
-    public Page<Message> getMessagesInConversation(String conversationId, Pageable pageable) {
-        return messageRepository.findByConversationId(conversationId, pageable);
+    // Konuşmadaki mesajları getir (eskiden yeniye, COUNT sorgusu olmadan)
+    // before: daha eski mesajlar (yukarı kaydırma), after: daha yeni mesajlar
+    public CursorSlice<Message> getMessagesInConversation(String conversationId, Pageable pageable, Cursor before, Cursor after) {
+        long conversationKey = ConversationKeys.parse(conversationId);
+        if (conversationKey < 0) {
+            return CursorSlice.of(List.of(), pageable.getPageSize(), false, false, MessageService::cursorOf);
+        }
+        return getMessagesInConversation(conversationKey, pageable, before, after);
+    }
+
+    private CursorSlice<Message> getMessagesInConversation(long conversationKey, Pageable pageable, Cursor before, Cursor after) {
+        int size = pageable.getPageSize();
+        // Anahtar geçişi sürerken eski satırlar sadece metin ID ile bulunur
+        boolean byKey = conversationKeyMigration.isComplete();
+        String conversationId = ConversationKeys.format(conversationKey);
+        if (before != null) {
+            List<Message> messages = byKey
+                ? messageRepository.findInConversationBefore(conversationKey, before.createdAtDate(), before.id(), PageRequest.of(0, size + 1))
+                : messageRepository.findInConversationIdBefore(conversationId, before.createdAtDate(), before.id(), PageRequest.of(0, size + 1));
+            return CursorSlice.of(messages, size, true, false, MessageService::cursorOf);
+        }
+        if (after != null) {
+            List<Message> messages = byKey
+                ? messageRepository.findInConversationAfter(conversationKey, after.createdAtDate(), after.id(), PageRequest.of(0, size + 1))
+                : messageRepository.findInConversationIdAfter(conversationId, after.createdAtDate(), after.id(), PageRequest.of(0, size + 1));
+            return CursorSlice.of(messages, size, false, false, MessageService::cursorOf);
+        }
+        if (pageable.getPageNumber() == 0) {
+            List<Message> messages = byKey
+                ? messageRepository.findFirstInConversation(conversationKey, PageRequest.of(0, size + 1))
+                : messageRepository.findFirstInConversationId(conversationId, PageRequest.of(0, size + 1));
+            return CursorSlice.of(messages, size, false, false, MessageService::cursorOf);
+        }
+        // İmleç göndermeyen eski istemciler: offset; sıralama sorguda sabit, istekten gelen sort yok sayılır
+        PageRequest page = PageRequest.of(pageable.getPageNumber(), size);
+        return CursorSlice.of(byKey
+            ? messageRepository.findSliceByConversationKey(conversationKey, page)
+            : messageRepository.findSliceByConversationId(conversationId, page), false, MessageService::cursorOf);
+    }
+
+    public CursorSlice<Message> getMessagesInConversation(String conversationId, Pageable pageable) {
+        return getMessagesInConversation(conversationId, pageable, null, null);
     }
 
     // İki kullanıcı arasındaki mesajları getir
-    public Page<Message> getMessagesBetweenUsers(long userId1, long userId2, Pageable pageable) {
-        String conversationId = generateConversationId(userId1, userId2);
-        return messageRepository.findByConversationId(conversationId, pageable);
+    public CursorSlice<Message> getMessagesBetweenUsers(long userId1, long userId2, Pageable pageable, Cursor before, Cursor after) {
+        return getMessagesInConversation(ConversationKeys.of(userId1, userId2), pageable, before, after);
     }
 
     // Kullanıcının konuşmalarını getir
@@ -67,11 +110,15 @@ public class MessageService {
     // Mesajları okundu olarak işaretle
     @Transactional
     public void markMessagesAsRead(String conversationId, long userId) {
-        int updatedCount = messageRepository.markMessagesAsRead(conversationId, userId);
+        long conversationKey = ConversationKeys.parse(conversationId);
+        if (conversationKey < 0) return;
+        int updatedCount = conversationKeyMigration.isComplete()
+            ? messageRepository.markMessagesAsRead(conversationKey, userId)
+            : messageRepository.markMessagesAsReadByConversationId(conversationId, userId);
         
         // Konuşmadaki okunmamış sayacını sıfırla
         if (updatedCount > 0) {
-            updateConversationUnreadCount(conversationId, userId, 0);
+            updateConversationUnreadCount(conversationKey, userId, 0);
         }
     }
 
@@ -80,25 +127,30 @@ public class MessageService {
         return messageRepository.countUnreadMessages(userId);
     }
 
-    // Konuşma ID'si oluştur
-    private String generateConversationId(long userId1, long userId2) {
-        long minId = Math.min(userId1, userId2);
-        long maxId = Math.max(userId1, userId2);
-        return minId + "_" + maxId;
+    private static Cursor cursorOf(Message message) {
+        return Cursor.of(message.getCreatedAt(), message.getId());
+    }
+
+    // Geçiş sürerken eski konuşmanın anahtarı henüz boş olabilir, metin ID ile aranır
+    private Optional<Conversation> findConversation(long conversationKey) {
+        if (conversationKeyMigration.isComplete()) {
+            return conversationRepository.findByConversationKey(conversationKey);
+        }
+        return conversationRepository.findByConversationId(ConversationKeys.format(conversationKey));
     }
 
     // Konuşmayı güncelle veya oluştur
     @Transactional
     private void updateOrCreateConversation(Message message) {
-        String conversationId = message.getConversationId();
-        Optional<Conversation> existingConversation = conversationRepository.findByConversationId(conversationId);
+        long conversationKey = message.getConversationKey();
+        Optional<Conversation> existingConversation = findConversation(conversationKey);
         
         Conversation conversation;
         if (existingConversation.isPresent()) {
             conversation = existingConversation.get();
         } else {
             // Yeni konuşma oluştur
-            conversation = new Conversation(conversationId, message.getSender(), message.getReceiver());
+            conversation = new Conversation(conversationKey, message.getSender(), message.getReceiver());
         }
         
         // Konuşma bilgilerini güncelle
@@ -118,8 +170,8 @@ public class MessageService {
 
     // Konuşmadaki okunmamış sayacını güncelle
     @Transactional
-    private void updateConversationUnreadCount(String conversationId, long userId, int count) {
-        Optional<Conversation> conversationOpt = conversationRepository.findByConversationId(conversationId);
+    private void updateConversationUnreadCount(long conversationKey, long userId, int count) {
+        Optional<Conversation> conversationOpt = findConversation(conversationKey);
         if (conversationOpt.isPresent()) {
             Conversation conversation = conversationOpt.get();
             
@@ -135,16 +187,19 @@ public class MessageService {
 
     // Belirli bir konuşmayı getir
     public Optional<Conversation> getConversation(String conversationId) {
-        return conversationRepository.findByConversationId(conversationId);
+        long conversationKey = ConversationKeys.parse(conversationId);
+        if (conversationKey < 0) return Optional.empty();
+        return findConversation(conversationKey);
     }
 
     // İki kullanıcı arasında konuşma başlat
     @Transactional
     public String startConversation(long userId1, long userId2) {
-        String conversationId = generateConversationId(userId1, userId2);
+        long conversationKey = ConversationKeys.of(userId1, userId2);
+        String conversationId = ConversationKeys.format(conversationKey);
         
         // Konuşma zaten var mı kontrol et
-        Optional<Conversation> existingConversation = conversationRepository.findByConversationId(conversationId);
+        Optional<Conversation> existingConversation = findConversation(conversationKey);
         if (existingConversation.isPresent()) {
             return conversationId;
         }
@@ -153,7 +208,7 @@ public class MessageService {
         User user1 = userService.getUserById(userId1);
         User user2 = userService.getUserById(userId2);
         
-        Conversation conversation = new Conversation(conversationId, user1, user2);
+        Conversation conversation = new Conversation(conversationKey, user1, user2);
         conversationRepository.save(conversation);
         
         return conversationId;
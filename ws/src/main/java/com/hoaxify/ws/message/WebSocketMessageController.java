@@ -1,5 +1,7 @@
 package com.hoaxify.ws.message;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -20,6 +22,8 @@ import jakarta.validation.Valid;
 @CrossOrigin(origins = "*")
 public class WebSocketMessageController {
 
+    private static final Logger log = LoggerFactory.getLogger(WebSocketMessageController.class);
+
     @Autowired
     private MessageService messageService;
 
@@ -38,7 +42,7 @@ public class WebSocketMessageController {
             String username = (String) headerAccessor.getSessionAttributes().get("username");
             
             if (userId == null) {
-                System.err.println("WebSocket: Kullanıcı kimliği bulunamadı");
+                log.error("WebSocket: Kullanıcı kimliği bulunamadı");
                 return;
             }
 
@@ -75,11 +79,10 @@ public class WebSocketMessageController {
                 response
             );
 
-            System.out.println("WebSocket mesaj gönderildi: " + savedMessage.getContent());
+            log.debug("WebSocket mesaj gönderildi: {}", savedMessage.getContent());
 
         } catch (Exception e) {
-            System.err.println("WebSocket mesaj gönderme hatası: " + e.getMessage());
-            e.printStackTrace();
+            log.error("WebSocket mesaj gönderme hatası", e);
         }
     }
 
@@ -99,10 +102,10 @@ public class WebSocketMessageController {
                     new ReadStatusUpdate(conversationId, userId)
                 );
                 
-                System.out.println("Kullanıcı " + userId + " konuşmaya katıldı: " + conversationId);
+                log.debug("Kullanıcı {} konuşmaya katıldı: {}", userId, conversationId);
             }
         } catch (Exception e) {
-            System.err.println("Konuşmaya katılma hatası: " + e.getMessage());
+            log.error("Konuşmaya katılma hatası: {}", e.getMessage());
         }
     }
 
@@ -120,10 +123,10 @@ public class WebSocketMessageController {
                     new UserStatusUpdate(userId, username, true)
                 );
                 
-                System.out.println("Kullanıcı çevrimiçi: " + username);
+                log.debug("Kullanıcı çevrimiçi: {}", username);
             }
         } catch (Exception e) {
-            System.err.println("Kullanıcı ekleme hatası: " + e.getMessage());
+            log.error("Kullanıcı ekleme hatası: {}", e.getMessage());
         }
     }
 
@@ -0,0 +1,30 @@
+package com.hoaxify.ws.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1")
+public class MetricsController {
+
+    @Autowired
+    List<MetricsSource> sources;
+
+    @GetMapping("/metrics")
+    // İç önbellek ve token istatistikleri: sadece hoaxify.auth.admin-user-ids içindeki kullanıcılar
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        for (MetricsSource source : sources) {
+            metrics.put(source.getMetricsName(), source.getMetrics());
+        }
+        return metrics;
+    }
+}
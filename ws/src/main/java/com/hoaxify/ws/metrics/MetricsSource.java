@@ -0,0 +1,11 @@
+package com.hoaxify.ws.metrics;
+
+import java.util.Map;
+
+// /api/v1/metrics altında raporlanan bileşenler bu arayüzü uygular
+public interface MetricsSource {
+
+    String getMetricsName();
+
+    Map<String, Object> getMetrics();
+}
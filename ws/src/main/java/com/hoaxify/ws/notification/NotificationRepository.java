@@ -1,11 +1,13 @@
 package com.hoaxify.ws.notification;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -35,9 +37,6 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     // Kullanıcının tüm bildirimleri
     List<Notification> findByTargetUser(User targetUser);
-    
-    // Kullanıcının gönderdiği tüm bildirimler
-    List<Notification> findBySourceUser(User sourceUser);
 
     // Post silme durumunda ilgili bildirimleri temizlemek için
     List<Notification> findByPostId(Long postId);
@@ -48,4 +47,13 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
         User sourceUser, 
         User targetUser
     );
-} 
\ No newline at end of file
+
+    // Hesap silme işi: kullanıcının aldığı/gönderdiği ve gönderilerine ait bildirimler
+    @Query("SELECT n.id FROM Notification n WHERE n.sourceUser.id = :userId OR n.targetUser.id = :userId " +
+           "OR n.postId IN (SELECT p.id FROM Post p WHERE p.user.id = :userId) ORDER BY n.id")
+    List<Long> findIdsForAccountDeletion(@Param("userId") long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN (:ids)")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
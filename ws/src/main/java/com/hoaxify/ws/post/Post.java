@@ -14,9 +14,16 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_created_id", columnList = "created_at, id"),
+    @Index(name = "idx_posts_user_created_id", columnList = "user_id, created_at, id")
+})
 public class Post {
 
+    // mediaKinds bitleri
+    public static final int MEDIA_IMAGE = 1;
+    public static final int MEDIA_VIDEO = 2;
+
     @Id
     @GeneratedValue
     private long id;
@@ -26,6 +33,7 @@ public class Post {
     private String content;
 
     @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at")
     private Date createdAt = new Date();
 
     @Temporal(TemporalType.TIMESTAMP)
@@ -44,10 +52,18 @@ public class Post {
     @JsonIgnore
     private List<Comment> comments;
 
+    // Sayaçlar sadece CounterService'in atomik UPDATE'leriyle değişir, entity kaydıyla ezilmez
+    @Column(updatable = false)
     private int likeCount = 0;
     
+    @Column(updatable = false)
     private int commentCount = 0;
 
+    // Eklerdeki medya türleri (MEDIA_IMAGE | MEDIA_VIDEO), ek kaydedilirken güncellenir.
+    // Medya sekmesi bu alanla (user_id, created_at) indeksi üzerinden okunur. null: henüz hesaplanmamış eski kayıt
+    @JsonIgnore
+    private Integer mediaKinds = 0;
+
     // Kullanıcının bu gönderiyi beğenip beğenmediğini gösterir (veritabanında saklanmaz)
     @Transient
     private boolean liked = false;
@@ -132,6 +148,22 @@ public class Post {
         this.commentCount = commentCount;
     }
 
+    public Integer getMediaKinds() {
+        return mediaKinds;
+    }
+
+    public void setMediaKinds(Integer mediaKinds) {
+        this.mediaKinds = mediaKinds;
+    }
+
+    // Dosya türünün medya biti (medya değilse 0)
+    public static int mediaKindOf(String fileType) {
+        if (fileType == null) return 0;
+        if (fileType.startsWith("image/")) return MEDIA_IMAGE;
+        if (fileType.startsWith("video/")) return MEDIA_VIDEO;
+        return 0;
+    }
+
     public boolean isLiked() {
         return liked;
     }
@@ -2,6 +2,8 @@ package com.hoaxify.ws.post;
 
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,8 +11,6 @@ import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,10 +21,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.hoaxify.ws.logging.LogMarkers;
 import com.hoaxify.ws.post.dto.PostSubmitDTO;
+import com.hoaxify.ws.post.dto.PostView;
 import com.hoaxify.ws.shared.CurrentUser;
+import com.hoaxify.ws.shared.Cursor;
+import com.hoaxify.ws.shared.CursorSlice;
 import com.hoaxify.ws.user.User;
-import com.hoaxify.ws.user.UserService;
 
 import jakarta.validation.Valid;
 
@@ -32,71 +35,38 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/v1")
 public class PostController {
 
+    private static final Logger log = LoggerFactory.getLogger(PostController.class);
+
     @Autowired
     PostService postService;
-    
-    @Autowired
-    UserService userService;
 
+    // before/after: önceki yanıttaki beforeCursor/afterCursor değerleri (keyset sayfalama)
     @GetMapping("/posts")
-    public Page<Post> getPosts(@PageableDefault(sort = "createdAt", direction = Direction.DESC) Pageable pageable, 
+    public CursorSlice<PostView> getPosts(@PageableDefault(sort = "createdAt", direction = Direction.DESC) Pageable pageable, 
+                              @RequestParam(required = false) String before,
+                              @RequestParam(required = false) String after,
                               @CurrentUser User currentUser) {
         try {
-            System.out.println("PostController.getPosts çağrıldı: " + pageable);
-            
-            // Eğer currentUser null ise Security Context'ten almaya çalış
-            if (currentUser == null) {
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                if (authentication != null && authentication.isAuthenticated() && 
-                    !"anonymousUser".equals(authentication.getName()) &&
-                    authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                    com.hoaxify.ws.configuration.CurrentUser authUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                    currentUser = userService.getUserById(authUser.getId());
-                    System.out.println("PostController: Security Context'ten kullanıcı alındı - ID=" + currentUser.getId());
-                } else {
-                    System.out.println("PostController: Kullanıcı oturum açmamış, beğeni durumu gösterilmeyecek");
-                }
-            } else {
-                System.out.println("PostController: CurrentUser anotasyonu ile kullanıcı alındı - ID=" + currentUser.getId());
-            }
-            
-            // İstek hakkında daha fazla bilgi logla
-            System.out.println("Sayfa: " + pageable.getPageNumber() + ", Boyut: " + pageable.getPageSize() + 
-                ", Sıralama: " + pageable.getSort());
-            
-            // İsteği işle
-            Page<Post> posts = postService.getPosts(pageable, currentUser);
+            CursorSlice<PostView> posts = postService.getPosts(pageable, Cursor.decode(before), Cursor.decode(after), currentUser);
             
             // Yanıt hakkında bilgi logla
-            System.out.println("Yanıt: " + posts.getNumberOfElements() + " gönderi, Toplam: " + 
-                posts.getTotalElements() + ", Toplam Sayfa: " + posts.getTotalPages());
+            log.debug(LogMarkers.SAMPLED, "getPosts - {}, yanıt: {} gönderi, devamı var: {}", pageable, posts.getNumberOfElements(), posts.hasNext());
             
             return posts;
         } catch (Exception e) {
-            System.err.println("PostController - Gönderiler alınırken hata: " + e.getMessage());
-            System.err.println("İstisna sınıfı: " + e.getClass().getName());
-            e.printStackTrace();
+            log.error("Gönderiler alınırken hata", e);
             throw e;
         }
     }
 
     @GetMapping("/users/{userId}/posts")
-    public Page<Post> getUserPosts(@PathVariable long userId,
+    public CursorSlice<PostView> getUserPosts(@PathVariable long userId,
             @PageableDefault(sort = "createdAt", direction = Direction.DESC) Pageable pageable,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
             @CurrentUser User currentUser) {
         
-        // Eğer currentUser null ise Security Context'ten almaya çalış
-        if (currentUser == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated() && 
-                !"anonymousUser".equals(authentication.getName()) &&
-                authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                com.hoaxify.ws.configuration.CurrentUser authUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                currentUser = userService.getUserById(authUser.getId());
-            }
-        }
-        
-        return postService.getPostsOfUser(userId, pageable, currentUser);
+        return postService.getPostsOfUser(userId, pageable, Cursor.decode(before), Cursor.decode(after), currentUser);
     }
 
     @PostMapping("/posts")
@@ -105,38 +75,22 @@ public class PostController {
             @RequestParam(name = "attachments", required = false) List<MultipartFile> attachments) {
         
         try {
-            if (user == null) {
-                // Security context'ten kullanıcıyı almayı deneyelim
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                if (authentication != null && authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                    com.hoaxify.ws.configuration.CurrentUser currentUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                    user = userService.getUserById(currentUser.getId());
-                    
-                    System.out.println("PostController: Token'dan kullanıcı alındı - ID=" + user.getId() + ", Username=" + user.getUsername());
-                } else {
-                    System.out.println("PostController: Kullanıcı bulunamadı veya oturum açılmamış!");
-                    throw new RuntimeException("Kullanıcı bilgileri alınamadı. Lütfen tekrar giriş yapın.");
-                }
-            } else {
-                System.out.println("PostController: CurrentUser anotasyonu ile kullanıcı alındı - ID=" + user.getId() + ", Username=" + user.getUsername());
-            }
-            
             // Content ve attachment validasyonu
             String content = post.getContent();
             boolean hasContent = content != null && !content.trim().isEmpty();
             boolean hasAttachments = attachments != null && !attachments.isEmpty();
             
-            System.out.println("PostController: Content kontrolü - hasContent: " + hasContent + ", hasAttachments: " + hasAttachments);
-            System.out.println("PostController: Content değeri: '" + content + "'");
+            // Gönderi metni loglanmaz, sadece uzunluğu
+            log.debug("Content kontrolü - hasContent: {}, uzunluk: {}, hasAttachments: {}", hasContent, content == null ? 0 : content.length(), hasAttachments);
             
             if (!hasContent && !hasAttachments) {
-                System.err.println("PostController: Hem content hem attachment boş!");
+                log.debug("Hem content hem attachment boş!");
                 throw new RuntimeException("Gönderi oluşturmak için en az metin veya dosya eklemelisiniz.");
             }
             
             // Dosya validasyonu
             if (attachments != null && !attachments.isEmpty()) {
-                System.out.println("PostController: " + attachments.size() + " dosya yükleniyor");
+                log.debug("{} dosya yükleniyor", attachments.size());
                 
                 for (MultipartFile file : attachments) {
                     // Dosya boyutu kontrolü
@@ -173,62 +127,39 @@ public class PostController {
                     
                     // iPhone HEIC/HEIF için özel log
                     if (filename.endsWith(".heic") || filename.endsWith(".heif")) {
-                        System.out.println("iPhone HEIC/HEIF dosyası kabul edildi: " + file.getOriginalFilename());
+                        log.debug("iPhone HEIC/HEIF dosyası kabul edildi: {}", file.getOriginalFilename());
                     }
                     
                     // Video için özel kontroller
                     if (contentType != null && contentType.startsWith("video/")) {
-                        System.out.println("Video dosyası yükleniyor: " + file.getOriginalFilename() + 
-                            " (" + (file.getSize() / 1024 / 1024) + "MB)");
+                        log.debug("Video dosyası yükleniyor: {} ({}MB)", file.getOriginalFilename(), (file.getSize() / 1024 / 1024));
                     }
                     
-                    System.out.println("Dosya kabul edildi: " + file.getOriginalFilename() + 
-                        " (Tip: " + contentType + ", Boyut: " + (file.getSize() / 1024 / 1024) + "MB)");
+                    log.debug("Dosya kabul edildi: {} (Tip: {}, Boyut: {}MB)", file.getOriginalFilename(), contentType, (file.getSize() / 1024 / 1024));
                 }
             }
             
             return postService.createPost(post, user, attachments);
         } catch (Exception e) {
-            System.err.println("PostController - Gönderi oluşturulurken hata: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Gönderi oluşturulurken hata", e);
             throw e;
         }
     }
 
     @GetMapping("/posts/{id}")
-    public Post getPostById(@PathVariable long id) {
-        return postService.getPostById(id);
+    public PostView getPostById(@PathVariable long id) {
+        return postService.getPostView(id, null);
     }
 
     @PutMapping("/posts/{id}")
     @PreAuthorize("isAuthenticated()")
     public Post updatePost(@PathVariable long id, @Valid PostSubmitDTO postUpdate, @CurrentUser User loggedInUser) {
-        if (loggedInUser == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                com.hoaxify.ws.configuration.CurrentUser currentUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                loggedInUser = userService.getUserById(currentUser.getId());
-            } else {
-                throw new RuntimeException("Kullanıcı bilgileri alınamadı. Lütfen tekrar giriş yapın.");
-            }
-        }
-        
         return postService.updatePost(id, postUpdate, loggedInUser);
     }
 
     @DeleteMapping("/posts/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> deletePost(@PathVariable long id, @CurrentUser User loggedInUser) {
-        if (loggedInUser == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                com.hoaxify.ws.configuration.CurrentUser currentUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                loggedInUser = userService.getUserById(currentUser.getId());
-            } else {
-                throw new RuntimeException("Kullanıcı bilgileri alınamadı. Lütfen tekrar giriş yapın.");
-            }
-        }
-        
         postService.deletePost(id, loggedInUser);
         return ResponseEntity.ok().build();
     }
@@ -236,16 +167,6 @@ public class PostController {
     @PostMapping("/posts/{id}/like")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> likePost(@PathVariable long id, @CurrentUser User user) {
-        if (user == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                com.hoaxify.ws.configuration.CurrentUser currentUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                user = userService.getUserById(currentUser.getId());
-            } else {
-                throw new RuntimeException("Kullanıcı bilgileri alınamadı. Lütfen tekrar giriş yapın.");
-            }
-        }
-        
         boolean liked = postService.toggleLike(id, user);
         
         // Frontend için response
@@ -257,40 +178,18 @@ public class PostController {
     }
 
     @GetMapping("/users/{userId}/liked-posts")
-    public Page<Post> getLikedPosts(@PathVariable long userId,
+    public Page<PostView> getLikedPosts(@PathVariable long userId,
             @PageableDefault(sort = "createdAt", direction = Direction.DESC) Pageable pageable,
             @CurrentUser User currentUser) {
             
-        // Eğer currentUser null ise Security Context'ten almaya çalış
-        if (currentUser == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated() && 
-                !"anonymousUser".equals(authentication.getName()) &&
-                authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                com.hoaxify.ws.configuration.CurrentUser authUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                currentUser = userService.getUserById(authUser.getId());
-            }
-        }
-        
         return postService.getLikedPostsByUser(userId, pageable, currentUser);
     }
 
     @GetMapping("/users/{userId}/media-posts")
-    public Page<Post> getMediaPosts(@PathVariable long userId,
+    public Page<PostView> getMediaPosts(@PathVariable long userId,
             @PageableDefault(sort = "createdAt", direction = Direction.DESC) Pageable pageable,
             @CurrentUser User currentUser) {
             
-        // Eğer currentUser null ise Security Context'ten almaya çalış
-        if (currentUser == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated() && 
-                !"anonymousUser".equals(authentication.getName()) &&
-                authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser) {
-                com.hoaxify.ws.configuration.CurrentUser authUser = (com.hoaxify.ws.configuration.CurrentUser) authentication.getPrincipal();
-                currentUser = userService.getUserById(authUser.getId());
-            }
-        }
-        
         return postService.getMediaPostsByUser(userId, pageable, currentUser);
     }
 } 
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.hoaxify.ws.post;
 
+import java.util.Date;
+
 import com.hoaxify.ws.user.User;
 
 import jakarta.persistence.*;
@@ -20,6 +22,10 @@ public class PostLike {
     @JoinColumn(name = "user_id")
     private User user;
 
+    // Trend skorlarını yeniden oluşturmak için beğeni zamanı (eski kayıtlarda boş olabilir)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt = new Date();
+
     public PostLike() {}
 
     public PostLike(Post post, User user) {
@@ -50,4 +56,12 @@ public class PostLike {
     public void setUser(User user) {
         this.user = user;
     }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
 } 
\ No newline at end of file
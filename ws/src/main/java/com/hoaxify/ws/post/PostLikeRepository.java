@@ -1,21 +1,47 @@
 package com.hoaxify.ws.post;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.hoaxify.ws.user.User;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     
     Optional<PostLike> findByPostAndUser(Post post, User user);
     
-    boolean existsByPostAndUser(Post post, User user);
+    // Sayfadaki gönderilerden kullanıcının beğendiklerinin ID'leri - tek sorgu
+    @Query("SELECT pl.post.id FROM PostLike pl WHERE pl.post.id IN (:postIds) AND pl.user = :user")
+    List<Long> findLikedPostIds(@Param("postIds") Collection<Long> postIds, @Param("user") User user);
     
     long countByPost(Post post);
+
+    // Profil sayacı: kullanıcının beğendiği gönderi sayısı
+    @Query("SELECT COUNT(pl) FROM PostLike pl WHERE pl.user.id = :userId")
+    long countByUserId(@Param("userId") long userId);
+
+    // Trend skorları için [postId, beğeni zamanı] - zamanı olmayan eski beğenilerde gönderi zamanı kullanılır
+    @Query("SELECT pl.post.id, COALESCE(pl.createdAt, p.createdAt) FROM PostLike pl JOIN pl.post p WHERE COALESCE(pl.createdAt, p.createdAt) >= :since")
+    List<Object[]> findLikeEventsSince(@Param("since") Date since);
     
     void deleteByPostAndUser(Post post, User user);
-    
-    void deleteByPost(Post post);
-    
-    void deleteByUser(User user);
-} 
\ No newline at end of file
+
+    // Hesap silme işi: kullanıcının beğenileri [id, postId, beğeni zamanı]
+    @Query("SELECT pl.id, p.id, COALESCE(pl.createdAt, p.createdAt) FROM PostLike pl JOIN pl.post p WHERE pl.user.id = :userId ORDER BY pl.id")
+    List<Object[]> findIdsByUserId(@Param("userId") long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PostLike pl WHERE pl.id IN (:ids)")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM PostLike pl WHERE pl.post.id IN (:postIds)")
+    int deleteByPostIds(@Param("postIds") Collection<Long> postIds);
+}
@@ -2,11 +2,17 @@ package com.hoaxify.ws.post;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.hoaxify.ws.post.dto.PostView;
 import com.hoaxify.ws.user.User;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
@@ -15,24 +21,110 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     
     List<Post> findByUser(User user);
     
-    void deleteByUser(User user);
-    
     Page<Post> findAll(Pageable pageable);
 
+    // Sayaç farkları - okuma-değiştir-yaz yerine atomik artırım (CounterService)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.likeCount = CASE WHEN p.likeCount + :delta < 0 THEN 0 ELSE p.likeCount + :delta END WHERE p.id IN (:ids)")
+    int addToLikeCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.commentCount = CASE WHEN p.commentCount + :delta < 0 THEN 0 ELSE p.commentCount + :delta END WHERE p.id IN (:ids)")
+    int addToCommentCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    // Liste sorguları PostView döner: tek JOIN, yazarın sadece özet alanları (banner/bio vb. çekilmez)
+    String VIEW_SELECT = "SELECT new com.hoaxify.ws.post.dto.PostView(p.id, p.content, p.createdAt, p.timestamp, " +
+                         "p.likeCount, p.commentCount, u.id, u.username, u.image) FROM Post p JOIN p.user u ";
+
+    // Keyset sayfalama - imleçsiz ilk sayfa: (created_at, id) indeksinin başından, OFFSET yok
+    @Query(VIEW_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostView> findLatestViews(Pageable pageable);
+
+    // Sayfa numarasıyla gelen istemciler için offset sayfalama - COUNT sorgusu çalıştırmaz
+    @Query(VIEW_SELECT)
+    Slice<PostView> findViewSlice(Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostView> findViewsOlderThan(@Param("createdAt") Date createdAt, @Param("id") long id, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id) ORDER BY p.createdAt ASC, p.id ASC")
+    List<PostView> findViewsNewerThan(@Param("createdAt") Date createdAt, @Param("id") long id, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE p.user = :user ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostView> findLatestViewsByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE p.user = :user")
+    Slice<PostView> findViewSliceByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE p.user = :user AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostView> findViewsByUserOlderThan(@Param("user") User user, @Param("createdAt") Date createdAt, @Param("id") long id, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE p.user = :user AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id)) ORDER BY p.createdAt ASC, p.id ASC")
+    List<PostView> findViewsByUserNewerThan(@Param("user") User user, @Param("createdAt") Date createdAt, @Param("id") long id, Pageable pageable);
+
+    // Zaman akışı için - kullanıcının son gönderileri
+    List<Post> findByUserIdOrderByCreatedAtDesc(long userId, Pageable pageable);
+
+    // Zaman akışı için - kutudaki gönderi ID'lerinin görünümleri
+    @Query(VIEW_SELECT + "WHERE p.id IN (:ids)")
+    List<PostView> findViewsByIds(@Param("ids") Collection<Long> ids);
+
+    // Zaman akışı için - okuma anında birleştirilen hesapların gönderileri
+    @Query(VIEW_SELECT + "WHERE u.id IN :userIds AND " +
+           "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostView> findViewsByUserIdsOlderThan(@Param("userIds") Collection<Long> userIds, @Param("createdAt") Date createdAt, @Param("id") long id, Pageable pageable);
+
     // Arama sorguları
-    @Query("SELECT p FROM Post p WHERE LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Post> findByContentContainingIgnoreCase(@Param("keyword") String keyword, Pageable pageable);
+    @Query(value = VIEW_SELECT, countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostView> findAllViews(Pageable pageable);
 
-    @Query("SELECT p FROM Post p WHERE " +
+    @Query(value = VIEW_SELECT + "WHERE LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<PostView> findViewsByContentContainingIgnoreCase(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(value = VIEW_SELECT + "WHERE " +
+           "LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(u.username) LIKE LOWER(CONCAT('%', :keyword, '%'))",
+           countQuery = "SELECT COUNT(p) FROM Post p JOIN p.user u WHERE " +
            "LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(p.user.username) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Post> searchPostsByContentOrUsername(@Param("keyword") String keyword, Pageable pageable);
+           "LOWER(u.username) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<PostView> searchViewsByContentOrUsername(@Param("keyword") String keyword, Pageable pageable);
 
     // Kullanıcının beğendiği gönderileri getir
-    @Query("SELECT p FROM Post p JOIN PostLike pl ON p.id = pl.post.id WHERE pl.user = :user ORDER BY pl.id DESC")
-    Page<Post> findLikedPostsByUser(@Param("user") User user, Pageable pageable);
+    @Query(value = VIEW_SELECT + "JOIN PostLike pl ON p.id = pl.post.id WHERE pl.user = :user ORDER BY pl.id DESC",
+           countQuery = "SELECT COUNT(pl) FROM PostLike pl WHERE pl.user = :user")
+    Page<PostView> findLikedPostViewsByUser(@Param("user") User user, Pageable pageable);
+
+    // Profil sayaçları tek taramada: [gönderi sayısı, medyalı gönderi sayısı]
+    @Query("SELECT COUNT(p), COALESCE(SUM(CASE WHEN p.mediaKinds > 0 THEN 1 ELSE 0 END), 0) FROM Post p WHERE p.user.id = :userId")
+    List<Object[]> countPostsAndMediaByUserId(@Param("userId") long userId);
+
+    // Kullanıcının medya içeren gönderilerini getir (resim/video) - ek tablosuyla JOIN yok, mediaKinds bitleri
+    @Query(value = VIEW_SELECT + "WHERE p.user = :user AND p.mediaKinds > 0 ORDER BY p.createdAt DESC, p.id DESC",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.user = :user AND p.mediaKinds > 0")
+    Page<PostView> findMediaPostViewsByUser(@Param("user") User user, Pageable pageable);
+
+    // mediaKinds alanı eklenmeden önceki gönderiler için tek seferlik doldurma
+    @Query("SELECT fa.post.id, fa.fileType FROM FileAttachment fa WHERE fa.post.mediaKinds IS NULL")
+    List<Object[]> findAttachmentTypesOfUnindexedPosts();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.mediaKinds = :mediaKinds WHERE p.id IN (:ids)")
+    int setMediaKinds(@Param("ids") Collection<Long> ids, @Param("mediaKinds") int mediaKinds);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.mediaKinds = 0 WHERE p.mediaKinds IS NULL")
+    int clearUnindexedMediaKinds();
+
+    // Hesap silme işi: kullanıcının gönderileri sınırlı gruplar halinde
+    @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId ORDER BY p.id")
+    List<Long> findIdsByUserId(@Param("userId") long userId, Pageable pageable);
 
-    // Kullanıcının medya içeren gönderilerini getir (resim/video)
-    @Query("SELECT DISTINCT p FROM Post p JOIN p.fileAttachments fa WHERE p.user = :user AND (fa.fileType LIKE 'image/%' OR fa.fileType LIKE 'video/%') ORDER BY p.createdAt DESC")
-    Page<Post> findMediaPostsByUser(@Param("user") User user, Pageable pageable);
-} 
\ No newline at end of file
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.id IN (:ids)")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
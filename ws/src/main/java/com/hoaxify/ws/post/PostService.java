@@ -1,18 +1,42 @@
 package com.hoaxify.ws.post;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.hoaxify.ws.cache.EntityCache;
+import com.hoaxify.ws.counter.CounterService;
+import com.hoaxify.ws.counter.CounterType;
+import com.hoaxify.ws.feed.FeedService;
+import com.hoaxify.ws.feed.PostCreatedEvent;
 import com.hoaxify.ws.file.FileAttachment;
 import com.hoaxify.ws.file.FileService;
+import com.hoaxify.ws.post.dto.AttachmentView;
 import com.hoaxify.ws.post.dto.PostSubmitDTO;
+import com.hoaxify.ws.post.dto.PostView;
+import com.hoaxify.ws.shared.Cursor;
+import com.hoaxify.ws.shared.CursorSlice;
+import com.hoaxify.ws.trending.TrendingService;
+import com.hoaxify.ws.user.ProfileService;
 import com.hoaxify.ws.user.User;
 import com.hoaxify.ws.user.UserService;
 import com.hoaxify.ws.notification.NotificationService;
@@ -20,6 +44,8 @@ import com.hoaxify.ws.notification.NotificationType;
 
 @Service
 public class PostService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostService.class);
     
     @Autowired
     PostRepository postRepository;
@@ -36,42 +62,78 @@ public class PostService {
     @Autowired
     NotificationService notificationService;
     
-    public Page<Post> getPosts(Pageable pageable, User currentUser) {
+    @Autowired
+    FeedService feedService;
+    
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    CounterService counterService;
+    
+    @Autowired
+    TrendingService trendingService;
+    
+    @Autowired
+    EntityCache entityCache;
+    
+    @Autowired
+    ProfileService profileService;
+    
+    public CursorSlice<PostView> getPosts(Pageable pageable, Cursor before, Cursor after, User currentUser) {
         try {
-            System.out.println("PostService.getPosts çağrıldı: " + pageable);
-            Page<Post> posts = postRepository.findAll(pageable);
-            setLikedStatusForPosts(posts.getContent(), currentUser);
+            int size = pageable.getPageSize();
+            CursorSlice<PostView> posts;
+            if (before != null) {
+                posts = CursorSlice.of(postRepository.findViewsOlderThan(before.createdAtDate(), before.id(), keysetLimit(size)), size, false, true, PostService::cursorOf);
+            } else if (after != null) {
+                posts = CursorSlice.of(postRepository.findViewsNewerThan(after.createdAtDate(), after.id(), keysetLimit(size)), size, true, true, PostService::cursorOf);
+            } else if (pageable.getPageNumber() == 0) {
+                posts = CursorSlice.of(postRepository.findLatestViews(keysetLimit(size)), size, false, true, PostService::cursorOf);
+            } else {
+                // İmleç göndermeyen eski istemciler: sayfa numarasıyla offset
+                posts = CursorSlice.of(postRepository.findViewSlice(newestFirst(pageable)), true, PostService::cursorOf);
+            }
+            decorateViews(posts.getContent(), currentUser);
             return posts;
         } catch (Exception e) {
-            System.err.println("Gönderiler alınırken hata oluştu: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Gönderiler alınırken hata oluştu", e);
             throw e;
         }
     }
     
-    public Page<Post> getPosts(Pageable pageable) {
-        return getPosts(pageable, null);
+    public CursorSlice<PostView> getPosts(Pageable pageable) {
+        return getPosts(pageable, null, null, null);
     }
     
-    public Page<Post> getPostsOfUser(long userId, Pageable pageable, User currentUser) {
+    public CursorSlice<PostView> getPostsOfUser(long userId, Pageable pageable, Cursor before, Cursor after, User currentUser) {
         User user = userService.getUserById(userId);
-        Page<Post> posts = postRepository.findByUser(user, pageable);
-        setLikedStatusForPosts(posts.getContent(), currentUser);
+        int size = pageable.getPageSize();
+        CursorSlice<PostView> posts;
+        if (before != null) {
+            posts = CursorSlice.of(postRepository.findViewsByUserOlderThan(user, before.createdAtDate(), before.id(), keysetLimit(size)), size, false, true, PostService::cursorOf);
+        } else if (after != null) {
+            posts = CursorSlice.of(postRepository.findViewsByUserNewerThan(user, after.createdAtDate(), after.id(), keysetLimit(size)), size, true, true, PostService::cursorOf);
+        } else if (pageable.getPageNumber() == 0) {
+            posts = CursorSlice.of(postRepository.findLatestViewsByUser(user, keysetLimit(size)), size, false, true, PostService::cursorOf);
+        } else {
+            posts = CursorSlice.of(postRepository.findViewSliceByUser(user, newestFirst(pageable)), true, PostService::cursorOf);
+        }
+        decorateViews(posts.getContent(), currentUser);
         return posts;
     }
     
     // Geriye uyumluluk için overloaded method
-    public Page<Post> getPostsOfUser(long userId, Pageable pageable) {
-        return getPostsOfUser(userId, pageable, null);
+    public CursorSlice<PostView> getPostsOfUser(long userId, Pageable pageable) {
+        return getPostsOfUser(userId, pageable, null, null, null);
     }
     
     @Transactional
     public Post createPost(PostSubmitDTO postSubmit, User user, List<MultipartFile> attachments) {
         try {
-            System.out.println("=== PostService.createPost BAŞLADI ===");
-            System.out.println("Kullanıcı: " + user.getUsername() + " (ID: " + user.getId() + ")");
-            System.out.println("İçerik: '" + postSubmit.getContent() + "'");
-            System.out.println("Attachment sayısı: " + (attachments != null ? attachments.size() : 0));
+            log.debug("Kullanıcı: {} (ID: {})", user.getUsername(), user.getId());
+            log.debug("İçerik: '{}'", postSubmit.getContent());
+            log.debug("Attachment sayısı: {}", (attachments != null ? attachments.size() : 0));
             
             Post post = new Post();
             
@@ -79,40 +141,49 @@ public class PostService {
             String content = postSubmit.getContent();
             if (content != null && content.trim().isEmpty()) {
                 content = null; // Boş string yerine null kaydet
-                System.out.println("Boş content null olarak ayarlandı");
+                log.debug("Boş content null olarak ayarlandı");
             }
             post.setContent(content);
             post.setUser(user);
             
             Post savedPost = postRepository.save(post);
-            System.out.println("Post kaydedildi, ID: " + savedPost.getId() + ", Content: " + savedPost.getContent());
+            log.debug("Post kaydedildi, ID: {}, Content: {}", savedPost.getId(), savedPost.getContent());
             
             if (attachments != null && !attachments.isEmpty()) {
-                System.out.println("Attachment'lar işleniyor...");
+                log.debug("Attachment'lar işleniyor...");
                 List<FileAttachment> savedAttachments = fileService.savePostAttachments(attachments, savedPost);
-                System.out.println("Kaydedilen attachment sayısı: " + savedAttachments.size());
+                log.debug("Kaydedilen attachment sayısı: {}", savedAttachments.size());
                 
                 savedPost.setFileAttachments(savedAttachments);
                 
                 // FileAttachment bilgilerini logla
                 for (FileAttachment attachment : savedAttachments) {
-                    System.out.println("- Attachment ID: " + attachment.getId() + 
-                        ", Name: " + attachment.getName() + 
-                        ", Type: " + attachment.getFileType());
+                    log.debug("- Attachment ID: {}, Name: {}, Type: {}", attachment.getId(), attachment.getName(), attachment.getFileType());
                 }
             }
             
-            System.out.println("=== PostService.createPost TAMAMLANDI ===");
+            // Takipçilerin zaman akışına commit sonrası arka planda eklenir
+            eventPublisher.publishEvent(new PostCreatedEvent(savedPost.getId(), user.getId(), savedPost.getCreatedAt()));
+            profileService.invalidateCounters(user.getId());
+            
             return savedPost;
         } catch (Exception e) {
-            System.err.println("=== PostService.createPost HATA ===");
-            System.err.println("Gönderi oluşturulurken hata: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Gönderi oluşturulurken hata", e);
             throw e;
         }
     }
     
+    // Önbellekten okunur - dönen nesne çağırana ait bir kopyadır
     public Post getPostById(long id) {
+        Post post = entityCache.getPost(id, key -> postRepository.findById(key).orElse(null));
+        if (post != null) {
+            return post;
+        }
+        throw new RuntimeException("Post bulunamadı");
+    }
+    
+    // Değiştirilecek kayıtlar için önbelleği atlar
+    private Post loadPostForUpdate(long id) {
         Optional<Post> optionalPost = postRepository.findById(id);
         if (optionalPost.isPresent()) {
             return optionalPost.get();
@@ -120,19 +191,31 @@ public class PostService {
         throw new RuntimeException("Post bulunamadı");
     }
     
+    // Tek gönderi yanıtı - liste uçlarıyla aynı okuma modeli
+    public PostView getPostView(long id, User currentUser) {
+        List<PostView> views = postRepository.findViewsByIds(List.of(id));
+        if (views.isEmpty()) {
+            throw new RuntimeException("Post bulunamadı");
+        }
+        decorateViews(views, currentUser);
+        return views.get(0);
+    }
+    
     public Post updatePost(long id, PostSubmitDTO postUpdate, User loggedInUser) {
-        Post post = getPostById(id);
+        Post post = loadPostForUpdate(id);
         
         if (post.getUser().getId() != loggedInUser.getId()) {
             throw new RuntimeException("Bu gönderiyi düzenleme yetkiniz yok");
         }
         
         post.setContent(postUpdate.getContent());
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        entityCache.posts().invalidate(id);
+        return savedPost;
     }
     
     public void deletePost(long id, User loggedInUser) {
-        Post post = getPostById(id);
+        Post post = loadPostForUpdate(id);
         
         if (post.getUser().getId() != loggedInUser.getId()) {
             throw new RuntimeException("Bu gönderiyi silme yetkiniz yok");
@@ -141,7 +224,16 @@ public class PostService {
         // Post ile ilgili bildirimleri sil
         notificationService.deleteNotificationsByPostId(id);
         
+        // Zaman akışlarından çıkar
+        feedService.removePost(id);
+        
+        counterService.discard(CounterType.POST_LIKES, id);
+        counterService.discard(CounterType.POST_COMMENTS, id);
+        trendingService.removePost(id);
+        
         postRepository.delete(post);
+        entityCache.posts().invalidate(id);
+        profileService.invalidateCounters(post.getUser().getId());
     }
     
     @Transactional
@@ -153,9 +245,10 @@ public class PostService {
         if (existingLike.isPresent()) {
             // Unlike - beğeniyi kaldır
             postLikeRepository.delete(existingLike.get());
-            post.setLikeCount(post.getLikeCount() - 1);
-            postRepository.save(post);
-            System.out.println("PostService: Kullanıcı " + user.getUsername() + " post " + postId + " beğenisini kaldırdı");
+            counterService.decrement(CounterType.POST_LIKES, postId);
+            trendingService.onUnlike(postId, existingLike.get().getCreatedAt());
+            profileService.invalidateCounters(user.getId());
+            log.debug("Kullanıcı {} post {} beğenisini kaldırdı", user.getUsername(), postId);
             
             // Beğeni bildirimini sil
             notificationService.deleteLikeNotification(user, post.getUser(), postId);
@@ -165,9 +258,10 @@ public class PostService {
             // Like - beğeni ekle
             PostLike postLike = new PostLike(post, user);
             postLikeRepository.save(postLike);
-            post.setLikeCount(post.getLikeCount() + 1);
-            postRepository.save(post);
-            System.out.println("PostService: Kullanıcı " + user.getUsername() + " post " + postId + " beğendi");
+            counterService.increment(CounterType.POST_LIKES, postId);
+            trendingService.onLike(postId);
+            profileService.invalidateCounters(user.getId());
+            log.debug("Kullanıcı {} post {} beğendi", user.getUsername(), postId);
             
             // Beğeni bildirimi oluştur (kendi gönderisini beğenmiyorsa)
             if (user.getId() != post.getUser().getId()) {
@@ -184,84 +278,120 @@ public class PostService {
         }
     }
     
-    public boolean isPostLikedByUser(long postId, User user) {
-        Post post = getPostById(postId);
-        return postLikeRepository.existsByPostAndUser(post, user);
-    }
-    
-    public Page<Post> getLikedPostsByUser(long userId, Pageable pageable, User currentUser) {
+    public Page<PostView> getLikedPostsByUser(long userId, Pageable pageable, User currentUser) {
         User user = userService.getUserById(userId);
-        Page<Post> posts = postRepository.findLikedPostsByUser(user, pageable);
-        setLikedStatusForPosts(posts.getContent(), currentUser);
+        Page<PostView> posts = postRepository.findLikedPostViewsByUser(user, pageable);
+        decorateViews(posts.getContent(), currentUser);
         return posts;
     }
     
     // Geriye uyumluluk için overloaded method
-    public Page<Post> getLikedPostsByUser(long userId, Pageable pageable) {
+    public Page<PostView> getLikedPostsByUser(long userId, Pageable pageable) {
         return getLikedPostsByUser(userId, pageable, null);
     }
     
-    public Page<Post> getMediaPostsByUser(long userId, Pageable pageable, User currentUser) {
+    public Page<PostView> getMediaPostsByUser(long userId, Pageable pageable, User currentUser) {
         User user = userService.getUserById(userId);
-        Page<Post> posts = postRepository.findMediaPostsByUser(user, pageable);
-        setLikedStatusForPosts(posts.getContent(), currentUser);
+        Page<PostView> posts = postRepository.findMediaPostViewsByUser(user, pageable);
+        decorateViews(posts.getContent(), currentUser);
         return posts;
     }
     
     // Geriye uyumluluk için overloaded method
-    public Page<Post> getMediaPostsByUser(long userId, Pageable pageable) {
+    public Page<PostView> getMediaPostsByUser(long userId, Pageable pageable) {
         return getMediaPostsByUser(userId, pageable, null);
     }
     
     public void increaseCommentCount(long postId) {
-        Post post = getPostById(postId);
-        post.setCommentCount(post.getCommentCount() + 1);
-        postRepository.save(post);
+        counterService.increment(CounterType.POST_COMMENTS, postId);
     }
     
     public void decreaseCommentCount(long postId) {
-        Post post = getPostById(postId);
-        if (post.getCommentCount() > 0) {
-            post.setCommentCount(post.getCommentCount() - 1);
-            postRepository.save(post);
-        }
+        counterService.decrement(CounterType.POST_COMMENTS, postId);
+    }
+    
+    public void decreaseCommentCount(long postId, int amount) {
+        counterService.add(CounterType.POST_COMMENTS, postId, -amount);
     }
 
     // Arama fonksiyonları
 
-    public Page<Post> searchPosts(String keyword, Pageable pageable) {
+    public Page<PostView> searchPosts(String keyword, Pageable pageable) {
+        Page<PostView> posts;
         if (keyword == null || keyword.trim().isEmpty()) {
-            return postRepository.findAll(pageable);
+            posts = postRepository.findAllViews(pageable);
+        } else {
+            posts = postRepository.searchViewsByContentOrUsername(keyword.trim(), pageable);
         }
-        
-        keyword = keyword.trim();
-        return postRepository.searchPostsByContentOrUsername(keyword, pageable);
+        decorateViews(posts.getContent(), null);
+        return posts;
     }
 
-    public Page<Post> searchPostsByContent(String keyword, Pageable pageable) {
+    public Page<PostView> searchPostsByContent(String keyword, Pageable pageable) {
+        Page<PostView> posts;
         if (keyword == null || keyword.trim().isEmpty()) {
-            return postRepository.findAll(pageable);
+            posts = postRepository.findAllViews(pageable);
+        } else {
+            posts = postRepository.findViewsByContentContainingIgnoreCase(keyword.trim(), pageable);
         }
-        
-        keyword = keyword.trim();
-        return postRepository.findByContentContainingIgnoreCase(keyword, pageable);
+        decorateViews(posts.getContent(), null);
+        return posts;
     }
 
-    // Gönderilere kullanıcının beğeni durumunu ekler
-    private void setLikedStatusForPosts(List<Post> posts, User currentUser) {
-        if (currentUser == null) return;
+    // Keyset sorguları için sayfa boyutundan bir fazla kayıt çekilir (sonraki sayfa var mı?)
+    private static Pageable keysetLimit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+    
+    // İmleçsiz, sayfa numaralı istek - keyset ile aynı sıralama
+    private static Pageable newestFirst(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Direction.DESC, "createdAt", "id"));
+    }
+    
+    private static Cursor cursorOf(PostView post) {
+        return Cursor.of(post.getCreatedAt(), post.getId());
+    }
+
+    /**
+     * mediaKinds alanı eklenmeden önce oluşturulan gönderilerin medya bitlerini doldurur.
+     * Sadece mediaKinds'i null olan kayıtlara bakar, doldurulduktan sonraki açılışlarda iş yapmaz.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMediaKinds() {
+        Map<Long, Integer> kindsByPost = new HashMap<>();
+        for (Object[] row : postRepository.findAttachmentTypesOfUnindexedPosts()) {
+            kindsByPost.merge((Long) row[0], Post.mediaKindOf((String) row[1]), (a, b) -> a | b);
+        }
+        Map<Integer, List<Long>> idsByKinds = new HashMap<>();
+        kindsByPost.forEach((postId, kinds) -> idsByKinds.computeIfAbsent(kinds, key -> new ArrayList<>()).add(postId));
+        idsByKinds.forEach((kinds, ids) -> postRepository.setMediaKinds(ids, kinds));
+        int cleared = postRepository.clearUnindexedMediaKinds();
+        if (!kindsByPost.isEmpty() || cleared > 0) {
+            log.debug("medya bitleri dolduruldu - {} gönderi", (kindsByPost.size() + cleared));
+        }
+    }
+
+    // Liste yanıtı öncesi: ekler (tek sorgu), bekleyen sayaç farkları ve kullanıcının beğeni durumu
+    public void decorateViews(List<PostView> posts, User currentUser) {
+        if (posts.isEmpty()) return;
         
-        for (Post post : posts) {
-            boolean isLiked = isPostLikedByUser(post.getId(), currentUser);
-            post.setLiked(isLiked);
+        Map<Long, List<AttachmentView>> attachments = fileService.getAttachmentViews(posts.stream().map(PostView::getId).toList());
+        for (PostView post : posts) {
+            post.setFileAttachments(attachments.getOrDefault(post.getId(), new ArrayList<>()));
         }
+        counterService.applyPendingToViews(posts);
+        setLikedStatusForPosts(posts, currentUser);
     }
     
-    // Tek gönderi için beğeni durumunu ekler
-    private void setLikedStatusForPost(Post post, User currentUser) {
-        if (currentUser == null) return;
+    // Gönderilere kullanıcının beğeni durumunu ekler
+    // Sayfa başına tek sorgu: gönderi başına sorgu yerine beğenilen ID kümesi çekilir
+    public void setLikedStatusForPosts(List<PostView> posts, User currentUser) {
+        if (currentUser == null || posts.isEmpty()) return;
         
-        boolean isLiked = isPostLikedByUser(post.getId(), currentUser);
-        post.setLiked(isLiked);
+        List<Long> postIds = posts.stream().map(PostView::getId).toList();
+        Set<Long> likedIds = new HashSet<>(postLikeRepository.findLikedPostIds(postIds, currentUser));
+        for (PostView post : posts) {
+            post.setLiked(likedIds.contains(post.getId()));
+        }
     }
 } 
\ No newline at end of file
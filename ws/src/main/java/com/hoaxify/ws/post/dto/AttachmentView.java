@@ -0,0 +1,70 @@
+package com.hoaxify.ws.post.dto;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Sayfadaki gönderilerin ekleri tek sorguda bu şekilde çekilir
+public class AttachmentView {
+
+    private long id;
+
+    private String name;
+
+    private String fileType;
+
+    private Date uploadDate;
+
+    @JsonIgnore
+    private long postId;
+
+    public AttachmentView() {}
+
+    public AttachmentView(long id, String name, String fileType, Date uploadDate, long postId) {
+        this.id = id;
+        this.name = name;
+        this.fileType = fileType;
+        this.uploadDate = uploadDate;
+        this.postId = postId;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public void setFileType(String fileType) {
+        this.fileType = fileType;
+    }
+
+    public Date getUploadDate() {
+        return uploadDate;
+    }
+
+    public void setUploadDate(Date uploadDate) {
+        this.uploadDate = uploadDate;
+    }
+
+    public long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(long postId) {
+        this.postId = postId;
+    }
+}
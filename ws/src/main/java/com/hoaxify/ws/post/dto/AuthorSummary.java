@@ -0,0 +1,43 @@
+package com.hoaxify.ws.post.dto;
+
+// Gönderi listelerinde yazar için gereken alanlar (banner, bio vb. taşınmaz)
+public class AuthorSummary {
+
+    private long id;
+
+    private String username;
+
+    private String image;
+
+    public AuthorSummary() {}
+
+    public AuthorSummary(long id, String username, String image) {
+        this.id = id;
+        this.username = username;
+        this.image = image;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = image;
+    }
+}
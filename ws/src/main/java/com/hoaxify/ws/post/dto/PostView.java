@@ -0,0 +1,129 @@
+package com.hoaxify.ws.post.dto;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Gönderi listeleri için okuma modeli.
+ * Post entity'si yerine tek bir JOIN sorgusuyla (constructor expression) doldurulur;
+ * ekler sayfa başına tek sorguyla sonradan eklenir. JSON alan adları Post ile aynıdır.
+ */
+public class PostView {
+
+    private long id;
+
+    private String content;
+
+    private Date createdAt;
+
+    private Date timestamp;
+
+    private AuthorSummary user;
+
+    private List<AttachmentView> fileAttachments = new ArrayList<>();
+
+    private int likeCount;
+
+    private int commentCount;
+
+    private boolean liked;
+
+    public PostView() {}
+
+    public PostView(long id, String content, Date createdAt, Date timestamp, int likeCount, int commentCount,
+            long userId, String username, String image) {
+        this.id = id;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.timestamp = timestamp;
+        this.likeCount = likeCount;
+        this.commentCount = commentCount;
+        this.user = new AuthorSummary(userId, username, image);
+    }
+
+    // Paylaşılan önbellek kopyalarından kullanıcıya özel yanıt üretmek için
+    public PostView(PostView other) {
+        this.id = other.id;
+        this.content = other.content;
+        this.createdAt = other.createdAt;
+        this.timestamp = other.timestamp;
+        this.user = other.user;
+        this.fileAttachments = other.fileAttachments;
+        this.likeCount = other.likeCount;
+        this.commentCount = other.commentCount;
+        this.liked = other.liked;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Date timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public AuthorSummary getUser() {
+        return user;
+    }
+
+    public void setUser(AuthorSummary user) {
+        this.user = user;
+    }
+
+    public List<AttachmentView> getFileAttachments() {
+        return fileAttachments;
+    }
+
+    public void setFileAttachments(List<AttachmentView> fileAttachments) {
+        this.fileAttachments = fileAttachments;
+    }
+
+    public int getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(int likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public boolean isLiked() {
+        return liked;
+    }
+
+    public void setLiked(boolean liked) {
+        this.liked = liked;
+    }
+}
@@ -0,0 +1,69 @@
+package com.hoaxify.ws.ratelimit;
+
+import java.io.IOException;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.hoaxify.ws.configuration.CurrentUser;
+import com.hoaxify.ws.ratelimit.exception.RateLimitExceededException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Pahalı ya da kötüye kullanılabilen uçları kural başına sınırlar. TokenFilter'dan sonra çalışır:
+ * giriş yapmış kullanıcı ID'siyle, diğerleri IP ile anahtarlanır. Bean değildir; yalnızca güvenlik zincirine eklenir.
+ * IP, server.forward-headers-strategy=native ile proxy başlıklarından çözülmüş istemci adresidir; başlıklar burada
+ * okunmaz, çünkü güvenilmeyen bir istemcinin gönderdiği X-Forwarded-For anahtarı değiştirmeye yeterdi.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public RateLimitFilter(RateLimitService rateLimitService, HandlerExceptionResolver exceptionResolver) {
+        this.rateLimitService = rateLimitService;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String policy = policyOf(request);
+        if (policy != null) {
+            long waitMillis = rateLimitService.tryAcquire(policy, keyOf(request));
+            if (waitMillis > 0) {
+                response.setHeader("Retry-After", Long.toString(Math.max(1, (waitMillis + 999) / 1000)));
+                exceptionResolver.resolveException(request, response, null, new RateLimitExceededException());
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String policyOf(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) return null;
+        return switch (request.getRequestURI()) {
+            case "/api/v1/auth", "/api/v1/auth/refresh" -> "auth";
+            case "/api/v1/posts" -> "post";
+            case "/api/v1/messages" -> "chat-message";
+            case "/api/v1/users/password-reset" -> "password-reset";
+            case "/api/v1/users/resend-activation" -> "resend-activation";
+            default -> null;
+        };
+    }
+
+    String keyOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CurrentUser currentUser) {
+            return "u" + currentUser.getId();
+        }
+        return "ip" + request.getRemoteAddr();
+    }
+}
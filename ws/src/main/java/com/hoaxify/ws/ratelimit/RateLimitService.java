@@ -0,0 +1,177 @@
+package com.hoaxify.ws.ratelimit;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.metrics.MetricsSource;
+
+/**
+ * Kullanıcı ya da IP başına jeton kovası. Her kovanın durumu tek bir AtomicLong'a paketlenir
+ * (üst 42 bit son dolum zamanı, alt 22 bit mili-jeton), alma işlemi kilitsiz tek CAS'tir.
+ * Kovalar anahtarın hash'ine göre şeritlere dağılır; dolmuş (boşta) kovalar zamanlanmış temizlikle silinir,
+ * silinen kova yeniden oluşturulduğunda zaten dolu başlayacağı için davranış değişmez.
+ */
+@Service
+public class RateLimitService implements MetricsSource {
+
+    private static final int TOKEN_BITS = 22;
+
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    private static final long MILLI = 1000;
+
+    private static final int STRIPES = 16;
+
+    private final boolean enabled;
+
+    private final Map<String, Limit> limits = new HashMap<>();
+
+    private final LongSupplier clock;
+
+    // Zaman bu noktaya göre tutulur: 42 bit milisaniye yeterli
+    private final long epoch;
+
+    @Autowired
+    public RateLimitService(HoaxifyProperties hoaxifyProperties) {
+        this(hoaxifyProperties, System::currentTimeMillis);
+    }
+
+    // Testler zamanı kendisi ilerletir
+    RateLimitService(HoaxifyProperties hoaxifyProperties, LongSupplier clock) {
+        this.clock = clock;
+        this.epoch = clock.getAsLong();
+        HoaxifyProperties.RateLimit properties = hoaxifyProperties.getRateLimit();
+        this.enabled = properties.isEnabled();
+        properties.getPolicies().forEach((name, policy) -> limits.put(name, new Limit(policy)));
+    }
+
+    /**
+     * Kuraldan bir jeton almayı dener. İzin verilirse 0, verilmezse bir sonraki jetona kadar beklenecek milisaniye.
+     * Tanımsız kural ya da kapalı sınırlayıcı her zaman izin verir.
+     */
+    public long tryAcquire(String policyName, String key) {
+        Limit limit = limits.get(policyName);
+        if (!enabled || limit == null || limit.capacityMilli == 0) return 0;
+        AtomicLong bucket = limit.stripeOf(key).computeIfAbsent(key, k -> new AtomicLong(limit.fullState(now())));
+        long waitMillis = limit.acquire(bucket, now());
+        if (waitMillis == 0) {
+            limit.allowed.increment();
+        } else {
+            limit.rejected.increment();
+        }
+        return waitMillis;
+    }
+
+    // Dolmuş kovalar taze kovayla aynıdır, bellekte tutulmaz
+    @Scheduled(fixedDelayString = "${hoaxify.rate-limit.sweep-interval-ms:60000}", initialDelayString = "${hoaxify.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = now();
+        for (Limit limit : limits.values()) {
+            for (ConcurrentHashMap<String, AtomicLong> stripe : limit.stripes) {
+                stripe.values().removeIf(bucket -> limit.isFull(bucket.get(), now));
+            }
+        }
+    }
+
+    private long now() {
+        return clock.getAsLong() - epoch;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "rateLimits";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        limits.forEach((name, limit) -> {
+            Map<String, Object> policy = new LinkedHashMap<>();
+            policy.put("allowed", limit.allowed.sum());
+            policy.put("rejected", limit.rejected.sum());
+            policy.put("buckets", limit.bucketCount());
+            metrics.put(name, policy);
+        });
+        return metrics;
+    }
+
+    private static final class Limit {
+
+        final long capacityMilli;
+
+        // Milisaniyede eklenen mili-jeton = saniyede eklenen jeton
+        final double refillPerMilli;
+
+        @SuppressWarnings("unchecked")
+        final ConcurrentHashMap<String, AtomicLong>[] stripes = new ConcurrentHashMap[STRIPES];
+
+        final LongAdder allowed = new LongAdder();
+
+        final LongAdder rejected = new LongAdder();
+
+        Limit(HoaxifyProperties.RateLimit.Policy policy) {
+            // 22 bit mili-jeton sınırı: en fazla 4194 jetonluk kova
+            this.capacityMilli = Math.min(TOKEN_MASK / MILLI, Math.max(0, policy.getCapacity())) * MILLI;
+            this.refillPerMilli = Math.max(0, policy.getRefillPerSecond());
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new ConcurrentHashMap<>();
+            }
+        }
+
+        ConcurrentHashMap<String, AtomicLong> stripeOf(String key) {
+            return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        }
+
+        long fullState(long now) {
+            return (now << TOKEN_BITS) | capacityMilli;
+        }
+
+        long acquire(AtomicLong bucket, long now) {
+            while (true) {
+                long state = bucket.get();
+                long last = state >>> TOKEN_BITS;
+                long tokens = state & TOKEN_MASK;
+                long refilled = refill(tokens, last, now);
+                // Kesirli dolum kaybolmasın: jeton eklenmediyse zaman damgası ilerletilmez
+                long stamp = refilled == tokens && tokens < capacityMilli ? last : now;
+                if (refilled < MILLI) {
+                    if (refillPerMilli == 0) return Long.MAX_VALUE;
+                    return Math.max(1, (long) Math.ceil((MILLI - refilled) / refillPerMilli));
+                }
+                long next = (stamp << TOKEN_BITS) | (refilled - MILLI);
+                if (bucket.compareAndSet(state, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long state, long now) {
+            return refill(state & TOKEN_MASK, state >>> TOKEN_BITS, now) >= capacityMilli;
+        }
+
+        private long refill(long tokens, long last, long now) {
+            long elapsed = now - last;
+            if (elapsed <= 0) return tokens;
+            return Math.min(capacityMilli, tokens + (long) (elapsed * refillPerMilli));
+        }
+
+        int bucketCount() {
+            int count = 0;
+            for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+                count += stripe.size();
+            }
+            return count;
+        }
+    }
+}
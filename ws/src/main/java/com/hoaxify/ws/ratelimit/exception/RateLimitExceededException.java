@@ -0,0 +1,13 @@
+package com.hoaxify.ws.ratelimit.exception;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import com.hoaxify.ws.shared.Messages;
+
+public class RateLimitExceededException extends RuntimeException {
+
+    public RateLimitExceededException(){
+        super(Messages.getMessageForLocale("hoaxify.rate.limited", LocaleContextHolder.getLocale()));
+    }
+    
+}
@@ -13,8 +13,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.hoaxify.ws.configuration.CurrentUser;
-import com.hoaxify.ws.post.Post;
 import com.hoaxify.ws.post.PostService;
+import com.hoaxify.ws.post.dto.PostView;
 import com.hoaxify.ws.user.User;
 import com.hoaxify.ws.user.UserService;
 import com.hoaxify.ws.user.dto.UserDTO;
@@ -43,7 +43,7 @@ public class SearchController {
     }
 
     @GetMapping("/posts")
-    public Page<Post> searchPosts(
+    public Page<PostView> searchPosts(
             @RequestParam(name = "q", defaultValue = "") String keyword,
             @PageableDefault(sort = "createdAt", direction = Direction.DESC) Pageable pageable) {
         
@@ -61,7 +61,7 @@ public class SearchController {
         
         // Gönderiler için arama (ilk 5 sonuç)
         Pageable postPageable = PageRequest.of(0, 5, Direction.DESC, "createdAt");
-        Page<Post> posts = postService.searchPosts(keyword, postPageable);
+        Page<PostView> posts = postService.searchPosts(keyword, postPageable);
         
         Map<String, Object> result = new HashMap<>();
         result.put("users", users.map(UserDTO::new));
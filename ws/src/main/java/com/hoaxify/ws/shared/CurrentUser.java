@@ -5,10 +5,11 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-
+/**
+ * Oturumdaki kullanıcıyı User olarak enjekte eder; oturum yoksa null.
+ * Çözümleme CurrentUserArgumentResolver'dadır: kullanıcı istek başına en fazla bir kez yüklenir.
+ */
 @Target({ElementType.PARAMETER})
 @Retention(RetentionPolicy.RUNTIME)
-@AuthenticationPrincipal
 public @interface CurrentUser {
-} 
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.hoaxify.ws.shared;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import com.hoaxify.ws.user.User;
+import com.hoaxify.ws.user.UserService;
+
+/**
+ * {@link CurrentUser} ile işaretli User parametrelerini çözer. TokenFilter'ın koyduğu principal'dan sadece ID alınır; kullanıcı
+ * ilk ihtiyaçta UserService önbelleğinden (TokenFilter doğrularken ısıtmış olur) okunur ve istek özniteliğinde
+ * saklanır, böylece aynı istekte tekrar yüklenmez. Controller'ların SecurityContext'e inip yeniden yüklemesine gerek kalmaz.
+ * Önbellek her çağrıda yeni bir kopya verdiği için dönen nesne bu isteğe aittir; değiştirilmesi diğer istekleri etkilemez.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".user";
+
+    @Autowired
+    UserService userService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+            && User.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+            || !(authentication.getPrincipal() instanceof com.hoaxify.ws.configuration.CurrentUser principal)) {
+            // Anonim istek: okuma uçları kullanıcısız çalışır, korumalı uçları @PreAuthorize reddeder
+            return null;
+        }
+        Object hydrated = webRequest.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (hydrated instanceof User user && user.getId() == principal.getId()) {
+            return user;
+        }
+        User user = userService.getUser(principal.getId());
+        webRequest.setAttribute(REQUEST_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+}
@@ -0,0 +1,39 @@
+package com.hoaxify.ws.shared;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import com.hoaxify.ws.shared.exception.InvalidCursorException;
+
+/**
+ * Keyset sayfalama için (createdAt, id) ikilisini taşıyan opak imleç.
+ * İstemci değeri yorumlamaz, sadece bir sonraki isteğe geri gönderir.
+ */
+public record Cursor(long createdAt, long id) {
+
+    public static Cursor of(Date createdAt, long id) {
+        return new Cursor(createdAt.getTime(), id);
+    }
+
+    public Date createdAtDate() {
+        return new Date(createdAt);
+    }
+
+    public String encode() {
+        String raw = createdAt + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 2) throw new InvalidCursorException();
+            return new Cursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.hoaxify.ws.shared;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * COUNT sorgusu çalıştırmayan, keyset imleçleri taşıyan sayfa.
+ * beforeCursor daha eski kayıtları, afterCursor daha yeni kayıtları istemek için kullanılır.
+ * hasNext istenen yönde başka kayıt olup olmadığını gösterir.
+ */
+public class CursorSlice<T> extends SliceImpl<T> {
+
+    private final String beforeCursor;
+
+    private final String afterCursor;
+
+    public CursorSlice(List<T> content, Pageable pageable, boolean hasNext, String beforeCursor, String afterCursor) {
+        super(content, pageable, hasNext);
+        this.beforeCursor = beforeCursor;
+        this.afterCursor = afterCursor;
+    }
+
+    /**
+     * size + 1 kayıt çekilmiş sorgu sonucundan sayfa oluşturur.
+     * reverse: sorgu sırası dönülecek sıranın tersiyse (ör. yeni kayıtlar artan sırayla çekildiyse)
+     * newestFirst: dönülen listenin en yeni kayıtla başlayıp başlamadığı
+     */
+    public static <T> CursorSlice<T> of(List<T> fetched, int size, boolean reverse, boolean newestFirst, Function<T, Cursor> cursorOf) {
+        boolean hasNext = fetched.size() > size;
+        List<T> content = new ArrayList<>(hasNext ? fetched.subList(0, size) : fetched);
+        if (reverse) {
+            Collections.reverse(content);
+        }
+        return build(content, PageRequest.of(0, Math.max(size, 1)), hasNext, newestFirst, cursorOf);
+    }
+
+    /**
+     * İmleç verilmeden yapılan (offset tabanlı, sayımsız) sorgunun sonucundan sayfa oluşturur
+     */
+    public static <T> CursorSlice<T> of(Slice<T> slice, boolean newestFirst, Function<T, Cursor> cursorOf) {
+        return build(slice.getContent(), slice.getPageable(), slice.hasNext(), newestFirst, cursorOf);
+    }
+
+    private static <T> CursorSlice<T> build(List<T> content, Pageable pageable, boolean hasNext, boolean newestFirst, Function<T, Cursor> cursorOf) {
+        String before = null;
+        String after = null;
+        if (!content.isEmpty()) {
+            T first = content.get(0);
+            T last = content.get(content.size() - 1);
+            before = cursorOf.apply(newestFirst ? last : first).encode();
+            after = cursorOf.apply(newestFirst ? first : last).encode();
+        }
+        return new CursorSlice<>(content, pageable, hasNext, before, after);
+    }
+
+    @Override
+    public <U> CursorSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new CursorSlice<>(getConvertedContent(converter), getPageable(), hasNext(), beforeCursor, afterCursor);
+    }
+
+    public String getBeforeCursor() {
+        return beforeCursor;
+    }
+
+    public String getAfterCursor() {
+        return afterCursor;
+    }
+}
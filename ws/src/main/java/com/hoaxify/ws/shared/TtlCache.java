@@ -0,0 +1,186 @@
+package com.hoaxify.ws.shared;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Boyut ve süre sınırlı, süreç içi önbellek.
+ * Anahtarlar karmaya göre segmentlere bölünür; her segment erişim sıralı bir LinkedHashMap'tir
+ * (en az kullanılan önce çıkar). Kilitler segment başına olduğu için okuma çekişmesi düşüktür.
+ */
+public class TtlCache<K, V> {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment<K, V>[] segments;
+
+    private final long ttlMillis;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public TtlCache(int maximumSize, Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+        this.segments = new Segment[SEGMENT_COUNT];
+        int segmentSize = Math.max(1, maximumSize / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment<>(segmentSize, evictions);
+        }
+    }
+
+    /**
+     * Önbellekte varsa döner, yoksa loader ile yükleyip saklar.
+     * Yükleme sırasında aynı segmentte invalidate olduysa sonuç saklanmaz (eski değerin geri yazılmaması için).
+     */
+    public V get(K key, Function<K, V> loader) {
+        Segment<K, V> segment = segmentFor(key);
+        V value = segment.get(key, System.currentTimeMillis());
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        long generation = segment.generation();
+        value = loader.apply(key);
+        if (value != null) {
+            segment.putIfGeneration(key, value, System.currentTimeMillis() + ttlMillis, generation);
+        }
+        return value;
+    }
+
+    // Yükleyici çağırmadan ve isabet/ıska sayılarını etkilemeden okur
+    public V getIfPresent(K key) {
+        return segmentFor(key).get(key, System.currentTimeMillis());
+    }
+
+    public void put(K key, V value) {
+        segmentFor(key).put(key, value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    public void invalidate(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    // Değeri koşula uyan tüm kayıtlar (ör. bir kullanıcıya ait token'lar); tüm segmentleri tarar
+    public void invalidateIf(Predicate<V> predicate) {
+        for (Segment<K, V> segment : segments) {
+            segment.removeIf(predicate);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[(hash & 0x7fffffff) % SEGMENT_COUNT];
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Segment<K, V> {
+
+        private final LinkedHashMap<K, Entry<V>> map;
+
+        // Her invalidate'te (tekil, koşullu ya da tümü) artar
+        private long generation;
+
+        Segment(int maximumSize, LongAdder evictions) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > maximumSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized V get(K key, long now) {
+            Entry<V> entry = map.get(key);
+            if (entry == null) return null;
+            if (entry.expiresAt <= now) {
+                map.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        synchronized void put(K key, V value, long expiresAt) {
+            map.put(key, new Entry<>(value, expiresAt));
+        }
+
+        synchronized void putIfGeneration(K key, V value, long expiresAt, long expectedGeneration) {
+            if (generation == expectedGeneration) {
+                map.put(key, new Entry<>(value, expiresAt));
+            }
+        }
+
+        synchronized void remove(K key) {
+            generation++;
+            map.remove(key);
+        }
+
+        // Eşleşen kayıt olmasa da artar: o an yüklenmekte olan (henüz eklenmemiş) değer de koşula uyabilir
+        synchronized void removeIf(Predicate<V> predicate) {
+            generation++;
+            map.values().removeIf(entry -> predicate.test(entry.value));
+        }
+
+        synchronized void clear() {
+            generation++;
+            map.clear();
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.hoaxify.ws.shared.exception;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import com.hoaxify.ws.shared.Messages;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(){
+        super(Messages.getMessageForLocale("hoaxify.cursor.invalid", LocaleContextHolder.getLocale()));
+    }
+    
+}
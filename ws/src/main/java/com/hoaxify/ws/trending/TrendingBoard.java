@@ -0,0 +1,157 @@
+package com.hoaxify.ws.trending;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tek bir zaman penceresi için üstel sönümlü gönderi skorları.
+ * Her olay w * 2^((t - epoch) / yarıÖmür) olarak eklenir; böylece skorlar her okumada
+ * yeniden hesaplanmadan karşılaştırılabilir. Değerler büyüdükçe epoch ileri alınıp ölçeklenir.
+ * İzlenen gönderi sayısı sınırlıdır: sınır dolunca en düşük skorlu çeyrek atılır.
+ */
+class TrendingBoard {
+
+    // Bu kadar yarı ömür geçince skorlar yeni epoch'a göre ölçeklenir (double taşmasını önler)
+    private static final int REBASE_HALF_LIVES = 16;
+
+    private final TrendingWindow window;
+
+    private final double halfLifeMillis;
+
+    private final int maxTrackedPosts;
+
+    private final ConcurrentHashMap<Long, Score> scores = new ConcurrentHashMap<>();
+
+    // Olaylar okuma kilidiyle paralel eklenir; temizlik ve ölçekleme yazma kilidi alır
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile long epoch;
+
+    private static final class Score {
+        final DoubleAdder value = new DoubleAdder();
+        volatile long lastEventAt;
+    }
+
+    TrendingBoard(TrendingWindow window, long now, int maxTrackedPosts) {
+        this.window = window;
+        this.halfLifeMillis = window.getHalfLife().toMillis();
+        this.maxTrackedPosts = Math.max(1, maxTrackedPosts);
+        this.epoch = now;
+    }
+
+    void record(long postId, double weight, long at, long now) {
+        if (at < now - window.getLength().toMillis()) return;
+        if (scores.size() >= maxTrackedPosts && !scores.containsKey(postId)) {
+            prune();
+        }
+        lock.readLock().lock();
+        try {
+            Score score = scores.computeIfAbsent(postId, key -> new Score());
+            score.value.add(weight * Math.pow(2, (at - epoch) / halfLifeMillis));
+            if (at > score.lastEventAt) {
+                score.lastEventAt = at;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Geri alınan olayın (ör. beğeni kaldırma) katkısını olayın kendi zamanına göre düşer; skor sıfırın altına inmez.
+     * Gönderi izlenmiyorsa (atılmış ya da pencere dışı) bir şey yapılmaz.
+     */
+    void retract(long postId, double weight, long at) {
+        lock.readLock().lock();
+        try {
+            Score score = scores.get(postId);
+            if (score == null) return;
+            score.value.add(-weight * Math.pow(2, (at - epoch) / halfLifeMillis));
+            double value = score.value.sum();
+            if (value < 0) {
+                score.value.add(-value);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void remove(long postId) {
+        scores.remove(postId);
+    }
+
+    // Sınır dolduğunda en yüksek skorlu dörtte üç tutulur; ekleme başına maliyet amortize edilir
+    private void prune() {
+        lock.writeLock().lock();
+        try {
+            if (scores.size() < maxTrackedPosts) return;
+            int keep = maxTrackedPosts * 3 / 4;
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Score> entry : scores.entrySet()) {
+                ranked.add(Map.entry(entry.getKey(), entry.getValue().value.sum()));
+            }
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()));
+            for (int i = keep; i < ranked.size(); i++) {
+                scores.remove(ranked.get(i).getKey());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Pencere dışına düşen gönderileri at, gerekirse skorları yeni epoch'a ölçekle
+    void maintain(long now) {
+        long cutoff = now - window.getLength().toMillis();
+        lock.writeLock().lock();
+        try {
+            scores.values().removeIf(score -> score.lastEventAt < cutoff);
+            if (now - epoch > REBASE_HALF_LIVES * halfLifeMillis) {
+                double factor = Math.pow(2, -(now - epoch) / halfLifeMillis);
+                for (Score score : scores.values()) {
+                    double value = score.value.sumThenReset();
+                    score.value.add(value * factor);
+                }
+                epoch = now;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // En yüksek k skorlu gönderi ID'leri, skora göre azalan - k boyutlu min-heap ile
+    List<Long> top(int k) {
+        if (k <= 0) return List.of();
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(k + 1, Map.Entry.<Long, Double>comparingByValue());
+        for (Map.Entry<Long, Score> entry : scores.entrySet()) {
+            double value = entry.getValue().value.sum();
+            if (value <= 0) continue;
+            if (heap.size() < k) {
+                heap.offer(Map.entry(entry.getKey(), value));
+            } else if (value > heap.peek().getValue()) {
+                heap.poll();
+                heap.offer(Map.entry(entry.getKey(), value));
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(heap);
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            scores.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        return scores.size();
+    }
+}
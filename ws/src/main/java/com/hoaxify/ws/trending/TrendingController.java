@@ -0,0 +1,38 @@
+package com.hoaxify.ws.trending;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hoaxify.ws.post.PostService;
+import com.hoaxify.ws.post.dto.PostView;
+import com.hoaxify.ws.shared.CurrentUser;
+import com.hoaxify.ws.user.User;
+
+@RestController
+@RequestMapping("/api/v1")
+public class TrendingController {
+
+    @Autowired
+    TrendingService trendingService;
+
+    @Autowired
+    PostService postService;
+
+    // window: day | week
+    @GetMapping("/posts/trending")
+    public List<PostView> getTrending(@RequestParam(defaultValue = "day") String window,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUser User currentUser) {
+        int pageSize = Math.min(Math.max(size, 1), 100);
+        List<PostView> posts = trendingService.getTrending(TrendingWindow.from(window), pageSize);
+        if (currentUser != null) {
+            postService.setLikedStatusForPosts(posts, currentUser);
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,174 @@
+package com.hoaxify.ws.trending;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.hoaxify.ws.comment.CommentRepository;
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.counter.CounterService;
+import com.hoaxify.ws.file.FileService;
+import com.hoaxify.ws.post.PostLikeRepository;
+import com.hoaxify.ws.post.PostRepository;
+import com.hoaxify.ws.post.dto.AttachmentView;
+import com.hoaxify.ws.post.dto.PostView;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Trend gönderiler. Beğeni ve yorum olayları geldikçe skorlar bellekte güncellenir,
+ * her pencere için en yüksek K gönderi periyodik olarak hazır bir listeye dönüştürülür.
+ * İstekler veritabanına gitmeden bu listeden cevaplanır. Açılışta skorlar veritabanından yeniden kurulur.
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    PostLikeRepository postLikeRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    FileService fileService;
+
+    @Autowired
+    CounterService counterService;
+
+    @Autowired
+    HoaxifyProperties hoaxifyProperties;
+
+    private final Map<TrendingWindow, TrendingBoard> boards = new EnumMap<>(TrendingWindow.class);
+
+    // Pencere başına hazır liste - her yenilemede tamamen değiştirilir, paylaşılan nesneler değiştirilmez
+    private volatile Map<TrendingWindow, List<PostView>> snapshots = Map.of();
+
+    @PostConstruct
+    void createBoards() {
+        long now = System.currentTimeMillis();
+        for (TrendingWindow window : TrendingWindow.values()) {
+            boards.put(window, new TrendingBoard(window, now, hoaxifyProperties.getTrending().getMaxTrackedPosts()));
+        }
+    }
+
+    public void onLike(long postId) {
+        record(postId, hoaxifyProperties.getTrending().getLikeWeight());
+    }
+
+    // Beğeninin eklendiği andaki katkısı düşülür; şimdiki ağırlık düşülse eski beğeni skoru fazla azaltırdı
+    public void onUnlike(long postId, Date likedAt) {
+        long at = likedAt != null ? likedAt.getTime() : System.currentTimeMillis();
+        for (TrendingBoard board : boards.values()) {
+            board.retract(postId, hoaxifyProperties.getTrending().getLikeWeight(), at);
+        }
+    }
+
+    public void onComment(long postId) {
+        record(postId, hoaxifyProperties.getTrending().getCommentWeight());
+    }
+
+    public void removePost(long postId) {
+        for (TrendingBoard board : boards.values()) {
+            board.remove(postId);
+        }
+    }
+
+    /**
+     * Penceredeki trend gönderiler. Dönen liste kopyadır; bekleyen sayaç farkları eklenmiştir,
+     * kullanıcının beğeni durumu çağıran tarafından set edilir.
+     */
+    public List<PostView> getTrending(TrendingWindow window, int size) {
+        List<PostView> snapshot = snapshots.getOrDefault(window, List.of());
+        List<PostView> result = new ArrayList<>(Math.min(size, snapshot.size()));
+        for (int i = 0; i < snapshot.size() && i < size; i++) {
+            result.add(new PostView(snapshot.get(i)));
+        }
+        counterService.applyPendingToViews(result);
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long longest = 0;
+        for (TrendingWindow window : TrendingWindow.values()) {
+            longest = Math.max(longest, window.getLength().toMillis());
+            boards.get(window).clear();
+        }
+        Date since = new Date(started - longest);
+
+        List<Object[]> likes = postLikeRepository.findLikeEventsSince(since);
+        for (Object[] like : likes) {
+            recordAt((Long) like[0], hoaxifyProperties.getTrending().getLikeWeight(), ((Date) like[1]).getTime(), started);
+        }
+        List<Object[]> comments = commentRepository.findCommentEventsSince(since);
+        for (Object[] comment : comments) {
+            recordAt((Long) comment[0], hoaxifyProperties.getTrending().getCommentWeight(), ((Date) comment[1]).getTime(), started);
+        }
+
+        refresh();
+        log.info("skorlar yeniden kuruldu - {} beğeni, {} yorum, {} ms", likes.size(), comments.size(), (System.currentTimeMillis() - started));
+    }
+
+    @Scheduled(fixedDelayString = "${hoaxify.trending.refresh-interval-ms:10000}", initialDelayString = "${hoaxify.trending.refresh-interval-ms:10000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        int size = hoaxifyProperties.getTrending().getSize();
+
+        Map<TrendingWindow, List<Long>> rankedIds = new EnumMap<>(TrendingWindow.class);
+        List<Long> allIds = new ArrayList<>();
+        for (Map.Entry<TrendingWindow, TrendingBoard> entry : boards.entrySet()) {
+            entry.getValue().maintain(now);
+            List<Long> ids = entry.getValue().top(size);
+            rankedIds.put(entry.getKey(), ids);
+            allIds.addAll(ids);
+        }
+
+        // Tüm pencerelerin gönderileri tek sorguda, ekleri tek sorguda
+        Map<Long, PostView> views = new HashMap<>();
+        if (!allIds.isEmpty()) {
+            List<Long> distinctIds = allIds.stream().distinct().toList();
+            for (PostView view : postRepository.findViewsByIds(distinctIds)) {
+                views.put(view.getId(), view);
+            }
+            Map<Long, List<AttachmentView>> attachments = fileService.getAttachmentViews(distinctIds);
+            for (PostView view : views.values()) {
+                view.setFileAttachments(attachments.getOrDefault(view.getId(), List.of()));
+            }
+        }
+
+        Map<TrendingWindow, List<PostView>> next = new EnumMap<>(TrendingWindow.class);
+        for (Map.Entry<TrendingWindow, List<Long>> entry : rankedIds.entrySet()) {
+            // Silinmiş gönderiler sorgudan dönmez, listeye girmez
+            next.put(entry.getKey(), entry.getValue().stream().filter(views::containsKey).map(views::get).toList());
+        }
+        snapshots = next;
+    }
+
+    private void record(long postId, double weight) {
+        long now = System.currentTimeMillis();
+        recordAt(postId, weight, now, now);
+    }
+
+    private void recordAt(long postId, double weight, long at, long now) {
+        for (TrendingBoard board : boards.values()) {
+            board.record(postId, weight, at, now);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.hoaxify.ws.trending;
+
+import java.time.Duration;
+
+public enum TrendingWindow {
+    // Pencere dışındaki olaylar sayılmaz, yarı ömür skorun ne kadar hızlı söndüğünü belirler
+    DAY(Duration.ofHours(24), Duration.ofHours(6)),
+    WEEK(Duration.ofDays(7), Duration.ofDays(2));
+
+    private final Duration length;
+
+    private final Duration halfLife;
+
+    TrendingWindow(Duration length, Duration halfLife) {
+        this.length = length;
+        this.halfLife = halfLife;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public Duration getHalfLife() {
+        return halfLife;
+    }
+
+    public static TrendingWindow from(String value) {
+        if (value != null) {
+            for (TrendingWindow window : values()) {
+                if (window.name().equalsIgnoreCase(value)) return window;
+            }
+        }
+        return DAY;
+    }
+}
@@ -0,0 +1,197 @@
+package com.hoaxify.ws.user;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.graph.FollowGraphService;
+import com.hoaxify.ws.metrics.MetricsSource;
+import com.hoaxify.ws.post.PostLikeRepository;
+import com.hoaxify.ws.post.PostRepository;
+import com.hoaxify.ws.shared.TtlCache;
+import com.hoaxify.ws.user.dto.ProfileView;
+import com.hoaxify.ws.user.dto.UserDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Profil sayfası için tek birleşik okuma. Kullanıcı bir kez (önbellekten) yüklenir, takip sayıları ve
+ * takip durumu bellekteki grafikten gelir; gönderi/medya ve beğeni sayaçları iki sorguyla paralel hesaplanıp
+ * kısa süre önbellekte tutulur. ETag profil hesaplanmadan önce ucuz girdilerden türetilir: önbellekteki kullanıcı,
+ * bellekteki takip sayıları ve kullanıcının sayaç sürümü. Sayaçlar her geçersiz kılındığında sürüm artar; böylece
+ * değişmemiş profil için sayaç sorgusu çalışmadan 304 dönülebilir.
+ */
+@Service
+public class ProfileService implements MetricsSource {
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    FollowGraphService followGraphService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    PostLikeRepository postLikeRepository;
+
+    private final HoaxifyProperties.Profile properties;
+
+    private final TtlCache<Long, Counters> counters;
+
+    // Sayaç sürümleri kullanıcı ID'sinin hash'ine göre sabit sayıda yuvada tutulur; çakışma sadece gereksiz 200'e yol açar
+    private static final int VERSION_SLOTS = 4096;
+
+    private final AtomicLongArray counterVersions = new AtomicLongArray(VERSION_SLOTS);
+
+    // Sürümler bellekte: yeniden başlatmada eski ETag'lerin eşleşmemesi için her açılışta değişir
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private ThreadPoolExecutor queryExecutor;
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    public ProfileService(HoaxifyProperties hoaxifyProperties) {
+        this.properties = hoaxifyProperties.getProfile();
+        this.counters = new TtlCache<>(properties.getCounterMaxSize(), Duration.ofSeconds(properties.getCounterTtlSeconds()));
+    }
+
+    @PostConstruct
+    void startQueryExecutor() {
+        int threads = Math.max(1, properties.getQueryThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        // Kuyruk doluysa sorgu çağıran istek thread'inde çalışır: bekleyen iş sınırsız birikmez
+        queryExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getQueryQueueCapacity())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "profile-query-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        queryExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stopQueryExecutor() {
+        queryExecutor.shutdown();
+    }
+
+    public ProfileView getProfile(long userId, Long viewerId) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<User> user = CompletableFuture.supplyAsync(() -> userService.getUser(userId), queryExecutor);
+        CompletableFuture<Counters> userCounters = loadCounters(userId);
+
+        // Grafik okumaları O(1)/O(log n), ayrı thread'e gerek yok
+        long followersCount = followGraphService.getFollowerCount(userId);
+        long followingCount = followGraphService.getFollowingCount(userId);
+        Boolean isFollowing = viewerId != null && viewerId != userId
+            ? followGraphService.isFollowing(viewerId, userId)
+            : null;
+
+        ProfileView view;
+        try {
+            Counters loaded = userCounters.join();
+            view = new ProfileView(new UserDTO(user.join()), followersCount, followingCount,
+                loaded.postCount(), loaded.likedCount(), loaded.mediaCount(), isFollowing);
+        } catch (CompletionException e) {
+            // NotFoundException gibi hatalar olduğu gibi iletilir
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+        requests.increment();
+        totalNanos.add(System.nanoTime() - startNanos);
+        return view;
+    }
+
+    // Gönderi, silme ve beğeni sonrası kullanıcının sayaçları yeniden hesaplanır
+    public void invalidateCounters(long userId) {
+        // Sürüm önce artar: yeni ETag eski sayaçlarla eşleşemez
+        counterVersions.incrementAndGet(versionSlot(userId));
+        counters.invalidate(userId);
+    }
+
+    /**
+     * Profilin güçlü ETag'i; görüntüleyenin takip durumu da dahil. Sayaç sorgusu çalıştırmaz, bu yüzden
+     * If-None-Match kontrolü profil hesaplanmadan yapılabilir. Profilden önce alındığı için dönen içerik
+     * en az bu ETag kadar yenidir. E-posta yanıtta gösterilmediği için girdiye alınmaz.
+     */
+    public String etagOf(long userId, Long viewerId) {
+        User user = userService.getUser(userId);
+        Boolean isFollowing = viewerId != null && viewerId != userId
+            ? followGraphService.isFollowing(viewerId, userId)
+            : null;
+        String state = instanceId + "|" + user.getId() + "|" + user.getUsername() + "|" + user.getImage() + "|"
+            + user.getBanner() + "|" + user.getBio() + "|" + followGraphService.getFollowerCount(userId) + "|"
+            + followGraphService.getFollowingCount(userId) + "|" + counterVersions.get(versionSlot(userId)) + "|" + isFollowing;
+        return "\"" + DigestUtils.md5DigestAsHex(state.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static int versionSlot(long userId) {
+        return (Long.hashCode(userId) & 0x7fffffff) % VERSION_SLOTS;
+    }
+
+    private CompletableFuture<Counters> loadCounters(long userId) {
+        Counters cached = counters.getIfPresent(userId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        long version = counterVersions.get(versionSlot(userId));
+        CompletableFuture<long[]> posts = CompletableFuture.supplyAsync(() -> countPostsAndMedia(userId), queryExecutor);
+        CompletableFuture<Long> liked = CompletableFuture.supplyAsync(() -> postLikeRepository.countByUserId(userId), queryExecutor);
+        return posts.thenCombine(liked, (postAndMedia, likedCount) -> {
+            Counters loaded = new Counters(postAndMedia[0], likedCount, postAndMedia[1]);
+            // Sorgu sürerken sayaçlar değiştiyse sonuç önbelleğe yazılmaz (yeni sürümün ETag'iyle eski değer kalmasın)
+            if (counterVersions.get(versionSlot(userId)) == version) {
+                counters.put(userId, loaded);
+            }
+            return loaded;
+        });
+    }
+
+    private long[] countPostsAndMedia(long userId) {
+        List<Object[]> rows = postRepository.countPostsAndMediaByUserId(userId);
+        if (rows.isEmpty()) return new long[] { 0, 0 };
+        Object[] row = rows.get(0);
+        return new long[] { ((Number) row[0]).longValue(), ((Number) row[1]).longValue() };
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "profiles";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        long count = requests.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("requests", count);
+        metrics.put("avgMicros", count == 0 ? 0 : totalNanos.sum() / count / 1000);
+        metrics.put("counterCache", counters.stats());
+        metrics.put("queryQueue", queryExecutor.getQueue().size());
+        return metrics;
+    }
+
+    private record Counters(long postCount, long likedCount, long mediaCount) {
+    }
+}
@@ -56,6 +56,10 @@ public class User {
     @Temporal(TemporalType.TIMESTAMP)
     Date createdAt = new Date();
 
+    // Zaman akışı takip edilenlerin mevcut gönderileriyle dolduruldu mu; özellikten önceki hesaplarda null
+    @JsonIgnore
+    Boolean timelineSeeded = true;
+
     public List<Token> getTokens() {
         return tokens;
     }
@@ -152,4 +156,12 @@ public class User {
         this.createdAt = createdAt;
     }
 
+    public Boolean getTimelineSeeded() {
+        return timelineSeeded;
+    }
+
+    public void setTimelineSeeded(Boolean timelineSeeded) {
+        this.timelineSeeded = timelineSeeded;
+    }
+
 }
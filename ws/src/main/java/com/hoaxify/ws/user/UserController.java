@@ -4,6 +4,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,28 +18,51 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.hoaxify.ws.configuration.CurrentUser;
+import com.hoaxify.ws.shared.Cursor;
+import com.hoaxify.ws.shared.CursorSlice;
 import com.hoaxify.ws.shared.GenericMessage;
 import com.hoaxify.ws.shared.Messages;
 import com.hoaxify.ws.user.dto.PasswordResetRequest;
 import com.hoaxify.ws.user.dto.PasswordUpdate;
+import com.hoaxify.ws.user.dto.ProfileView;
 import com.hoaxify.ws.user.dto.UserCreate;
 import com.hoaxify.ws.user.dto.UserDTO;
+import com.hoaxify.ws.user.dto.UserSummary;
 import com.hoaxify.ws.user.dto.UserUpdate;
+import com.hoaxify.ws.user.deletion.AccountDeletionProgress;
+import com.hoaxify.ws.user.deletion.AccountDeletionService;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
-import java.util.List;
 import java.util.HashMap;
 
 @RestController
 public class UserController {
 
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
     @Autowired
     UserService userService;
 
+    @Autowired
+    ProfileService profileService;
+
+    @Autowired
+    AccountDeletionService accountDeletionService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
     @PostMapping("/api/v1/users")
     GenericMessage createUser(@Valid @RequestBody UserCreate user){
         userService.save(user.toUser());
@@ -54,21 +82,31 @@ public class UserController {
         return userService.getUsers(page, currentUser).map(UserDTO::new);
     }
 
+    // Profil: kullanıcı, sayaçlar ve takip durumu tek yanıtta; değişmediyse 304
     @GetMapping("/api/v1/users/{id}")
-    Map<String, Object> getUserById(@PathVariable long id, @AuthenticationPrincipal CurrentUser currentUser){
-        User user = userService.getUser(id);
-        UserDTO userDTO = new UserDTO(user);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("user", userDTO);
-        response.put("followersCount", userService.getFollowersCount(id));
-        response.put("followingCount", userService.getFollowingCount(id));
-        
-        if (currentUser != null && currentUser.getId() != id) {
-            response.put("isFollowing", userService.isFollowing(currentUser.getId(), id));
+    ResponseEntity<ProfileView> getUserById(@PathVariable long id, @AuthenticationPrincipal CurrentUser currentUser,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        Long viewerId = currentUser == null ? null : currentUser.getId();
+        // ETag profil hesaplanmadan bulunur: değişmediyse sayaç sorguları hiç çalışmaz
+        String etag = profileService.etagOf(id, viewerId);
+        // Takip durumu görüntüleyene göre değişir: sadece tarayıcıda, her seferinde doğrulanarak saklanır
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (matchesEtag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
         }
-        
-        return response;
+        ProfileView profile = profileService.getProfile(id, viewerId);
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(profile);
+    }
+
+    // If-None-Match zayıf karşılaştırma kullanır (sıkıştırma katmanı etiketi W/ ile işaretleyebilir)
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) candidate = candidate.substring(2);
+            if (candidate.equals(etag)) return true;
+        }
+        return false;
     }
 
     @PutMapping("/api/v1/users/{id}")
@@ -77,12 +115,16 @@ public class UserController {
         return new UserDTO(userService.updateUser(id, userUpdate));
     }
 
+    // Hesap hemen pasifleşir, veriler arka planda silinir; ilerleme /api/v1/account-deletions/{jobId} ile izlenir
     @DeleteMapping("/api/v1/users/{id}")
     @PreAuthorize("#id == principal.id")
-    GenericMessage deleteUser(@PathVariable long id){
-        userService.deleteUser(id);
+    ResponseEntity<Map<String, Object>> deleteUser(@PathVariable long id){
+        AccountDeletionProgress deletion = accountDeletionService.requestDeletion(id);
         String message = Messages.getMessageForLocale("hoaxify.user.delete.success", LocaleContextHolder.getLocale());
-        return new GenericMessage(message);
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", message);
+        response.put("deletion", deletion);
+        return ResponseEntity.accepted().body(response);
     }
 
     @PostMapping("/api/v1/users/password-reset")
@@ -123,13 +165,56 @@ public class UserController {
     }
 
     @GetMapping("/api/v1/users/{id}/followers")
-    List<UserDTO> getFollowers(@PathVariable long id) {
-        return userService.getFollowers(id).stream().map(UserDTO::new).toList();
+    CursorSlice<UserSummary> getFollowers(@PathVariable long id,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int size) {
+        return userService.getFollowers(id, Cursor.decode(before), Math.min(Math.max(size, 1), 100));
     }
 
     @GetMapping("/api/v1/users/{id}/following")
-    List<UserDTO> getFollowing(@PathVariable long id) {
-        return userService.getFollowing(id).stream().map(UserDTO::new).toList();
+    CursorSlice<UserSummary> getFollowing(@PathVariable long id,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int size) {
+        return userService.getFollowing(id, Cursor.decode(before), Math.min(Math.max(size, 1), 100));
+    }
+
+    // Dışa aktarım: satır başına bir JSON (NDJSON), liste sayfa sayfa okunup akıtılır
+    @GetMapping("/api/v1/users/{id}/followers/export")
+    @PreAuthorize("isAuthenticated()")
+    ResponseEntity<StreamingResponseBody> exportFollowers(@PathVariable long id) {
+        return exportFollowList(id, true, "followers");
+    }
+
+    @GetMapping("/api/v1/users/{id}/following/export")
+    @PreAuthorize("isAuthenticated()")
+    ResponseEntity<StreamingResponseBody> exportFollowing(@PathVariable long id) {
+        return exportFollowList(id, false, "following");
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportFollowList(long id, boolean followers, String name) {
+        // Kullanıcı yoksa akış başlamadan 404 dönsün
+        userService.getUser(id);
+        StreamingResponseBody body = outputStream -> {
+            try {
+                userService.forEachFollowPage(id, followers, EXPORT_PAGE_SIZE, page -> {
+                    try {
+                        for (UserSummary summary : page) {
+                            outputStream.write(objectMapper.writeValueAsBytes(summary));
+                            outputStream.write('\n');
+                        }
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "-" + id + ".ndjson\"")
+            .body(body);
     }
 
     @GetMapping("/api/v1/users/{id}/follow-status")
@@ -1,9 +1,14 @@
 package com.hoaxify.ws.user;
 
+import java.util.Date;
+
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "user_following")
+@Table(name = "user_following", indexes = {
+    @Index(name = "idx_user_following_following_id", columnList = "following_id, id"),
+    @Index(name = "idx_user_following_follower_id", columnList = "follower_id, id")
+})
 public class UserFollowing {
 
     @Id
@@ -18,6 +23,10 @@ public class UserFollowing {
     @JoinColumn(name = "following_id", nullable = false)  
     private User following;
 
+    // Eski kayıtlarda null; sıralama artan ID ile yapılır (ID takip sırasını izler)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt = new Date();
+
     public UserFollowing() {}
 
     public UserFollowing(User follower, User following) {
@@ -48,4 +57,12 @@ public class UserFollowing {
     public void setFollowing(User following) {
         this.following = following;
     }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
 } 
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.hoaxify.ws.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.hoaxify.ws.user.dto.UserSummary;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,9 +28,42 @@ public interface UserFollowingRepository extends JpaRepository<UserFollowing, Lo
     @Query("SELECT COUNT(uf) FROM UserFollowing uf WHERE uf.following = :following")
     Long countFollowersByFollowing(@Param("following") User following);
 
+    @Query("SELECT uf.follower.id FROM UserFollowing uf WHERE uf.following.id = :userId")
+    List<Long> findFollowerIds(@Param("userId") long userId);
+
+    @Query("SELECT uf.following.id FROM UserFollowing uf WHERE uf.follower.id = :userId")
+    List<Long> findFollowingIds(@Param("userId") long userId);
+
+    @Query("SELECT COUNT(uf) FROM UserFollowing uf WHERE uf.following.id = :userId")
+    long countFollowersByUserId(@Param("userId") long userId);
+
+    @Query("SELECT COUNT(uf) FROM UserFollowing uf WHERE uf.follower.id = :userId")
+    long countFollowingByUserId(@Param("userId") long userId);
+
+    boolean existsByFollowerIdAndFollowingId(long followerId, long followingId);
+
+    // Takip listeleri: en yeni takip önce, takip kaydı ID'si üzerinden keyset (User entity'si yüklenmeden)
+    @Query("SELECT new com.hoaxify.ws.user.dto.UserSummary(u.id, u.username, u.image, uf.createdAt, uf.id) " +
+           "FROM UserFollowing uf JOIN uf.follower u WHERE uf.following.id = :userId AND uf.id < :beforeId ORDER BY uf.id DESC")
+    List<UserSummary> findFollowerSummaries(@Param("userId") long userId, @Param("beforeId") long beforeId, Pageable pageable);
+
+    @Query("SELECT new com.hoaxify.ws.user.dto.UserSummary(u.id, u.username, u.image, uf.createdAt, uf.id) " +
+           "FROM UserFollowing uf JOIN uf.following u WHERE uf.follower.id = :userId AND uf.id < :beforeId ORDER BY uf.id DESC")
+    List<UserSummary> findFollowingSummaries(@Param("userId") long userId, @Param("beforeId") long beforeId, Pageable pageable);
+
+    // Takip grafiğinin yüklenmesi için ID sırasında sayfalı: [id, followerId, followingId]
+    @Query("SELECT uf.id, uf.follower.id, uf.following.id FROM UserFollowing uf WHERE uf.id > :lastId ORDER BY uf.id")
+    List<Object[]> findEdgesAfter(@Param("lastId") long lastId, Pageable pageable);
+
     boolean existsByFollowerAndFollowing(User follower, User following);
 
     void deleteByFollowerAndFollowing(User follower, User following);
-    
-    void deleteByFollowerOrFollowing(User follower, User following);
-} 
\ No newline at end of file
+
+    // Hesap silme işi: kullanıcının takip ilişkileri sınırlı gruplar halinde
+    @Query("SELECT uf.id FROM UserFollowing uf WHERE uf.follower.id = :userId OR uf.following.id = :userId ORDER BY uf.id")
+    List<Long> findIdsByUserId(@Param("userId") long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM UserFollowing uf WHERE uf.id IN (:ids)")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
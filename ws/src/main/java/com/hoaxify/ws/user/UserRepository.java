@@ -3,8 +3,13 @@ package com.hoaxify.ws.user;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     
@@ -14,6 +19,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     User findByPasswordResetToken(String token);
 
+    // İmzalı token'ların önbelleğe alınmadan önceki aktiflik kontrolü
+    boolean existsByIdAndActiveTrue(long id);
+
     Page<User> findByIdNot(long id, Pageable page);
 
     // Arama sorguları - sadece aktif kullanıcılar
@@ -31,4 +39,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
         @Param("keyword") String keyword, 
         @Param("currentUserId") long currentUserId, 
         Pageable pageable);
+
+    // Öneri listeleri için hafif özet: [id, username, image] (sadece aktif kullanıcılar)
+    @Query("SELECT u.id, u.username, u.image FROM User u WHERE u.id IN (:ids) AND u.active = true")
+    List<Object[]> findSummaryRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Girişte maliyeti değişen özet yenilenir; arada şifre değiştiyse (özet farklı) dokunulmaz
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id AND u.password = :current")
+    int updatePasswordHash(@Param("id") long id, @Param("current") String current, @Param("password") String password);
+
+    // Zaman akışı doldurma geçişi: özellikten önceki hesaplar (alan null)
+    boolean existsByTimelineSeededIsNull();
+
+    boolean existsByIdAndTimelineSeededIsNull(long id);
+
+    @Query("SELECT u.id FROM User u WHERE u.timelineSeeded IS NULL ORDER BY u.id")
+    List<Long> findIdsWithoutSeededTimeline(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE User u SET u.timelineSeeded = true WHERE u.id IN (:ids)")
+    int markTimelineSeeded(@Param("ids") Collection<Long> ids);
 }
@@ -1,46 +1,47 @@
 package com.hoaxify.ws.user;
 
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.List;
 import java.util.Date;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.mail.MailException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.hoaxify.ws.auth.PasswordHashService;
+import com.hoaxify.ws.cache.EntityCache;
 import com.hoaxify.ws.configuration.CurrentUser;
 import com.hoaxify.ws.email.EmailService;
+import com.hoaxify.ws.feed.FeedService;
 import com.hoaxify.ws.file.FileService;
+import com.hoaxify.ws.graph.FollowGraphService;
+import com.hoaxify.ws.graph.SuggestionService;
+import com.hoaxify.ws.shared.Cursor;
+import com.hoaxify.ws.shared.CursorSlice;
 import com.hoaxify.ws.user.dto.PasswordResetRequest;
 import com.hoaxify.ws.user.dto.PasswordUpdate;
+import com.hoaxify.ws.user.dto.UserSummary;
 import com.hoaxify.ws.user.dto.UserUpdate;
 import com.hoaxify.ws.user.exception.ActivationNotificationException;
 import com.hoaxify.ws.user.exception.InvalidTokenException;
 import com.hoaxify.ws.user.exception.NotFoundException;
 import com.hoaxify.ws.user.exception.NotUniqueEmailException;
-
-// İlişkili repository'leri import et
-import com.hoaxify.ws.post.PostRepository;
-import com.hoaxify.ws.post.PostLikeRepository;
-import com.hoaxify.ws.comment.CommentRepository;
-import com.hoaxify.ws.message.MessageRepository;
-import com.hoaxify.ws.message.ConversationRepository;
-import com.hoaxify.ws.file.FileAttachmentRepository;
 import com.hoaxify.ws.notification.NotificationService;
 import com.hoaxify.ws.notification.NotificationType;
-import com.hoaxify.ws.notification.NotificationRepository;
-import com.hoaxify.ws.notification.Notification;
-import com.hoaxify.ws.comment.CommentLikeRepository;
-import com.hoaxify.ws.comment.Comment;
 
 @Service
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
     UserRepository userRepository;
 
@@ -48,7 +49,7 @@ public class UserService {
     UserFollowingRepository userFollowingRepository;
 
     @Autowired
-    PasswordEncoder passwordEncoder;
+    PasswordHashService passwordHashService;
 
     @Autowired
     EmailService emailService;
@@ -56,33 +57,20 @@ public class UserService {
     @Autowired
     FileService fileService;
 
-    // İlişkili veri silme için gerekli repository'ler
-    @Autowired
-    PostRepository postRepository;
-
-    @Autowired
-    PostLikeRepository postLikeRepository;
-
     @Autowired
-    CommentRepository commentRepository;
-
-    @Autowired
-    MessageRepository messageRepository;
+    NotificationService notificationService;
 
     @Autowired
-    ConversationRepository conversationRepository;
+    FeedService feedService;
 
     @Autowired
-    FileAttachmentRepository fileAttachmentRepository;
-    
-    @Autowired
-    NotificationService notificationService;
+    EntityCache entityCache;
 
     @Autowired
-    NotificationRepository notificationRepository;
+    FollowGraphService followGraphService;
 
     @Autowired
-    CommentLikeRepository commentLikeRepository;
+    SuggestionService suggestionService;
 
     @Transactional(rollbackFor = MailException.class)
     public void save(User user){
@@ -90,17 +78,18 @@ public class UserService {
             // Eğer aynı email'le inactive bir kullanıcı varsa, onu sil ve yeni kayıt yap
             User existingUser = userRepository.findByEmail(user.getEmail());
             if (existingUser != null && !existingUser.isActive()) {
-                System.out.println("Inactive kullanıcı bulundu ve siliniyor: " + existingUser.getEmail());
+                log.debug("Inactive kullanıcı bulundu ve siliniyor: {}", existingUser.getEmail());
                 userRepository.delete(existingUser);
                 userRepository.flush(); // Silme işlemini hemen gerçekleştir
+                entityCache.users().invalidate(existingUser.getId());
             }
             
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            user.setPassword(passwordHashService.encode(user.getPassword()));
             user.setActivationToken(UUID.randomUUID().toString());
             userRepository.saveAndFlush(user);
             emailService.sendActivationEmail(user.getEmail(), user.getActivationToken());
             
-            System.out.println("Kullanıcı başarıyla kaydedildi: " + user.getEmail());
+            log.debug("Kullanıcı başarıyla kaydedildi: {}", user.getEmail());
         } catch (DataIntegrityViolationException ex){
             throw new NotUniqueEmailException();
         } catch (MailException ex) {
@@ -116,6 +105,7 @@ public class UserService {
         inDB.setActive(true);
         inDB.setActivationToken(null);
         userRepository.save(inDB);
+        entityCache.users().invalidate(inDB.getId());
     }
 
     public Page<User> getUsers(Pageable page, CurrentUser currentUser) {
@@ -125,11 +115,21 @@ public class UserService {
         return userRepository.findByIdNot(currentUser.getId(), page);
     }
 
+    // Önbellekten okunur - dönen nesne çağırana ait bir kopyadır
     public User getUser(long id) {
-        return userRepository.findById(id).orElseThrow(() -> new NotFoundException(id));
+        User user = entityCache.getUser(id, key -> userRepository.findById(key).orElse(null));
+        if (user == null) {
+            throw new NotFoundException(id);
+        }
+        return user;
     }
 
     public User getUserById(long id) {
+        return getUser(id);
+    }
+
+    // Değiştirilecek kayıtlar için önbelleği atlar
+    private User loadUserForUpdate(long id) {
         return userRepository.findById(id).orElseThrow(() -> new NotFoundException(id));
     }
 
@@ -138,187 +138,116 @@ public class UserService {
     }
 
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        entityCache.users().invalidate(savedUser.getId());
+        return savedUser;
     }
 
     public User updateUser(long id, UserUpdate userUpdate) {
-        System.out.println("=== UserService.updateUser başlatıldı ===");
-        System.out.println("User ID: " + id);
-        System.out.println("Username: " + userUpdate.username());
-        System.out.println("Bio: " + userUpdate.bio());
-        System.out.println("Image var mı: " + (userUpdate.image() != null));
-        System.out.println("Banner var mı: " + (userUpdate.banner() != null));
+        log.debug("User ID: {}", id);
+        log.debug("Username: {}", userUpdate.username());
+        log.debug("Bio: {}", userUpdate.bio());
+        log.debug("Image var mı: {}", (userUpdate.image() != null));
+        log.debug("Banner var mı: {}", (userUpdate.banner() != null));
         
-        User inDB = getUser(id);
+        User inDB = loadUserForUpdate(id);
         
         // Username sadece gönderilirse güncelle
         if(userUpdate.username() != null && !userUpdate.username().trim().isEmpty()) {
             inDB.setUsername(userUpdate.username());
-            System.out.println("Username güncellendi: " + userUpdate.username());
+            log.debug("Username güncellendi: {}", userUpdate.username());
         } else {
-            System.out.println("Username güncellenmedi (null veya boş)");
+            log.debug("Username güncellenmedi (null veya boş)");
         }
         
         // Profil fotoğrafı güncelleme
         if(userUpdate.image() != null) {
-            System.out.println("Profil fotoğrafı güncelleniyor...");
+            log.debug("Profil fotoğrafı güncelleniyor...");
             if(userUpdate.image().trim().isEmpty()) {
-                System.out.println("Profil fotoğrafı siliniyor...");
+                log.debug("Profil fotoğrafı siliniyor...");
                 // Boş string gönderildiyse profil fotoğrafını sil
                 if(inDB.getImage() != null) {
                     fileService.deleteProfileImage(inDB.getImage());
                     inDB.setImage(null);
-                    System.out.println("Eski profil fotoğrafı silindi");
+                    log.debug("Eski profil fotoğrafı silindi");
                 }
             } else {
-                System.out.println("Yeni profil fotoğrafı kaydediliyor...");
-                System.out.println("Base64 data uzunluğu: " + userUpdate.image().length());
+                log.debug("Yeni profil fotoğrafı kaydediliyor...");
+                log.debug("Base64 data uzunluğu: {}", userUpdate.image().length());
                 // Yeni fotoğraf yükle
                 String fileName = fileService.saveBase64StringAsFile(userUpdate.image());
                 if(fileName != null) {
                     // Eski profil fotoğrafını sil (eğer varsa)
                     if(inDB.getImage() != null) {
                         fileService.deleteProfileImage(inDB.getImage());
-                        System.out.println("Eski profil fotoğrafı silindi: " + inDB.getImage());
+                        log.debug("Eski profil fotoğrafı silindi: {}", inDB.getImage());
                     }
                     inDB.setImage(fileName);
-                    System.out.println("Yeni profil fotoğrafı kaydedildi: " + fileName);
+                    log.debug("Yeni profil fotoğrafı kaydedildi: {}", fileName);
                 } else {
-                    System.err.println("Profil fotoğrafı kaydedilemedi!");
+                    log.error("Profil fotoğrafı kaydedilemedi!");
                 }
             }
         } else {
-            System.out.println("Profil fotoğrafı değiştirilmiyor (null)");
+            log.debug("Profil fotoğrafı değiştirilmiyor (null)");
         }
         
         // Banner fotoğrafı güncelleme
         if(userUpdate.banner() != null) {
-            System.out.println("Banner fotoğrafı güncelleniyor...");
+            log.debug("Banner fotoğrafı güncelleniyor...");
             if(userUpdate.banner().trim().isEmpty()) {
-                System.out.println("Banner fotoğrafı siliniyor...");
+                log.debug("Banner fotoğrafı siliniyor...");
                 // Boş string gönderildiyse banner'ı sil
                 if(inDB.getBanner() != null) {
                     fileService.deleteProfileImage(inDB.getBanner());
                     inDB.setBanner(null);
-                    System.out.println("Eski banner silindi");
+                    log.debug("Eski banner silindi");
                 }
             } else {
-                System.out.println("Yeni banner kaydediliyor...");
-                System.out.println("Banner Base64 data uzunluğu: " + userUpdate.banner().length());
+                log.debug("Yeni banner kaydediliyor...");
+                log.debug("Banner Base64 data uzunluğu: {}", userUpdate.banner().length());
                 // Yeni banner yükle
                 String bannerFileName = fileService.saveBase64StringAsFile(userUpdate.banner());
                 if(bannerFileName != null) {
                     // Eski banner'ı sil (eğer varsa)
                     if(inDB.getBanner() != null) {
                         fileService.deleteProfileImage(inDB.getBanner());
-                        System.out.println("Eski banner silindi: " + inDB.getBanner());
+                        log.debug("Eski banner silindi: {}", inDB.getBanner());
                     }
                     inDB.setBanner(bannerFileName);
-                    System.out.println("Yeni banner kaydedildi: " + bannerFileName);
+                    log.debug("Yeni banner kaydedildi: {}", bannerFileName);
                 } else {
-                    System.err.println("Banner kaydedilemedi!");
+                    log.error("Banner kaydedilemedi!");
                 }
             }
         } else {
-            System.out.println("Banner değiştirilmiyor (null)");
+            log.debug("Banner değiştirilmiyor (null)");
         }
         
         // Bio güncelleme - null kontrolü yap
         if(userUpdate.bio() != null) {
             inDB.setBio(userUpdate.bio().isEmpty() ? null : userUpdate.bio());
-            System.out.println("Bio güncellendi: '" + userUpdate.bio() + "'");
+            log.debug("Bio güncellendi: '{}'", userUpdate.bio());
         } else {
-            System.out.println("Bio null, güncellenmedi");
+            log.debug("Bio null, güncellenmedi");
         }
         
         User savedUser = userRepository.save(inDB);
-        System.out.println("=== UserService.updateUser tamamlandı ===");
-        System.out.println("Kaydedilen kullanıcı username: " + savedUser.getUsername());
-        System.out.println("Kaydedilen kullanıcı image: " + savedUser.getImage());
-        System.out.println("Kaydedilen kullanıcı banner: " + savedUser.getBanner());
-        System.out.println("Kaydedilen kullanıcı bio: " + savedUser.getBio());
+        entityCache.users().invalidate(id);
+        log.debug("Kaydedilen kullanıcı username: {}", savedUser.getUsername());
+        log.debug("Kaydedilen kullanıcı image: {}", savedUser.getImage());
+        log.debug("Kaydedilen kullanıcı banner: {}", savedUser.getBanner());
+        log.debug("Kaydedilen kullanıcı bio: {}", savedUser.getBio());
         
         return savedUser;
     }
 
-    @Transactional
-    public void deleteUser(long id) {
-        User inDB = getUser(id);
-        
-        try {
-            // 1. Kullanıcının mesajlarını ve konuşmalarını sil
-            messageRepository.deleteBySenderOrReceiver(inDB, inDB);
-            conversationRepository.deleteByUser1OrUser2(inDB, inDB);
-            
-            // 2. Kullanıcının bildirimleri sil
-            List<Notification> userNotifications = notificationRepository.findByTargetUser(inDB);
-            notificationRepository.deleteAll(userNotifications);
-            
-            // 3. Kullanıcının gönderdiği bildirimleri sil
-            List<Notification> sentNotifications = notificationRepository.findBySourceUser(inDB);
-            notificationRepository.deleteAll(sentNotifications);
-            
-            // 4. Kullanıcının postlarına yapılan beğenileri ve yorumları sil
-            List<com.hoaxify.ws.post.Post> userPosts = postRepository.findByUser(inDB);
-            for (com.hoaxify.ws.post.Post post : userPosts) {
-                postLikeRepository.deleteByPost(post);
-                
-                // Post'a yapılan yorumların beğenilerini sil
-                List<Comment> postComments = commentRepository.findByPost(post, org.springframework.data.domain.Pageable.unpaged()).getContent();
-                for (Comment comment : postComments) {
-                    commentLikeRepository.deleteByComment(comment);
-                }
-                
-                commentRepository.deleteByPost(post);
-                fileAttachmentRepository.deleteByPost(post);
-                
-                // Post'a ait bildirimleri sil
-                notificationService.deleteNotificationsByPostId(post.getId());
-            }
-            
-            // 5. Kullanıcının postlarını sil
-            postRepository.deleteByUser(inDB);
-            
-            // 6. Kullanıcının diğer postlara yaptığı yorumlarının beğenilerini sil
-            List<Comment> userComments = commentRepository.findByUser(inDB, org.springframework.data.domain.Pageable.unpaged()).getContent();
-            for (Comment comment : userComments) {
-                commentLikeRepository.deleteByComment(comment);
-            }
-            
-            // 7. Kullanıcının diğer postlara yaptığı yorumları sil
-            commentRepository.deleteByUser(inDB);
-            
-            // 8. Kullanıcının yorum beğenilerini sil
-            commentLikeRepository.deleteByUser(inDB);
-            
-            // 9. Kullanıcının diğer postlara verdiği beğenileri sil
-            postLikeRepository.deleteByUser(inDB);
-            
-            // 10. Takip ilişkilerini sil (hem takip ettiği hem de takip edenleri)
-            userFollowingRepository.deleteByFollowerOrFollowing(inDB, inDB);
-            
-            // 11. Profil resmini sil
-            if(inDB.getImage() != null) {
-                fileService.deleteProfileImage(inDB.getImage());
-            }
-            
-            // 12. Kullanıcıyı sil (Token'lar cascade ile otomatik silinecek)
-            userRepository.delete(inDB);
-            
-            System.out.println("Kullanıcı ve tüm ilişkili verileri başarıyla silindi: " + inDB.getEmail());
-            
-        } catch (Exception e) {
-            System.err.println("Kullanıcı silinirken hata oluştu: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Hesap kapatılırken bir hata oluştu", e);
-        }
-    }
-
     public void handleResetRequest(PasswordResetRequest passwordResetRequest) {
         User inDB = findByEmail(passwordResetRequest.email());
         if(inDB == null) throw new NotFoundException(0);
         inDB.setPasswordResetToken(UUID.randomUUID().toString());
         this.userRepository.save(inDB);
+        entityCache.users().invalidate(inDB.getId());
         this.emailService.sendPasswordResetEmail(inDB.getEmail(), inDB.getPasswordResetToken());
       }
 
@@ -328,9 +257,10 @@ public class UserService {
             throw new InvalidTokenException();
         }
         inDB.setPasswordResetToken(null);
-        inDB.setPassword(passwordEncoder.encode(passwordUpdate.password()));
+        inDB.setPassword(passwordHashService.encode(passwordUpdate.password()));
         inDB.setActive(true);
         userRepository.save(inDB);
+        entityCache.users().invalidate(inDB.getId());
     }
 
     public void resendActivationEmail(String email) {
@@ -347,11 +277,12 @@ public class UserService {
             // Yeni aktivasyon token'ı oluştur
             user.setActivationToken(UUID.randomUUID().toString());
             userRepository.save(user);
+            entityCache.users().invalidate(user.getId());
             
             // Email'i yeniden gönder
             emailService.sendActivationEmail(user.getEmail(), user.getActivationToken());
             
-            System.out.println("Aktivasyon e-postası yeniden gönderildi: " + email);
+            log.debug("Aktivasyon e-postası yeniden gönderildi: {}", email);
         } catch (MailException ex) {
             throw new ActivationNotificationException();
         }
@@ -374,6 +305,11 @@ public class UserService {
 
         UserFollowing userFollowing = new UserFollowing(follower, following);
         userFollowingRepository.save(userFollowing);
+        followGraphService.onFollow(followerId, followingId);
+        suggestionService.onFollowChanged(followerId);
+        
+        // Takip edilen kullanıcının son gönderilerini zaman akışına ekle
+        feedService.onFollow(followerId, followingId);
         
         // Takip bildirimi oluştur
         notificationService.createNotification(
@@ -395,37 +331,66 @@ public class UserService {
         }
 
         userFollowingRepository.deleteByFollowerAndFollowing(follower, following);
+        followGraphService.onUnfollow(followerId, followingId);
+        suggestionService.onFollowChanged(followerId);
+        feedService.onUnfollow(followerId, followingId);
         
         // Takip bildirimini sil
         notificationService.deleteFollowNotification(follower, following);
     }
 
+    // Takip sorguları bellekteki takip grafiğinden yanıtlanır
     public boolean isFollowing(long followerId, long followingId) {
-        User follower = getUser(followerId);
-        User following = getUser(followingId);
-        return userFollowingRepository.existsByFollowerAndFollowing(follower, following);
+        return followGraphService.isFollowing(followerId, followingId);
+    }
+
+    // Takip listeleri sayfalı: before imleci verilmezse en yeni takipten başlar
+    public CursorSlice<UserSummary> getFollowers(long userId, Cursor before, int size) {
+        getUser(userId);
+        long beforeId = before != null ? before.id() : Long.MAX_VALUE;
+        return CursorSlice.of(userFollowingRepository.findFollowerSummaries(userId, beforeId, PageRequest.of(0, size + 1)),
+            size, false, true, UserService::cursorOf);
     }
 
-    public List<User> getFollowing(long userId) {
-        User user = getUser(userId);
-        return userFollowingRepository.findFollowingByFollower(user);
+    public CursorSlice<UserSummary> getFollowing(long userId, Cursor before, int size) {
+        getUser(userId);
+        long beforeId = before != null ? before.id() : Long.MAX_VALUE;
+        return CursorSlice.of(userFollowingRepository.findFollowingSummaries(userId, beforeId, PageRequest.of(0, size + 1)),
+            size, false, true, UserService::cursorOf);
     }
 
-    public List<User> getFollowers(long userId) {
-        User user = getUser(userId);
-        return userFollowingRepository.findFollowersByFollowing(user);
+    /**
+     * Dışa aktarım için tüm listeyi sayfa sayfa okur; bellekte aynı anda tek sayfa tutulur.
+     * followers false ise takip edilenler okunur.
+     */
+    public void forEachFollowPage(long userId, boolean followers, int pageSize, Consumer<List<UserSummary>> pageConsumer) {
+        getUser(userId);
+        long beforeId = Long.MAX_VALUE;
+        List<UserSummary> page;
+        do {
+            page = followers
+                ? userFollowingRepository.findFollowerSummaries(userId, beforeId, PageRequest.of(0, pageSize))
+                : userFollowingRepository.findFollowingSummaries(userId, beforeId, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) break;
+            pageConsumer.accept(page);
+            beforeId = page.get(page.size() - 1).followId();
+        } while (page.size() == pageSize);
+    }
+
+    private static Cursor cursorOf(UserSummary summary) {
+        long followedAt = summary.followedAt() != null ? summary.followedAt().getTime() : 0;
+        return new Cursor(followedAt, summary.followId());
     }
 
     public Long getFollowingCount(long userId) {
-        User user = getUser(userId);
-        return userFollowingRepository.countFollowingByFollower(user);
+        return followGraphService.getFollowingCount(userId);
     }
 
     public Long getFollowersCount(long userId) {
-        User user = getUser(userId);
-        return userFollowingRepository.countFollowersByFollowing(user);
+        return followGraphService.getFollowerCount(userId);
     }
 
+
     // Arama fonksiyonları
 
     public Page<User> searchUsers(String keyword, Pageable pageable, CurrentUser currentUser) {
@@ -0,0 +1,19 @@
+package com.hoaxify.ws.user.deletion;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class AccountDeletionController {
+
+    @Autowired
+    AccountDeletionService accountDeletionService;
+
+    // Hesap pasifleştirildiği için oturum gerekmez; iş ID'si tahmin edilemez
+    @GetMapping("/api/v1/account-deletions/{jobId}")
+    AccountDeletionProgress getProgress(@PathVariable String jobId) {
+        return accountDeletionService.getProgress(jobId);
+    }
+}
@@ -0,0 +1,135 @@
+package com.hoaxify.ws.user.deletion;
+
+import java.util.Date;
+
+import jakarta.persistence.*;
+
+/**
+ * Arka planda çalışan hesap silme işinin kalıcı durumu. Her grup silme ile aynı transaction'da
+ * güncellenir; uygulama yeniden başlarsa iş kaldığı adımdan devam eder.
+ */
+@Entity
+@Table(name = "account_deletion_jobs", indexes = {
+    @Index(name = "idx_account_deletion_status", columnList = "status")
+}, uniqueConstraints = @UniqueConstraint(columnNames = {"user_id"}))
+public class AccountDeletionJob {
+
+    // Tahmin edilemez ID: kullanıcı çıkış yaptıktan sonra da durumu sorgulanabilir
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AccountDeletionStatus status = AccountDeletionStatus.PENDING;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AccountDeletionStep step = AccountDeletionStep.MESSAGES;
+
+    private long deletedRows;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date requestedAt = new Date();
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt = new Date();
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date finishedAt;
+
+    public AccountDeletionJob() {}
+
+    public AccountDeletionJob(String id, long userId) {
+        this.id = id;
+        this.userId = userId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public AccountDeletionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AccountDeletionStatus status) {
+        this.status = status;
+    }
+
+    public AccountDeletionStep getStep() {
+        return step;
+    }
+
+    public void setStep(AccountDeletionStep step) {
+        this.step = step;
+    }
+
+    public long getDeletedRows() {
+        return deletedRows;
+    }
+
+    public void setDeletedRows(long deletedRows) {
+        this.deletedRows = deletedRows;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Date getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(Date requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Date finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,14 @@
+package com.hoaxify.ws.user.deletion;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AccountDeletionJobRepository extends JpaRepository<AccountDeletionJob, String> {
+
+    Optional<AccountDeletionJob> findByUserId(long userId);
+
+    List<AccountDeletionJob> findByStatusIn(Collection<AccountDeletionStatus> statuses);
+}
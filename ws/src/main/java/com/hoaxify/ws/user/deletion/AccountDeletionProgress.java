@@ -0,0 +1,22 @@
+package com.hoaxify.ws.user.deletion;
+
+import java.util.Date;
+
+// Silme işinin istemciye dönen durumu; adım sırası AccountDeletionStep ile aynıdır
+public record AccountDeletionProgress(
+    String jobId,
+    AccountDeletionStatus status,
+    AccountDeletionStep step,
+    int completedSteps,
+    int totalSteps,
+    long deletedRows,
+    Date requestedAt,
+    Date updatedAt,
+    Date finishedAt) {
+
+    public AccountDeletionProgress(AccountDeletionJob job) {
+        this(job.getId(), job.getStatus(), job.getStep(), job.getStep().ordinal(),
+            AccountDeletionStep.DONE.ordinal(), job.getDeletedRows(),
+            job.getRequestedAt(), job.getUpdatedAt(), job.getFinishedAt());
+    }
+}
@@ -0,0 +1,452 @@
+package com.hoaxify.ws.user.deletion;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hoaxify.ws.auth.token.TokenService;
+import com.hoaxify.ws.cache.EntityCache;
+import com.hoaxify.ws.comment.Comment;
+import com.hoaxify.ws.comment.CommentLikeRepository;
+import com.hoaxify.ws.comment.CommentRepository;
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.counter.CounterService;
+import com.hoaxify.ws.counter.CounterType;
+import com.hoaxify.ws.feed.FeedService;
+import com.hoaxify.ws.feed.TimelineEntryRepository;
+import com.hoaxify.ws.file.FileAttachmentRepository;
+import com.hoaxify.ws.file.FileService;
+import com.hoaxify.ws.graph.FollowGraphService;
+import com.hoaxify.ws.graph.SuggestionService;
+import com.hoaxify.ws.message.ConversationRepository;
+import com.hoaxify.ws.message.MessageRepository;
+import com.hoaxify.ws.metrics.MetricsSource;
+import com.hoaxify.ws.notification.NotificationRepository;
+import com.hoaxify.ws.post.PostLikeRepository;
+import com.hoaxify.ws.post.PostRepository;
+import com.hoaxify.ws.post.dto.AttachmentView;
+import com.hoaxify.ws.trending.TrendingService;
+import com.hoaxify.ws.user.ProfileService;
+import com.hoaxify.ws.user.User;
+import com.hoaxify.ws.user.UserFollowingRepository;
+import com.hoaxify.ws.user.UserRepository;
+import com.hoaxify.ws.user.exception.NotFoundException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hesap silme arka plan işi. İstek anında hesap pasifleştirilir (oturumlar geçersiz olur) ve e-posta
+ * serbest bırakılır; veriler ardından adım adım, her biri ayrı transaction'da sınırlı gruplar halinde
+ * küme DELETE sorgularıyla silinir. İlerleme aynı transaction'da kaydedildiği için iş yarıda kalırsa
+ * (hata ya da yeniden başlatma) kaldığı yerden devam eder.
+ */
+@Service
+public class AccountDeletionService implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountDeletionService.class);
+
+    private static final Set<AccountDeletionStatus> RESUMABLE = EnumSet.of(AccountDeletionStatus.PENDING, AccountDeletionStatus.RUNNING);
+
+    @Autowired
+    AccountDeletionJobRepository jobRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    MessageRepository messageRepository;
+
+    @Autowired
+    ConversationRepository conversationRepository;
+
+    @Autowired
+    NotificationRepository notificationRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    CommentLikeRepository commentLikeRepository;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    PostLikeRepository postLikeRepository;
+
+    @Autowired
+    FileAttachmentRepository fileAttachmentRepository;
+
+    @Autowired
+    TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    UserFollowingRepository userFollowingRepository;
+
+    @Autowired
+    FileService fileService;
+
+    @Autowired
+    FeedService feedService;
+
+    @Autowired
+    FollowGraphService followGraphService;
+
+    @Autowired
+    SuggestionService suggestionService;
+
+    @Autowired
+    CounterService counterService;
+
+    @Autowired
+    TrendingService trendingService;
+
+    @Autowired
+    ProfileService profileService;
+
+    @Autowired
+    EntityCache entityCache;
+
+    @Autowired
+    TokenService tokenService;
+
+    @Autowired
+    HoaxifyProperties hoaxifyProperties;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    // İşler sırayla çalışır; silme veritabanına tek bağlantıdan fazla yük bindirmez
+    private ExecutorService executor;
+
+    // Kuyrukta ya da çalışmakta olan işler (aynı işin iki kez başlatılmaması için)
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder completedJobs = new LongAdder();
+
+    private final LongAdder failedRuns = new LongAdder();
+
+    private final LongAdder deletedRows = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-deletion");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        // Yarıda kalan iş bir sonraki açılışta kaldığı adımdan devam eder
+        executor.shutdownNow();
+    }
+
+    /**
+     * Silme isteğini kaydeder ve işi kuyruğa alır. Aynı kullanıcı için iş zaten varsa onu döner.
+     */
+    public AccountDeletionProgress requestDeletion(long userId) {
+        AccountDeletionJob job = transactionTemplate.execute(status -> {
+            Optional<AccountDeletionJob> existing = jobRepository.findByUserId(userId);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+            User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException(userId));
+            // Oturumlar TokenFilter'da pasif kullanıcı olarak reddedilir; e-posta yeni kayıt için serbest kalır
+            user.setActive(false);
+            user.setEmail("deleted-" + userId + "@deleted.invalid");
+            user.setActivationToken(null);
+            user.setPasswordResetToken(null);
+            userRepository.save(user);
+            return jobRepository.save(new AccountDeletionJob(UUID.randomUUID().toString(), userId));
+        });
+
+        entityCache.users().invalidate(userId);
+        tokenService.invalidateUser(userId);
+        followGraphService.onUserDeleted(userId);
+        suggestionService.onUserDeleted(userId);
+        submit(job.getId());
+        return new AccountDeletionProgress(job);
+    }
+
+    public AccountDeletionProgress getProgress(String jobId) {
+        AccountDeletionJob job = jobRepository.findById(jobId)
+            .orElseThrow(() -> new NotFoundException("hoaxify.deletion.job.not.found", jobId));
+        return new AccountDeletionProgress(job);
+    }
+
+    // Yeniden başlatmada yarıda kalan işler devam eder
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        for (AccountDeletionJob job : jobRepository.findByStatusIn(RESUMABLE)) {
+            log.info("yarıda kalan silme işi devam ediyor - kullanıcı {}, adım {}", job.getUserId(), job.getStep());
+            submit(job.getId());
+        }
+    }
+
+    // Hata alan işler deneme sınırına kadar yeniden çalıştırılır
+    @Scheduled(fixedDelayString = "${hoaxify.deletion.retry-interval-ms:60000}")
+    public void retryFailedJobs() {
+        int maxAttempts = hoaxifyProperties.getDeletion().getMaxAttempts();
+        for (AccountDeletionJob job : jobRepository.findByStatusIn(EnumSet.of(AccountDeletionStatus.FAILED))) {
+            if (job.getAttempts() < maxAttempts) {
+                submit(job.getId());
+            }
+        }
+    }
+
+    private void submit(String jobId) {
+        if (!inFlight.add(jobId)) return;
+        executor.execute(() -> {
+            try {
+                run(jobId);
+            } finally {
+                inFlight.remove(jobId);
+            }
+        });
+    }
+
+    private void run(String jobId) {
+        AccountDeletionJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == AccountDeletionStatus.COMPLETED) return;
+
+        job.setStatus(AccountDeletionStatus.RUNNING);
+        job.setAttempts(job.getAttempts() + 1);
+        job.setUpdatedAt(new Date());
+        job = jobRepository.save(job);
+
+        long userId = job.getUserId();
+        long startTime = System.currentTimeMillis();
+        try {
+            while (job.getStep() != AccountDeletionStep.DONE) {
+                if (Thread.currentThread().isInterrupted()) return;
+                AccountDeletionJob current = job;
+                long deletedBefore = current.getDeletedRows();
+                List<String> attachmentNames = new ArrayList<>();
+                // Grup silme ve ilerleme kaydı aynı transaction'da: yeniden başlatmada adım kaybolmaz ya da tekrarlanmaz
+                job = transactionTemplate.execute(status -> {
+                    int deleted = deleteBatch(userId, current.getStep(), attachmentNames);
+                    if (deleted == 0) {
+                        current.setStep(current.getStep().next());
+                    } else {
+                        current.setDeletedRows(current.getDeletedRows() + deleted);
+                    }
+                    current.setUpdatedAt(new Date());
+                    return jobRepository.save(current);
+                });
+                deletedRows.add(job.getDeletedRows() - deletedBefore);
+                // Dosyalar ancak satırlar commit edildikten sonra silinir
+                for (String name : attachmentNames) {
+                    fileService.deleteAttachmentFile(name);
+                }
+            }
+            job.setStatus(AccountDeletionStatus.COMPLETED);
+            job.setFinishedAt(new Date());
+            job.setLastError(null);
+            jobRepository.save(job);
+            completedJobs.increment();
+            log.info("kullanıcı {} silindi - {} satır, {} ms", userId, job.getDeletedRows(), (System.currentTimeMillis() - startTime));
+        } catch (Exception e) {
+            failedRuns.increment();
+            log.error("kullanıcı {} silinirken hata (adım {}): {}", userId, job.getStep(), e.getMessage(), e);
+            AccountDeletionJob failed = jobRepository.findById(jobId).orElse(job);
+            failed.setStatus(AccountDeletionStatus.FAILED);
+            String message = String.valueOf(e.getMessage());
+            failed.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+            failed.setUpdatedAt(new Date());
+            jobRepository.save(failed);
+        }
+    }
+
+    /**
+     * Adımın bir grubunu siler ve silinen satır sayısını döner; 0 adımın bittiğini gösterir.
+     */
+    private int deleteBatch(long userId, AccountDeletionStep step, List<String> attachmentNames) {
+        int batchSize = Math.max(1, hoaxifyProperties.getDeletion().getBatchSize());
+        Pageable batch = PageRequest.of(0, batchSize);
+        switch (step) {
+            case MESSAGES: {
+                List<Long> ids = messageRepository.findIdsByParticipant(userId, batch);
+                return ids.isEmpty() ? 0 : messageRepository.deleteByIds(ids);
+            }
+            case CONVERSATIONS: {
+                List<Long> ids = conversationRepository.findIdsByParticipant(userId, batch);
+                return ids.isEmpty() ? 0 : conversationRepository.deleteByIds(ids);
+            }
+            case NOTIFICATIONS: {
+                List<Long> ids = notificationRepository.findIdsForAccountDeletion(userId, batch);
+                return ids.isEmpty() ? 0 : notificationRepository.deleteByIds(ids);
+            }
+            case COMMENT_LIKES: {
+                List<Object[]> rows = commentLikeRepository.findIdsByUserId(userId, batch);
+                if (rows.isEmpty()) return 0;
+                List<Long> commentIds = secondColumn(rows);
+                int deleted = commentLikeRepository.deleteByIds(firstColumn(rows));
+                // Kullanıcı yorum başına en çok bir beğeni bırakır
+                commentRepository.addToLikeCount(commentIds, -1);
+                return deleted;
+            }
+            case POST_LIKES: {
+                List<Object[]> rows = postLikeRepository.findIdsByUserId(userId, batch);
+                if (rows.isEmpty()) return 0;
+                List<Long> postIds = secondColumn(rows);
+                int deleted = postLikeRepository.deleteByIds(firstColumn(rows));
+                postRepository.addToLikeCount(postIds, -1);
+                // Silinen hesabın beğenileri trend skorlarından da beğeni anındaki katkısıyla düşülür
+                for (Object[] row : rows) {
+                    trendingService.onUnlike((Long) row[1], (Date) row[2]);
+                }
+                return deleted;
+            }
+            case COMMENTS:
+                return deleteCommentsOfUser(userId, batchSize);
+            case POST_COMMENTS:
+                return deleteCommentsOnPostsOfUser(userId, batch);
+            case POSTS: {
+                // POST_COMMENTS adımından sonra eklenen yorumlar gönderiden önce silinir (yabancı anahtar)
+                int lateComments = deleteCommentsOnPostsOfUser(userId, batch);
+                if (lateComments > 0) return lateComments;
+                List<Long> ids = postRepository.findIdsByUserId(userId, batch);
+                if (ids.isEmpty()) return 0;
+                for (AttachmentView attachment : fileAttachmentRepository.findViewsByPostIds(ids)) {
+                    attachmentNames.add(attachment.getName());
+                }
+                postLikeRepository.deleteByPostIds(ids);
+                fileAttachmentRepository.deleteByPostIds(ids);
+                timelineEntryRepository.deleteByPostIds(ids);
+                for (Long postId : ids) {
+                    counterService.discard(CounterType.POST_LIKES, postId);
+                    counterService.discard(CounterType.POST_COMMENTS, postId);
+                    trendingService.removePost(postId);
+                    entityCache.posts().invalidate(postId);
+                }
+                return postRepository.deleteByIds(ids);
+            }
+            case FOLLOWS: {
+                List<Long> ids = userFollowingRepository.findIdsByUserId(userId, batch);
+                return ids.isEmpty() ? 0 : userFollowingRepository.deleteByIds(ids);
+            }
+            case ACCOUNT: {
+                Optional<User> user = userRepository.findById(userId);
+                if (user.isEmpty()) return 0;
+                // Zaman akışı kapasiteyle sınırlı, tek sorguda silinir
+                feedService.removeUser(userId);
+                fileService.deleteProfileImage(user.get().getImage());
+                // Token'lar cascade ile silinir
+                userRepository.delete(user.get());
+                entityCache.users().invalidate(userId);
+                profileService.invalidateCounters(userId);
+                followGraphService.onUserDeleted(userId);
+                return 1;
+            }
+            default:
+                return 0;
+        }
+    }
+
+    // En derindekiler önce gelir; yine de grup içindeki ebeveyn bağları koparılır
+    private int deleteCommentsOnPostsOfUser(long userId, Pageable batch) {
+        List<Long> ids = commentRepository.findIdsOnPostsOfUser(userId, batch);
+        if (ids.isEmpty()) return 0;
+        commentLikeRepository.deleteByCommentIds(ids);
+        commentRepository.detachChildren(ids);
+        for (Long commentId : ids) {
+            counterService.discard(CounterType.COMMENT_LIKES, commentId);
+        }
+        return commentRepository.deleteByIds(ids);
+    }
+
+    /**
+     * Kullanıcının yorumları alt ağaçlarıyla birlikte silinir (tek yorum silmeyle aynı davranış).
+     * Alt ağaçlar büyüyebileceği için grupta batchSize / 10 kök işlenir.
+     */
+    private int deleteCommentsOfUser(long userId, int batchSize) {
+        List<Object[]> roots = commentRepository.findRootsByUserId(userId, PageRequest.of(0, Math.max(1, batchSize / 10)));
+        int deleted = 0;
+        for (Object[] root : roots) {
+            long commentId = (Long) root[0];
+            String path = (String) root[1];
+            long postId = (Long) root[2];
+            List<Long> subtreeIds;
+            if (path == null) {
+                // Yolu henüz doldurulmamış eski kayıt: sadece kendisi, yanıtları üst seviyeye çıkar
+                subtreeIds = List.of(commentId);
+                commentLikeRepository.deleteByCommentIds(subtreeIds);
+                commentRepository.detachChildren(subtreeIds);
+                commentRepository.deleteByIds(subtreeIds);
+            } else {
+                // Aynı grupta önceki kökün alt ağacıyla silinmişse boş döner
+                String upper = Comment.subtreeUpperBound(path, commentId);
+                subtreeIds = commentRepository.findSubtreeIds(path, upper);
+                if (subtreeIds.isEmpty()) continue;
+                commentLikeRepository.deleteBySubtree(path, upper);
+                commentRepository.detachSubtree(path, upper);
+                commentRepository.deleteSubtree(path, upper);
+            }
+            postRepository.addToCommentCount(List.of(postId), -subtreeIds.size());
+            for (Long id : subtreeIds) {
+                counterService.discard(CounterType.COMMENT_LIKES, id);
+            }
+            deleted += subtreeIds.size();
+        }
+        return deleted;
+    }
+
+    private static List<Long> firstColumn(List<Object[]> rows) {
+        List<Long> values = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            values.add((Long) row[0]);
+        }
+        return values;
+    }
+
+    private static List<Long> secondColumn(List<Object[]> rows) {
+        List<Long> values = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            values.add((Long) row[1]);
+        }
+        return values;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "accountDeletion";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("inFlight", inFlight.size());
+        metrics.put("completedJobs", completedJobs.sum());
+        metrics.put("failedRuns", failedRuns.sum());
+        metrics.put("deletedRows", deletedRows.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,8 @@
+package com.hoaxify.ws.user.deletion;
+
+public enum AccountDeletionStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,20 @@
+package com.hoaxify.ws.user.deletion;
+
+// Silme adımları yabancı anahtar sırasına göre: bağımlı kayıtlar önce, kullanıcı satırı en son
+public enum AccountDeletionStep {
+    MESSAGES,
+    CONVERSATIONS,
+    NOTIFICATIONS,
+    COMMENT_LIKES,
+    POST_LIKES,
+    COMMENTS,
+    POST_COMMENTS,
+    POSTS,
+    FOLLOWS,
+    ACCOUNT,
+    DONE;
+
+    AccountDeletionStep next() {
+        return this == DONE ? DONE : values()[ordinal() + 1];
+    }
+}
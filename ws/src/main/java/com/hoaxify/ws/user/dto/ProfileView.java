@@ -0,0 +1,14 @@
+package com.hoaxify.ws.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Profil sayfasının tek yanıtı; isFollowing sadece başka bir kullanıcının profili görüntülenirken gelir
+public record ProfileView(
+    UserDTO user,
+    long followersCount,
+    long followingCount,
+    long postCount,
+    long likedCount,
+    long mediaCount,
+    @JsonInclude(JsonInclude.Include.NON_NULL) Boolean isFollowing) {
+}
@@ -0,0 +1,12 @@
+package com.hoaxify.ws.user.dto;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Takip listeleri için hafif kullanıcı özeti (banner/bio gibi büyük kolonlar okunmaz).
+ * followId takip kaydının ID'sidir; sıra ve imleç için kullanılır.
+ */
+public record UserSummary(long id, String username, String image, Date followedAt, @JsonIgnore long followId) {
+}
@@ -9,4 +9,9 @@ public class NotFoundException extends RuntimeException {
     public NotFoundException(long id){
         super(Messages.getMessageForLocale("hoaxify.user.not.found", LocaleContextHolder.getLocale(), id));
     }
+
+    // Kullanıcı dışındaki kayıtlar için: mesaj anahtarı ve parametreleri
+    public NotFoundException(String messageKey, Object... args){
+        super(Messages.getMessageForLocale(messageKey, LocaleContextHolder.getLocale(), args));
+    }
 }
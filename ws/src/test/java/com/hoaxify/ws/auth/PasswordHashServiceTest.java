@@ -0,0 +1,112 @@
+package com.hoaxify.ws.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.hoaxify.ws.auth.exception.PasswordHashingBusyException;
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+
+class PasswordHashServiceTest {
+
+    PasswordHashService passwordHashService;
+
+    CountDownLatch release = new CountDownLatch(1);
+
+    CountDownLatch started = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        HoaxifyProperties properties = new HoaxifyProperties();
+        properties.getAuth().setPasswordHashThreads(1);
+        properties.getAuth().setPasswordHashQueueSize(1);
+        properties.getAuth().setPasswordHashTimeoutMs(300);
+        passwordHashService = new PasswordHashService(properties);
+        passwordHashService.passwordEncoder = mock(PasswordEncoder.class);
+        passwordHashService.startHashExecutor();
+
+        // "slow" tek thread'i serbest bırakılana kadar meşgul eder
+        when(passwordHashService.passwordEncoder.encode("slow")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "slow-hash";
+        });
+        when(passwordHashService.passwordEncoder.encode("fast")).thenReturn("fast-hash");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHashService.stopHashExecutor();
+    }
+
+    @Test
+    void encodesOnHashPool() {
+        assertThat(passwordHashService.encode("fast")).isEqualTo("fast-hash");
+    }
+
+    @Test
+    void timedOutQueuedHashIsPurgedFromQueue() throws InterruptedException {
+        occupyWorker();
+
+        assertThatThrownBy(() -> passwordHashService.encode("fast")).isInstanceOf(PasswordHashingBusyException.class);
+
+        assertThat(passwordHashService.getMetrics().get("queued")).isEqualTo(0);
+        // Kuyrukta yer açıldığı için sonraki istek reddedilmez, sırasını bekler
+        assertThatThrownBy(() -> passwordHashService.encode("fast")).isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(passwordHashService.getMetrics().get("rejected")).isEqualTo(0L);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws InterruptedException {
+        occupyWorker();
+        Thread queued = new Thread(() -> {
+            try {
+                passwordHashService.encode("slow");
+            } catch (PasswordHashingBusyException e) {
+                // beklenen: zaman aşımı
+            }
+        });
+        queued.start();
+        waitUntilQueued();
+
+        assertThatThrownBy(() -> passwordHashService.encode("fast")).isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(passwordHashService.getMetrics().get("rejected")).isEqualTo(1L);
+        queued.join();
+    }
+
+    @Test
+    void costOfReadsBcryptCost() {
+        assertThat(PasswordHashService.costOf("$2a$12$abcdefghijklmnopqrstuv")).isEqualTo(12);
+        assertThat(PasswordHashService.costOf("plain")).isEqualTo(-1);
+        assertThat(PasswordHashService.costOf(null)).isEqualTo(-1);
+    }
+
+    private void occupyWorker() throws InterruptedException {
+        Thread worker = new Thread(() -> {
+            try {
+                passwordHashService.encode("slow");
+            } catch (PasswordHashingBusyException e) {
+                // çağıran zaman aşımına uğrar, iş thread'de çalışmaya devam eder
+            }
+        });
+        worker.start();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        for (int i = 0; i < 100 && !passwordHashService.getMetrics().get("queued").equals(1); i++) {
+            Thread.sleep(5);
+        }
+        assertThat(passwordHashService.getMetrics().get("queued")).isEqualTo(1);
+    }
+}
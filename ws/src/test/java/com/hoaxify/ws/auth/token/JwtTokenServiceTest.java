@@ -0,0 +1,104 @@
+package com.hoaxify.ws.auth.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.user.User;
+import com.hoaxify.ws.user.UserRepository;
+
+import io.jsonwebtoken.Jwts;
+
+class JwtTokenServiceTest {
+
+    UserRepository userRepository;
+
+    JwtTokenService tokenService;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        tokenService = new JwtTokenService(new HoaxifyProperties(), userRepository);
+        user = new User();
+        user.setId(5L);
+        user.setUsername("user5");
+        user.setActive(true);
+        when(userRepository.existsByIdAndActiveTrue(5L)).thenReturn(true);
+    }
+
+    @Test
+    void verifiedTokenIsCachedAfterOneActiveCheck() {
+        String header = header(tokenService.createToken(user, null));
+
+        assertThat(tokenService.verifyToken(header).isActive()).isTrue();
+        assertThat(tokenService.verifyToken(header).isActive()).isTrue();
+        verify(userRepository, times(1)).existsByIdAndActiveTrue(5L);
+    }
+
+    @Test
+    void deactivatedUserTokenIsRejectedAfterInvalidation() {
+        String header = header(tokenService.createToken(user, null));
+        tokenService.verifyToken(header);
+
+        when(userRepository.existsByIdAndActiveTrue(5L)).thenReturn(false);
+        tokenService.invalidateUser(5L);
+
+        assertThat(tokenService.verifyToken(header).isActive()).isFalse();
+        assertThat(tokenService.rotateToken(header)).isNull();
+    }
+
+    @Test
+    void rotationIssuesTokenForSameUser() {
+        String header = header(tokenService.createToken(user, null));
+
+        Token rotated = tokenService.rotateToken(header);
+
+        assertThat(rotated).isNotNull();
+        assertThat(rotated.getExpiresAt()).isAfter(new Date());
+        assertThat(tokenService.verifyToken(header(rotated)).getId()).isEqualTo(5L);
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        long now = System.currentTimeMillis();
+        String expired = Jwts.builder()
+            .setSubject("5")
+            .claim("username", "user5")
+            .claim("active", true)
+            .setIssuedAt(new Date(now - 2000))
+            .setExpiration(new Date(now - 1000))
+            .signWith(tokenService.key)
+            .compact();
+
+        assertThat(tokenService.verifyToken("Bearer " + expired)).isNull();
+        assertThat(tokenService.rotateToken("Bearer " + expired)).isNull();
+    }
+
+    @Test
+    void tokenWithoutExpirationIsRejectedAndNotRotated() {
+        // Bitiş zamanı eklenmeden önce imzalanmış token
+        String legacy = Jwts.builder()
+            .setSubject("5")
+            .claim("username", "user5")
+            .claim("active", true)
+            .signWith(tokenService.key)
+            .compact();
+
+        assertThat(tokenService.verifyToken("Bearer " + legacy)).isNull();
+        assertThat(tokenService.rotateToken("Bearer " + legacy)).isNull();
+    }
+
+    private static String header(Token token) {
+        return token.getPrefix() + " " + token.getToken();
+    }
+}
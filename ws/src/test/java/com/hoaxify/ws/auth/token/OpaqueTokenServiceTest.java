@@ -0,0 +1,115 @@
+package com.hoaxify.ws.auth.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.hoaxify.ws.cache.EntityCache;
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.user.User;
+import com.hoaxify.ws.user.UserRepository;
+
+class OpaqueTokenServiceTest {
+
+    HoaxifyProperties properties;
+
+    OpaqueTokenService tokenService;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HoaxifyProperties();
+        properties.getAuth().setTokenSweepBatchSize(2);
+        tokenService = new OpaqueTokenService(properties);
+        tokenService.tokenRepository = mock(TokenRepository.class);
+        tokenService.userRepository = mock(UserRepository.class);
+        tokenService.entityCache = new EntityCache(properties);
+        user = new User();
+        user.setId(5L);
+        user.setUsername("user5");
+        user.setActive(true);
+        when(tokenService.userRepository.findById(5L)).thenReturn(Optional.of(user));
+        when(tokenService.tokenRepository.save(any(Token.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void createdTokenExpiresAfterConfiguredDays() {
+        Token token = tokenService.createToken(user, null);
+
+        long lifetime = token.getExpiresAt().getTime() - token.getIssuedAt().getTime();
+        assertThat(lifetime).isEqualTo(properties.getAuth().getTokenExpirationDays() * 24L * 60 * 60 * 1000);
+    }
+
+    @Test
+    void verifiedTokenIsCached() {
+        principal("t1", future());
+
+        assertThat(tokenService.verifyToken("Bearer t1").getId()).isEqualTo(5L);
+        assertThat(tokenService.verifyToken("Bearer t1").getId()).isEqualTo(5L);
+        verify(tokenService.tokenRepository, times(1)).findPrincipalByToken("t1");
+    }
+
+    @Test
+    void expiredTokenIsRejectedAndNotRotated() {
+        principal("t1", new Date(System.currentTimeMillis() - 1000));
+
+        assertThat(tokenService.verifyToken("Bearer t1")).isNull();
+        assertThat(tokenService.rotateToken("Bearer t1")).isNull();
+    }
+
+    @Test
+    void rotationReplacesTokenAndRejectsOldOne() {
+        principal("t1", future());
+        tokenService.verifyToken("Bearer t1");
+
+        Token rotated = tokenService.rotateToken("Bearer t1");
+        when(tokenService.tokenRepository.findPrincipalByToken("t1")).thenReturn(Optional.empty());
+
+        assertThat(rotated.getToken()).isNotEqualTo("t1");
+        assertThat(rotated.getUser()).isSameAs(user);
+        verify(tokenService.tokenRepository).deleteById("t1");
+        assertThat(tokenService.verifyToken("Bearer t1")).isNull();
+    }
+
+    @Test
+    void inactiveUserTokenIsNotRotated() {
+        user.setActive(false);
+        principal("t1", future());
+
+        assertThat(tokenService.rotateToken("Bearer t1")).isNull();
+    }
+
+    @Test
+    void sweepDeletesExpiredTokensInBatches() {
+        when(tokenService.tokenRepository.findExpiredTokens(any(Date.class), any(Pageable.class)))
+            .thenReturn(List.of("a", "b"), List.of("c"));
+        when(tokenService.tokenRepository.deleteByTokens(anyCollection())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        tokenService.sweepExpiredTokens();
+
+        verify(tokenService.tokenRepository).deleteByTokens(List.of("a", "b"));
+        verify(tokenService.tokenRepository).deleteByTokens(List.of("c"));
+        verify(tokenService.tokenRepository, times(2)).findExpiredTokens(any(Date.class), any(Pageable.class));
+    }
+
+    private void principal(String token, Date expiresAt) {
+        when(tokenService.tokenRepository.findPrincipalByToken(token)).thenReturn(Optional.of(new TokenPrincipal(5L, expiresAt)));
+    }
+
+    private static Date future() {
+        return new Date(System.currentTimeMillis() + 60_000);
+    }
+}
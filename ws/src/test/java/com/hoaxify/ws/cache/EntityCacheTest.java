@@ -0,0 +1,98 @@
+package com.hoaxify.ws.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.post.Post;
+import com.hoaxify.ws.user.User;
+
+class EntityCacheTest {
+
+    EntityCache entityCache;
+
+    AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        entityCache = new EntityCache(new HoaxifyProperties());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void cachedUserIsLoadedOnceAndCopiedPerCall() {
+        User first = entityCache.getUser(1L, this::loadUser);
+        User second = entityCache.getUser(1L, this::loadUser);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(first).isNotSameAs(second);
+        assertThat(second.getUsername()).isEqualTo("user1");
+    }
+
+    @Test
+    void changesToReturnedUserDoNotLeakIntoCache() {
+        User user = entityCache.getUser(1L, this::loadUser);
+        user.setUsername("changed");
+        user.setActive(false);
+
+        User again = entityCache.getUser(1L, this::loadUser);
+
+        assertThat(again.getUsername()).isEqualTo("user1");
+        assertThat(again.isActive()).isTrue();
+    }
+
+    @Test
+    void lazyCollectionsAreNotCarriedIntoCopies() {
+        User user = entityCache.getUser(1L, id -> {
+            User loaded = loadUser(id);
+            loaded.setTokens(List.of());
+            return loaded;
+        });
+
+        assertThat(user.getTokens()).isNull();
+    }
+
+    @Test
+    void missingEntityIsNotCached() {
+        assertThat(entityCache.getUser(2L, id -> { loads.incrementAndGet(); return null; })).isNull();
+        assertThat(entityCache.getUser(2L, id -> { loads.incrementAndGet(); return null; })).isNull();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidatedPostIsReloaded() {
+        entityCache.getPost(5L, this::loadPost);
+        entityCache.posts().invalidate(5L);
+        Post post = entityCache.getPost(5L, this::loadPost);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(post.getUser()).isNotNull();
+        assertThat(post.getUser().getId()).isEqualTo(1L);
+    }
+
+    private User loadUser(long id) {
+        loads.incrementAndGet();
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setActive(true);
+        return user;
+    }
+
+    private Post loadPost(long id) {
+        loads.incrementAndGet();
+        Post post = new Post();
+        post.setId(id);
+        post.setContent("post");
+        User author = new User();
+        author.setId(1L);
+        post.setUser(author);
+        return post;
+    }
+}
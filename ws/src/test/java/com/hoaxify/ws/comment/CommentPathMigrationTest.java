@@ -0,0 +1,109 @@
+package com.hoaxify.ws.comment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.post.Post;
+import com.hoaxify.ws.user.User;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class CommentPathMigrationTest {
+
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    HoaxifyProperties properties;
+
+    CommentPathMigration migration;
+
+    Comment root;
+
+    Comment reply;
+
+    Comment nested;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HoaxifyProperties();
+        migration = new CommentPathMigration(properties);
+        migration.commentRepository = commentRepository;
+        migration.transactionManager = transactionManager;
+        migration.start();
+
+        User user = new User();
+        user.setUsername("commenter");
+        user.setEmail("commenter@mail.com");
+        testEntityManager.persist(user);
+        Post post = testEntityManager.persist(new Post("post", user));
+        // path alanı eklenmeden önce yazılmış ağaç: kök -> yanıt -> yanıtın yanıtı
+        root = testEntityManager.persist(new Comment("root", user, post));
+        reply = new Comment("reply", user, post);
+        reply.setParentComment(root);
+        testEntityManager.persist(reply);
+        nested = new Comment("nested", user, post);
+        nested.setParentComment(reply);
+        testEntityManager.persist(nested);
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void assignsPathsParentsFirstAcrossBatches() {
+        properties.getComments().setPathMigrationBatchSize(1);
+
+        migration.migrateBatches();
+        testEntityManager.clear();
+
+        Comment migratedRoot = testEntityManager.find(Comment.class, root.getId());
+        Comment migratedReply = testEntityManager.find(Comment.class, reply.getId());
+        Comment migratedNested = testEntityManager.find(Comment.class, nested.getId());
+        assertThat(migration.isComplete()).isTrue();
+        assertThat(migratedRoot.getPath()).isEqualTo(Comment.pathSegment(root.getId()));
+        assertThat(migratedRoot.getDepth()).isZero();
+        assertThat(migratedReply.getPath()).isEqualTo(migratedRoot.getPath() + Comment.pathSegment(reply.getId()));
+        assertThat(migratedReply.getDepth()).isEqualTo(1);
+        assertThat(migratedNested.getPath()).isEqualTo(migratedReply.getPath() + Comment.pathSegment(nested.getId()));
+        assertThat(migratedNested.getDepth()).isEqualTo(2);
+    }
+
+    @Test
+    void roundIsBoundedByMaxBatches() {
+        properties.getComments().setPathMigrationBatchSize(1);
+        properties.getComments().setPathMigrationMaxBatches(1);
+
+        migration.migrateBatches();
+
+        assertThat(migration.isComplete()).isFalse();
+        assertThat(commentRepository.existsByPathIsNull()).isTrue();
+        migration.migrateBatches();
+        migration.migrateBatches();
+        migration.migrateBatches();
+        assertThat(migration.isComplete()).isTrue();
+    }
+
+    @Test
+    void completeMigrationSkipsQueriesFromStartup() {
+        migration.checkComplete();
+        assertThat(migration.isComplete()).isFalse();
+
+        migration.migrateBatches();
+        migration.checkComplete();
+
+        assertThat(migration.isComplete()).isTrue();
+    }
+}
@@ -0,0 +1,83 @@
+package com.hoaxify.ws.comment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.hoaxify.ws.counter.CounterService;
+import com.hoaxify.ws.counter.CounterType;
+import com.hoaxify.ws.post.Post;
+import com.hoaxify.ws.post.PostService;
+import com.hoaxify.ws.user.User;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class CommentServiceTest {
+
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    CommentLikeRepository commentLikeRepository;
+
+    CommentService commentService;
+
+    User user;
+
+    Post post;
+
+    @BeforeEach
+    void setUp() {
+        commentService = new CommentService();
+        commentService.commentRepository = commentRepository;
+        commentService.commentLikeRepository = commentLikeRepository;
+        commentService.postService = mock(PostService.class);
+        commentService.counterService = mock(CounterService.class);
+
+        user = new User();
+        user.setUsername("commenter");
+        user.setEmail("commenter@mail.com");
+        testEntityManager.persist(user);
+        post = testEntityManager.persist(new Post("post", user));
+    }
+
+    @Test
+    void deletingLegacyThreadRemovesAndCountsWholeSubtree() {
+        // path alanı eklenmeden önce yazılmış ağaç: kök -> iki yanıt -> yanıtın yanıtı (beğenili)
+        Comment root = testEntityManager.persist(new Comment("root", user, post));
+        Comment reply = persistReply("reply", root);
+        Comment sibling = persistReply("sibling", root);
+        Comment nested = persistReply("nested", reply);
+        Comment other = testEntityManager.persist(new Comment("other", user, post));
+        testEntityManager.persist(new CommentLike(nested, user));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        commentService.deleteComment(root.getId(), user);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        assertThat(commentRepository.findAll()).extracting(Comment::getId).containsExactly(other.getId());
+        assertThat(commentLikeRepository.count()).isZero();
+        verify(commentService.postService).decreaseCommentCount(post.getId(), 4);
+        for (Comment removed : new Comment[] { root, reply, sibling, nested }) {
+            verify(commentService.counterService).discard(CounterType.COMMENT_LIKES, removed.getId());
+        }
+    }
+
+    private Comment persistReply(String content, Comment parent) {
+        Comment reply = new Comment(content, user, post);
+        reply.setParentComment(parent);
+        return testEntityManager.persist(reply);
+    }
+}
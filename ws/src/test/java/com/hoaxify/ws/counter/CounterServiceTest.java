@@ -0,0 +1,113 @@
+package com.hoaxify.ws.counter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hoaxify.ws.comment.CommentRepository;
+import com.hoaxify.ws.post.PostRepository;
+
+class CounterServiceTest {
+
+    CounterService counterService;
+
+    @BeforeEach
+    void setUp() {
+        counterService = new CounterService();
+        counterService.postRepository = mock(PostRepository.class);
+        counterService.commentRepository = mock(CommentRepository.class);
+    }
+
+    @Test
+    void flushWritesAggregatedDeltasGroupedByValue() {
+        counterService.increment(CounterType.POST_LIKES, 1L);
+        counterService.increment(CounterType.POST_LIKES, 1L);
+        counterService.increment(CounterType.POST_LIKES, 2L);
+        counterService.increment(CounterType.POST_LIKES, 2L);
+        counterService.increment(CounterType.POST_LIKES, 3L);
+        counterService.increment(CounterType.POST_COMMENTS, 1L);
+        counterService.decrement(CounterType.COMMENT_LIKES, 7L);
+
+        counterService.flush();
+
+        verify(counterService.postRepository).addToLikeCount(idsOf(1L, 2L), eq(2));
+        verify(counterService.postRepository).addToLikeCount(List.of(3L), 1);
+        verify(counterService.postRepository).addToCommentCount(List.of(1L), 1);
+        verify(counterService.commentRepository).addToLikeCount(List.of(7L), -1);
+        assertThat(counterService.getPending(CounterType.POST_LIKES, 1L)).isZero();
+    }
+
+    @Test
+    void offsettingChangesAreNotWritten() {
+        counterService.increment(CounterType.POST_LIKES, 1L);
+        counterService.decrement(CounterType.POST_LIKES, 1L);
+
+        counterService.flush();
+
+        verifyNoInteractions(counterService.postRepository);
+    }
+
+    @Test
+    void flushedDeltasAreNotWrittenTwice() {
+        counterService.increment(CounterType.POST_LIKES, 1L);
+        counterService.flush();
+        counterService.flush();
+
+        verify(counterService.postRepository).addToLikeCount(List.of(1L), 1);
+    }
+
+    @Test
+    void incrementsAfterIdleRoundAreStillFlushed() {
+        counterService.increment(CounterType.POST_LIKES, 1L);
+        counterService.flush();
+        // Boş turda sayaç haritadan çıkar; sonraki artış yeni sayaçla toplanır
+        counterService.flush();
+        counterService.increment(CounterType.POST_LIKES, 1L);
+        counterService.flush();
+
+        verify(counterService.postRepository, times(2)).addToLikeCount(List.of(1L), 1);
+    }
+
+    @Test
+    void failedWriteIsRetriedOnNextFlush() {
+        when(counterService.postRepository.addToLikeCount(anyCollection(), anyInt()))
+            .thenThrow(new RuntimeException("db down"))
+            .thenReturn(1);
+        counterService.increment(CounterType.POST_LIKES, 1L);
+
+        counterService.flush();
+        assertThat(counterService.getPending(CounterType.POST_LIKES, 1L)).isEqualTo(1);
+
+        counterService.flush();
+        verify(counterService.postRepository, times(2)).addToLikeCount(List.of(1L), 1);
+        assertThat(counterService.getPending(CounterType.POST_LIKES, 1L)).isZero();
+    }
+
+    @Test
+    void discardDropsPendingDelta() {
+        counterService.increment(CounterType.POST_COMMENTS, 5L);
+        counterService.discard(CounterType.POST_COMMENTS, 5L);
+
+        counterService.flush();
+
+        verify(counterService.postRepository, never()).addToCommentCount(anyCollection(), anyInt());
+    }
+
+    private static Collection<Long> idsOf(Long... ids) {
+        return argThat(actual -> actual.size() == ids.length && actual.containsAll(List.of(ids)));
+    }
+}
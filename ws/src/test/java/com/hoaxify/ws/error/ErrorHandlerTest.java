@@ -0,0 +1,33 @@
+package com.hoaxify.ws.error;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.hoaxify.ws.auth.exception.PasswordHashingBusyException;
+
+class ErrorHandlerTest {
+
+    ErrorHandler errorHandler = new ErrorHandler();
+
+    @Test
+    void busyHashPoolReturns503WithRetryAfter() {
+        ResponseEntity<ApiError> response = errorHandler.handleException(new PasswordHashingBusyException(),
+            new MockHttpServletRequest("POST", "/api/v1/auth"));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER))
+            .isEqualTo(Integer.toString(PasswordHashingBusyException.RETRY_AFTER_SECONDS));
+    }
+
+    @Test
+    void otherErrorsHaveNoRetryAfter() {
+        ResponseEntity<ApiError> response = errorHandler.handleException(new RuntimeException("x"),
+            new MockHttpServletRequest("GET", "/api/v1/users"));
+
+        assertThat(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+    }
+}
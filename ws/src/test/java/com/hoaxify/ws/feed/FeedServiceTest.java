@@ -0,0 +1,161 @@
+package com.hoaxify.ws.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.graph.FollowGraphService;
+import com.hoaxify.ws.post.Post;
+import com.hoaxify.ws.post.PostRepository;
+import com.hoaxify.ws.post.dto.PostView;
+import com.hoaxify.ws.user.User;
+import com.hoaxify.ws.user.UserRepository;
+
+// Servis kendi transaction'larını açtığı için testler transaction dışında çalışır ve tabloyu kendisi temizler
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FeedServiceTest {
+
+    @Autowired
+    TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    FeedService feedService;
+
+    TimelineSeedMigration timelineSeedMigration;
+
+    @BeforeEach
+    void setUp() {
+        feedService = new FeedService();
+        feedService.timelineEntryRepository = timelineEntryRepository;
+        feedService.postRepository = postRepository;
+        feedService.transactionManager = transactionManager;
+        feedService.followGraphService = mock(FollowGraphService.class);
+        feedService.hoaxifyProperties = new HoaxifyProperties();
+        feedService.hoaxifyProperties.getFeed().setTimelineCapacity(3);
+        when(feedService.followGraphService.getFollowerIds(1L)).thenReturn(new long[] { 2L, 3L });
+        when(feedService.followGraphService.getFollowingIds(2L)).thenReturn(new long[0]);
+        feedService.startFanOutExecutor();
+
+        timelineSeedMigration = new TimelineSeedMigration(feedService.hoaxifyProperties);
+        timelineSeedMigration.userRepository = userRepository;
+        timelineSeedMigration.timelineEntryRepository = timelineEntryRepository;
+        timelineSeedMigration.postRepository = postRepository;
+        timelineSeedMigration.followGraphService = feedService.followGraphService;
+        timelineSeedMigration.transactionManager = transactionManager;
+        timelineSeedMigration.start();
+        feedService.timelineSeedMigration = timelineSeedMigration;
+    }
+
+    @AfterEach
+    void tearDown() {
+        feedService.stopFanOutExecutor();
+        timelineEntryRepository.deleteAll();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void fanOutWritesAuthorAndFollowersOnce() {
+        PostCreatedEvent event = new PostCreatedEvent(100L, 1L, new Date());
+        feedService.fanOut(event);
+        // Yeniden deneme aynı kayıtları tekrar yazmaz
+        feedService.fanOut(event);
+
+        assertThat(timelineEntryRepository.findAll())
+            .extracting(TimelineEntry::getOwnerId)
+            .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void duplicateOwnerAndPostIsRejected() {
+        timelineEntryRepository.saveAndFlush(new TimelineEntry(2L, 100L, 1L, new Date()));
+
+        assertThatThrownBy(() -> timelineEntryRepository.saveAndFlush(new TimelineEntry(2L, 100L, 1L, new Date())))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void readingTimelineDoesNotTrimButScheduledTrimDoes() {
+        for (long postId = 1; postId <= 5; postId++) {
+            feedService.fanOut(new PostCreatedEvent(postId, 1L, new Date(1700000000000L + postId * 1000L)));
+        }
+        feedService.getHomeTimeline(2L, null, 10);
+        assertThat(timelineEntryRepository.findAll()).filteredOn(entry -> entry.getOwnerId() == 2L).hasSize(5);
+
+        feedService.trimPendingTimelines();
+
+        assertThat(timelineEntryRepository.findAll())
+            .filteredOn(entry -> entry.getOwnerId() == 2L)
+            .extracting(TimelineEntry::getPostId)
+            .containsExactlyInAnyOrder(3L, 4L, 5L);
+    }
+
+    @Test
+    void legacyFollowsStayVisibleAfterFirstFanOutAndAreSeededOnce() {
+        User author = saveUser("author", true);
+        // Zaman akışı özelliğinden önce takip eden hesap
+        User reader = saveUser("reader", null);
+        Post legacy = savePost(author, new Date(1700000000000L));
+        Post fresh = savePost(author, new Date(1700000100000L));
+        when(feedService.followGraphService.getFollowerIds(author.getId())).thenReturn(new long[] { reader.getId() });
+        when(feedService.followGraphService.getFollowingIds(reader.getId())).thenReturn(new long[] { author.getId() });
+
+        feedService.fanOut(new PostCreatedEvent(fresh.getId(), author.getId(), fresh.getCreatedAt()));
+
+        assertThat(homeTimelineIds(reader)).containsExactly(fresh.getId(), legacy.getId());
+
+        timelineSeedMigration.migrateBatches();
+
+        assertThat(timelineSeedMigration.isComplete()).isTrue();
+        assertThat(userRepository.existsByTimelineSeededIsNull()).isFalse();
+        assertThat(timelineEntryRepository.findAll())
+            .filteredOn(entry -> entry.getOwnerId() == reader.getId())
+            .extracting(TimelineEntry::getPostId)
+            .containsExactlyInAnyOrder(fresh.getId(), legacy.getId());
+        assertThat(homeTimelineIds(reader)).containsExactly(fresh.getId(), legacy.getId());
+    }
+
+    private List<Long> homeTimelineIds(User user) {
+        return feedService.getHomeTimeline(user.getId(), null, 10).getContent().stream().map(PostView::getId).toList();
+    }
+
+    private User saveUser(String username, Boolean timelineSeeded) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@mail.com");
+        user.setTimelineSeeded(timelineSeeded);
+        return userRepository.save(user);
+    }
+
+    private Post savePost(User author, Date createdAt) {
+        Post post = new Post("post", author);
+        post.setCreatedAt(createdAt);
+        return postRepository.save(post);
+    }
+}
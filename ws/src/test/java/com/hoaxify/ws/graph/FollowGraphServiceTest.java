@@ -0,0 +1,116 @@
+package com.hoaxify.ws.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hoaxify.ws.user.UserFollowingRepository;
+
+class FollowGraphServiceTest {
+
+    FollowGraphService followGraphService;
+
+    List<Object[]> edges = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        followGraphService = new FollowGraphService();
+        followGraphService.userFollowingRepository = mock(UserFollowingRepository.class);
+        when(followGraphService.userFollowingRepository.findEdgesAfter(anyLong(), any(Pageable.class)))
+            .thenAnswer(invocation -> {
+                long lastId = invocation.getArgument(0);
+                return edges.stream().filter(edge -> (Long) edge[0] > lastId).toList();
+            });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadsEdgesIntoSortedSets() {
+        edge(1, 1L, 3L);
+        edge(2, 1L, 2L);
+        edge(3, 2L, 3L);
+        followGraphService.load();
+
+        assertThat(followGraphService.getFollowingIds(1L)).containsExactly(2L, 3L);
+        assertThat(followGraphService.getFollowerIds(3L)).containsExactly(1L, 2L);
+        assertThat(followGraphService.getFollowerCount(3L)).isEqualTo(2);
+        assertThat(followGraphService.getFollowingCount(2L)).isEqualTo(1);
+        assertThat(followGraphService.isFollowing(1L, 2L)).isTrue();
+        assertThat(followGraphService.isFollowing(2L, 1L)).isFalse();
+        assertThat(followGraphService.getFollowerIds(99L)).isEmpty();
+    }
+
+    @Test
+    void fallsBackToDatabaseUntilLoaded() {
+        when(followGraphService.userFollowingRepository.existsByFollowerIdAndFollowingId(1L, 2L)).thenReturn(true);
+        when(followGraphService.userFollowingRepository.countFollowersByUserId(2L)).thenReturn(5L);
+        when(followGraphService.userFollowingRepository.findFollowingIds(1L)).thenReturn(List.of(9L, 2L));
+
+        assertThat(followGraphService.isFollowing(1L, 2L)).isTrue();
+        assertThat(followGraphService.getFollowerCount(2L)).isEqualTo(5);
+        assertThat(followGraphService.getFollowingIds(1L)).containsExactly(2L, 9L);
+    }
+
+    @Test
+    void followAndUnfollowUpdateBothDirections() {
+        followGraphService.load();
+
+        followGraphService.onFollow(1L, 3L);
+        followGraphService.onFollow(1L, 2L);
+        assertThat(followGraphService.getFollowingIds(1L)).containsExactly(2L, 3L);
+        assertThat(followGraphService.getFollowerIds(2L)).containsExactly(1L);
+
+        followGraphService.onUnfollow(1L, 3L);
+        assertThat(followGraphService.getFollowingIds(1L)).containsExactly(2L);
+        assertThat(followGraphService.getFollowerCount(3L)).isZero();
+    }
+
+    @Test
+    void changesApplyOnlyAfterCommit() {
+        followGraphService.load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        followGraphService.onFollow(1L, 2L);
+        assertThat(followGraphService.isFollowing(1L, 2L)).isFalse();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(followGraphService.isFollowing(1L, 2L)).isTrue();
+    }
+
+    @Test
+    void userDeletionRemovesAllEdgesOfUser() {
+        edge(1, 1L, 2L);
+        edge(2, 2L, 3L);
+        edge(3, 3L, 2L);
+        followGraphService.load();
+
+        followGraphService.onUserDeleted(2L);
+
+        assertThat(followGraphService.getFollowingIds(1L)).isEmpty();
+        assertThat(followGraphService.getFollowerIds(3L)).isEmpty();
+        assertThat(followGraphService.getFollowerCount(2L)).isZero();
+        assertThat(followGraphService.getFollowingCount(2L)).isZero();
+    }
+
+    private void edge(long id, long followerId, long followingId) {
+        edges.add(new Object[] { id, followerId, followingId });
+    }
+}
@@ -0,0 +1,85 @@
+package com.hoaxify.ws.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.graph.dto.SuggestedUser;
+import com.hoaxify.ws.user.UserRepository;
+
+class SuggestionServiceTest {
+
+    SuggestionService suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        suggestionService = new SuggestionService(new HoaxifyProperties());
+        suggestionService.followGraphService = mock(FollowGraphService.class);
+        suggestionService.userRepository = mock(UserRepository.class);
+        suggestionService.startComputeExecutor();
+
+        // 1 -> 2, 3; 2 -> 10..79 (70 aday); 3 -> 10, 11 (iki ortak takip)
+        when(suggestionService.followGraphService.getFollowingIds(anyLong())).thenReturn(new long[0]);
+        when(suggestionService.followGraphService.getFollowingIds(1L)).thenReturn(new long[] { 2L, 3L });
+        when(suggestionService.followGraphService.getFollowingIds(2L)).thenReturn(LongStream.rangeClosed(10, 79).toArray());
+        when(suggestionService.followGraphService.getFollowingIds(3L)).thenReturn(new long[] { 10L, 11L });
+        when(suggestionService.userRepository.findSummaryRowsByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> new Object[] { id, "user" + id, null }).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        suggestionService.stopComputeExecutor();
+    }
+
+    @Test
+    void missReturnsImmediatelyAndComputesInBackground() throws InterruptedException {
+        assertThat(suggestionService.getSuggestions(1L, 10)).isEmpty();
+
+        List<SuggestedUser> suggestions = awaitSuggestions(1L, 10);
+
+        assertThat(suggestions).hasSize(10);
+        assertThat(suggestions.subList(0, 2)).extracting(SuggestedUser::id).containsExactly(10L, 11L);
+        assertThat(suggestions.get(0).mutualCount()).isEqualTo(2);
+    }
+
+    @Test
+    void computesUpToMaxSize() throws InterruptedException {
+        suggestionService.getSuggestions(1L, 50);
+
+        assertThat(suggestionService.getMaxSize()).isEqualTo(50);
+        assertThat(awaitSuggestions(1L, 50)).hasSize(50);
+    }
+
+    @Test
+    void followedCandidatesAreFilteredOnRead() throws InterruptedException {
+        suggestionService.getSuggestions(1L, 10);
+        awaitSuggestions(1L, 10);
+
+        when(suggestionService.followGraphService.isFollowing(1L, 10L)).thenReturn(true);
+
+        assertThat(suggestionService.getSuggestions(1L, 10)).extracting(SuggestedUser::id).doesNotContain(10L);
+    }
+
+    private List<SuggestedUser> awaitSuggestions(long userId, int size) throws InterruptedException {
+        List<SuggestedUser> suggestions = List.of();
+        for (int i = 0; i < 100 && suggestions.isEmpty(); i++) {
+            Thread.sleep(20);
+            suggestions = suggestionService.getSuggestions(userId, size);
+        }
+        return suggestions;
+    }
+}
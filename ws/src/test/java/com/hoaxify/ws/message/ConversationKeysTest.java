@@ -0,0 +1,47 @@
+package com.hoaxify.ws.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ConversationKeysTest {
+
+    @Test
+    void keyIsIndependentOfParticipantOrder() {
+        assertThat(ConversationKeys.of(7, 3)).isEqualTo(ConversationKeys.of(3, 7));
+    }
+
+    @Test
+    void keyRoundTripsThroughTextId() {
+        long key = ConversationKeys.of(12, 5);
+
+        assertThat(ConversationKeys.format(key)).isEqualTo("5_12");
+        assertThat(ConversationKeys.parse("5_12")).isEqualTo(key);
+        assertThat(ConversationKeys.firstUserId(key)).isEqualTo(5);
+        assertThat(ConversationKeys.secondUserId(key)).isEqualTo(12);
+    }
+
+    @Test
+    void malformedTextIdsAreRejected() {
+        assertThat(ConversationKeys.parse(null)).isEqualTo(-1);
+        assertThat(ConversationKeys.parse("12_5")).isEqualTo(-1);
+        assertThat(ConversationKeys.parse("5_12_3")).isEqualTo(-1);
+        assertThat(ConversationKeys.parse("a_b")).isEqualTo(-1);
+        assertThat(ConversationKeys.parse("_5")).isEqualTo(-1);
+    }
+
+    @Test
+    void participantCheckUsesBothHalves() {
+        long key = ConversationKeys.of(5, 12);
+
+        assertThat(ConversationKeys.hasParticipant(key, 5)).isTrue();
+        assertThat(ConversationKeys.hasParticipant(key, 12)).isTrue();
+        assertThat(ConversationKeys.hasParticipant(key, 6)).isFalse();
+    }
+
+    @Test
+    void idsWiderThan32BitsAreRejected() {
+        assertThatThrownBy(() -> ConversationKeys.of(1, 1L << 32)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.hoaxify.ws.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.hoaxify.ws.user.User;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class MessageRepositoryTest {
+
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    @Autowired
+    MessageRepository messageRepository;
+
+    @Autowired
+    ConversationRepository conversationRepository;
+
+    User alice;
+
+    User bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = persistUser("alice");
+        bob = persistUser("bob");
+    }
+
+    @Test
+    void historyIsReadInOrderByConversationKey() {
+        Message first = persistMessage(alice, bob, new Date(1000));
+        Message second = persistMessage(bob, alice, new Date(2000));
+        Message third = persistMessage(alice, bob, new Date(3000));
+        long key = ConversationKeys.of(alice.getId(), bob.getId());
+
+        List<Message> head = messageRepository.findFirstInConversation(key, PageRequest.of(0, 2));
+        List<Message> rest = messageRepository.findInConversationAfter(key, second.getCreatedAt(), second.getId(), PageRequest.of(0, 2));
+
+        assertThat(head).extracting(Message::getId).containsExactly(first.getId(), second.getId());
+        assertThat(rest).extracting(Message::getId).containsExactly(third.getId());
+    }
+
+    @Test
+    void markAsReadOnlyTouchesReceiverRows() {
+        persistMessage(alice, bob, new Date(1000));
+        persistMessage(bob, alice, new Date(2000));
+        long key = ConversationKeys.of(alice.getId(), bob.getId());
+
+        int updated = messageRepository.markMessagesAsRead(key, bob.getId());
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(messageRepository.countUnreadMessagesInConversation(key, alice.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void migrationAssignsKeysComputedFromParticipants() {
+        Message legacy = persistMessage(bob, alice, new Date(1000));
+        legacy.setConversationKey(null);
+        Conversation conversation = new Conversation(ConversationKeys.of(alice.getId(), bob.getId()), alice, bob);
+        conversation.setConversationKey(null);
+        testEntityManager.persist(conversation);
+        testEntityManager.flush();
+
+        List<Long> messageIds = messageRepository.findIdsWithoutConversationKey(PageRequest.of(0, 10));
+        List<Long> conversationIds = conversationRepository.findIdsWithoutConversationKey(PageRequest.of(0, 10));
+        messageRepository.assignConversationKeys(messageIds);
+        conversationRepository.assignConversationKeys(conversationIds);
+        testEntityManager.clear();
+
+        long expected = ConversationKeys.of(alice.getId(), bob.getId());
+        assertThat(messageRepository.findById(legacy.getId()).orElseThrow().getConversationKey()).isEqualTo(expected);
+        assertThat(conversationRepository.findByConversationKey(expected)).isPresent();
+        assertThat(messageRepository.existsByConversationKeyIsNull()).isFalse();
+        assertThat(conversationRepository.existsByConversationKeyIsNull()).isFalse();
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@mail.com");
+        return testEntityManager.persist(user);
+    }
+
+    private Message persistMessage(User sender, User receiver, Date createdAt) {
+        Message message = new Message("merhaba", sender, receiver);
+        message.setCreatedAt(createdAt);
+        return testEntityManager.persistAndFlush(message);
+    }
+}
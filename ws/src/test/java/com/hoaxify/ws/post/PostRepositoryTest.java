@@ -0,0 +1,99 @@
+package com.hoaxify.ws.post;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.hoaxify.ws.post.dto.PostView;
+import com.hoaxify.ws.user.User;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class PostRepositoryTest {
+
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    @Autowired
+    PostRepository postRepository;
+
+    User author;
+
+    @BeforeEach
+    void setUp() {
+        author = new User();
+        author.setUsername("author");
+        author.setEmail("author@mail.com");
+        testEntityManager.persist(author);
+        // Aynı zaman damgalı gönderiler: sıralama id ile belirlenir
+        Date sameTime = new Date(1700000000000L);
+        for (int i = 0; i < 5; i++) {
+            persistPost(i < 3 ? sameTime : new Date(1700000000000L + i * 1000L));
+        }
+        testEntityManager.flush();
+    }
+
+    @Test
+    void keysetPagesVisitEveryPostOnceNewestFirst() {
+        List<Long> visited = new ArrayList<>();
+        List<PostView> page = postRepository.findLatestViews(PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(view -> visited.add(view.getId()));
+            PostView last = page.get(page.size() - 1);
+            page = postRepository.findViewsOlderThan(last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+        }
+
+        assertThat(visited).hasSize(5).doesNotHaveDuplicates();
+        List<Long> expected = postRepository.findAll().stream()
+            .sorted((a, b) -> a.getCreatedAt().equals(b.getCreatedAt())
+                ? Long.compare(b.getId(), a.getId())
+                : b.getCreatedAt().compareTo(a.getCreatedAt()))
+            .map(Post::getId)
+            .toList();
+        assertThat(visited).isEqualTo(expected);
+    }
+
+    @Test
+    void newerThanReturnsOnlyLaterPostsAscending() {
+        List<PostView> latest = postRepository.findLatestViews(PageRequest.of(0, 5));
+        PostView oldest = latest.get(latest.size() - 1);
+
+        List<PostView> newer = postRepository.findViewsNewerThan(oldest.getCreatedAt(), oldest.getId(), PageRequest.of(0, 10));
+
+        assertThat(newer).hasSize(4);
+        assertThat(newer.get(newer.size() - 1).getId()).isEqualTo(latest.get(0).getId());
+    }
+
+    @Test
+    void latestViewsByUserIgnoresOtherAuthors() {
+        User other = new User();
+        other.setUsername("other");
+        other.setEmail("other@mail.com");
+        testEntityManager.persist(other);
+        Post foreign = new Post();
+        foreign.setUser(other);
+        testEntityManager.persistAndFlush(foreign);
+
+        List<PostView> views = postRepository.findLatestViewsByUser(author, PageRequest.of(0, 10));
+
+        assertThat(views).hasSize(5).allMatch(view -> view.getUser().getId() == author.getId());
+    }
+
+    private void persistPost(Date createdAt) {
+        Post post = new Post();
+        post.setContent("post");
+        post.setUser(author);
+        post.setCreatedAt(createdAt);
+        testEntityManager.persist(post);
+    }
+}
@@ -0,0 +1,44 @@
+package com.hoaxify.ws.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.hoaxify.ws.configuration.CurrentUser;
+import com.hoaxify.ws.user.User;
+
+class RateLimitFilterTest {
+
+    RateLimitFilter filter = new RateLimitFilter(null, null);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void anonymousRequestIsKeyedByResolvedClientAddressNotHeader() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth");
+        // RemoteIpValve tarafından çözülmüş adres; ham başlık istemci tarafından değiştirilebilir
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+
+        assertThat(filter.keyOf(request)).isEqualTo("ip203.0.113.7");
+    }
+
+    @Test
+    void authenticatedRequestIsKeyedByUser() {
+        User user = new User();
+        user.setId(42L);
+        user.setActive(true);
+        CurrentUser principal = new CurrentUser(user);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        assertThat(filter.keyOf(new MockHttpServletRequest("POST", "/api/v1/posts"))).isEqualTo("u42");
+    }
+}
@@ -0,0 +1,77 @@
+package com.hoaxify.ws.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+
+class RateLimitServiceTest {
+
+    AtomicLong clock = new AtomicLong(1700000000000L);
+
+    RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        HoaxifyProperties properties = new HoaxifyProperties();
+        // 3 jetonluk kova, saniyede 1 jeton
+        properties.getRateLimit().setPolicies(Map.of("test", new HoaxifyProperties.RateLimit.Policy(3, 1)));
+        rateLimitService = new RateLimitService(properties, clock::get);
+    }
+
+    @Test
+    void burstUpToCapacityThenRejectsWithWaitTime() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimitService.tryAcquire("test", "ip1")).isZero();
+        }
+
+        assertThat(rateLimitService.tryAcquire("test", "ip1")).isEqualTo(1000);
+    }
+
+    @Test
+    void tokensRefillOverTimeWithoutLosingFractions() {
+        for (int i = 0; i < 3; i++) {
+            rateLimitService.tryAcquire("test", "ip1");
+        }
+
+        // Yarım saniyelik iki adım tek jeton eder
+        clock.addAndGet(500);
+        assertThat(rateLimitService.tryAcquire("test", "ip1")).isEqualTo(500);
+        clock.addAndGet(500);
+        assertThat(rateLimitService.tryAcquire("test", "ip1")).isZero();
+        assertThat(rateLimitService.tryAcquire("test", "ip1")).isPositive();
+    }
+
+    @Test
+    void refillNeverExceedsCapacity() {
+        rateLimitService.tryAcquire("test", "ip1");
+        clock.addAndGet(60_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimitService.tryAcquire("test", "ip1")).isZero();
+        }
+        assertThat(rateLimitService.tryAcquire("test", "ip1")).isPositive();
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        for (int i = 0; i < 3; i++) {
+            rateLimitService.tryAcquire("test", "ip1");
+        }
+
+        assertThat(rateLimitService.tryAcquire("test", "ip1")).isPositive();
+        assertThat(rateLimitService.tryAcquire("test", "ip2")).isZero();
+    }
+
+    @Test
+    void unknownPolicyAlwaysAllows() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimitService.tryAcquire("missing", "ip1")).isZero();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hoaxify.ws.shared;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.hoaxify.ws.user.User;
+import com.hoaxify.ws.user.UserService;
+
+class CurrentUserArgumentResolverTest {
+
+    CurrentUserArgumentResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new CurrentUserArgumentResolver();
+        resolver.userService = mock(UserService.class);
+        // Önbellek gibi her çağrıda yeni kopya
+        when(resolver.userService.getUser(7L)).thenAnswer(invocation -> user(7L));
+        User principalUser = user(7L);
+        principalUser.setActive(true);
+        com.hoaxify.ws.configuration.CurrentUser principal = new com.hoaxify.ws.configuration.CurrentUser(principalUser);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void userIsLoadedOncePerRequest() throws Exception {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        Object first = resolver.resolveArgument(null, null, request, null);
+        Object second = resolver.resolveArgument(null, null, request, null);
+
+        assertThat(first).isSameAs(second);
+        verify(resolver.userService, times(1)).getUser(7L);
+    }
+
+    @Test
+    void concurrentRequestsGetSeparateInstances() throws Exception {
+        User first = (User) resolver.resolveArgument(null, null, new ServletWebRequest(new MockHttpServletRequest()), null);
+        User second = (User) resolver.resolveArgument(null, null, new ServletWebRequest(new MockHttpServletRequest()), null);
+        first.setUsername("changed");
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getUsername()).isEqualTo("user7");
+    }
+
+    @Test
+    void anonymousRequestResolvesToNull() throws Exception {
+        SecurityContextHolder.clearContext();
+
+        assertThat(resolver.resolveArgument(null, null, new ServletWebRequest(new MockHttpServletRequest()), null)).isNull();
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        return user;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hoaxify.ws.shared;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.hoaxify.ws.shared.exception.InvalidCursorException;
+
+class CursorTest {
+
+    @Test
+    void encodedCursorDecodesToSameValues() {
+        Cursor cursor = Cursor.of(new Date(1700000000000L), 42);
+
+        assertThat(Cursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void blankCursorDecodesToNull() {
+        assertThat(Cursor.decode(null)).isNull();
+        assertThat(Cursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> Cursor.decode("not-a-cursor!")).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void sliceDropsExtraRowAndReportsNext() {
+        List<Long> fetched = List.of(5L, 4L, 3L);
+
+        CursorSlice<Long> slice = CursorSlice.of(fetched, 2, false, true, id -> new Cursor(id * 1000, id));
+
+        assertThat(slice.getContent()).containsExactly(5L, 4L);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(Cursor.decode(slice.getBeforeCursor()).id()).isEqualTo(4L);
+        assertThat(Cursor.decode(slice.getAfterCursor()).id()).isEqualTo(5L);
+    }
+
+    @Test
+    void reversedSliceIsReturnedInDisplayOrder() {
+        // Daha yeni kayıtlar artan sırayla çekilir, en yeni önce döner
+        List<Long> fetched = List.of(6L, 7L);
+
+        CursorSlice<Long> slice = CursorSlice.of(fetched, 2, true, true, id -> new Cursor(id * 1000, id));
+
+        assertThat(slice.getContent()).containsExactly(7L, 6L);
+        assertThat(slice.hasNext()).isFalse();
+    }
+}
@@ -0,0 +1,83 @@
+package com.hoaxify.ws.shared;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class TtlCacheTest {
+
+    TtlCache<Long, String> cache = new TtlCache<>(1600, Duration.ofMinutes(1));
+
+    @Test
+    void loadsOnceAndServesFromCache() {
+        assertThat(cache.get(1L, key -> "v1")).isEqualTo("v1");
+        assertThat(cache.get(1L, key -> "v2")).isEqualTo("v1");
+        assertThat(cache.stats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    void invalidateDuringLoadDoesNotStoreStaleValue() {
+        String loaded = cache.get(1L, key -> {
+            cache.invalidate(key);
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    void invalidateIfDuringLoadDoesNotStoreStaleValueEvenWithoutMatches() {
+        // Yükleme sürerken önbellekte eşleşen kayıt yok; yine de yüklenen değer saklanmamalı
+        String loaded = cache.get(1L, key -> {
+            cache.invalidateIf(value -> value.startsWith("user1"));
+            return "user1-old";
+        });
+
+        assertThat(loaded).isEqualTo("user1-old");
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    void invalidateAllDuringLoadDoesNotStoreStaleValue() {
+        cache.get(1L, key -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    void invalidateIfRemovesOnlyMatchingEntries() {
+        cache.put(1L, "user1-a");
+        cache.put(2L, "user2-a");
+
+        cache.invalidateIf(value -> value.startsWith("user1"));
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThat(cache.getIfPresent(2L)).isEqualTo("user2-a");
+    }
+
+    @Test
+    void expiredEntryIsReloaded() {
+        TtlCache<Long, String> shortLived = new TtlCache<>(16, Duration.ZERO);
+        shortLived.put(1L, "old");
+
+        assertThat(shortLived.getIfPresent(1L)).isNull();
+        assertThat(shortLived.get(1L, key -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    void sizeIsBoundedByEvictingLeastRecentlyUsed() {
+        TtlCache<Long, String> small = new TtlCache<>(16, Duration.ofMinutes(1));
+        for (long key = 0; key < 1000; key++) {
+            small.put(key, "v" + key);
+        }
+
+        assertThat(small.size()).isLessThanOrEqualTo(16);
+        assertThat((Long) small.stats().get("evictions")).isPositive();
+    }
+}
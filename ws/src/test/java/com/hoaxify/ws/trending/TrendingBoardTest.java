@@ -0,0 +1,64 @@
+package com.hoaxify.ws.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class TrendingBoardTest {
+
+    static final long NOW = 1700000000000L;
+
+    static final long HOUR = Duration.ofHours(1).toMillis();
+
+    @Test
+    void unlikeRemovesOriginalContributionOfOldLike() {
+        TrendingBoard board = new TrendingBoard(TrendingWindow.DAY, NOW - 12 * HOUR, 100);
+        // 1 numaralı gönderi: 12 saat önceki beğeni + yeni beğeni; 2 numaralı: tek yeni beğeni
+        board.record(1L, 1.0, NOW - 12 * HOUR, NOW);
+        board.record(1L, 1.0, NOW, NOW);
+        board.record(2L, 1.0, NOW, NOW);
+
+        // Eski beğeni geri alınınca iki gönderi eşitlenir; şimdiki ağırlık düşülse 1 numara 2'nin altına inerdi
+        board.retract(1L, 1.0, NOW - 12 * HOUR);
+        board.record(2L, 0.01, NOW, NOW);
+
+        assertThat(board.top(2)).containsExactly(2L, 1L);
+        board.record(1L, 0.02, NOW, NOW);
+        assertThat(board.top(2)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void retractNeverLeavesNegativeScore() {
+        TrendingBoard board = new TrendingBoard(TrendingWindow.DAY, NOW, 100);
+        board.record(1L, 1.0, NOW, NOW);
+
+        board.retract(1L, 1.0, NOW);
+        board.retract(1L, 1.0, NOW);
+        board.record(1L, 1.0, NOW, NOW);
+
+        assertThat(board.top(1)).containsExactly(1L);
+    }
+
+    @Test
+    void retractOfUntrackedPostDoesNotTrackIt() {
+        TrendingBoard board = new TrendingBoard(TrendingWindow.DAY, NOW, 100);
+
+        board.retract(1L, 1.0, NOW);
+
+        assertThat(board.size()).isZero();
+    }
+
+    @Test
+    void trackedPostsStayBoundedAndKeepHighestScores() {
+        TrendingBoard board = new TrendingBoard(TrendingWindow.DAY, NOW, 8);
+        board.record(1000L, 50.0, NOW, NOW);
+        for (long postId = 1; postId <= 100; postId++) {
+            board.record(postId, 1.0, NOW, NOW);
+        }
+
+        assertThat(board.size()).isLessThanOrEqualTo(8);
+        assertThat(board.top(1)).containsExactly(1000L);
+    }
+}
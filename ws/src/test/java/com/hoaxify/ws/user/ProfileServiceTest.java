@@ -0,0 +1,96 @@
+package com.hoaxify.ws.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hoaxify.ws.configuration.HoaxifyProperties;
+import com.hoaxify.ws.graph.FollowGraphService;
+import com.hoaxify.ws.post.PostLikeRepository;
+import com.hoaxify.ws.post.PostRepository;
+import com.hoaxify.ws.user.dto.ProfileView;
+
+class ProfileServiceTest {
+
+    ProfileService profileService;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        profileService = new ProfileService(new HoaxifyProperties());
+        profileService.userService = mock(UserService.class);
+        profileService.followGraphService = mock(FollowGraphService.class);
+        profileService.postRepository = mock(PostRepository.class);
+        profileService.postLikeRepository = mock(PostLikeRepository.class);
+        profileService.startQueryExecutor();
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("user1");
+        user.setEmail("user1@mail.com");
+        when(profileService.userService.getUser(1L)).thenAnswer(invocation -> user);
+        when(profileService.postRepository.countPostsAndMediaByUserId(1L)).thenReturn(List.<Object[]>of(new Object[] { 3L, 1L }));
+        when(profileService.postLikeRepository.countByUserId(1L)).thenReturn(5L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        profileService.stopQueryExecutor();
+    }
+
+    @Test
+    void etagIsComputedWithoutCounterQueries() {
+        profileService.etagOf(1L, 2L);
+
+        verifyNoInteractions(profileService.postRepository, profileService.postLikeRepository);
+    }
+
+    @Test
+    void etagIgnoresEmail() {
+        String before = profileService.etagOf(1L, null);
+        user.setEmail("changed@mail.com");
+
+        assertThat(profileService.etagOf(1L, null)).isEqualTo(before);
+    }
+
+    @Test
+    void etagChangesWhenProfileChanges() {
+        String initial = profileService.etagOf(1L, 2L);
+
+        profileService.invalidateCounters(1L);
+        String afterCounters = profileService.etagOf(1L, 2L);
+        when(profileService.followGraphService.isFollowing(2L, 1L)).thenReturn(true);
+        String afterFollow = profileService.etagOf(1L, 2L);
+        user.setBio("yeni");
+
+        assertThat(afterCounters).isNotEqualTo(initial);
+        assertThat(afterFollow).isNotEqualTo(afterCounters);
+        assertThat(profileService.etagOf(1L, 2L)).isNotEqualTo(afterFollow);
+    }
+
+    @Test
+    void countersAreCachedUntilInvalidated() {
+        ProfileView view = profileService.getProfile(1L, null);
+        profileService.getProfile(1L, null);
+
+        assertThat(view.postCount()).isEqualTo(3);
+        assertThat(view.likedCount()).isEqualTo(5);
+        assertThat(view.mediaCount()).isEqualTo(1);
+        verify(profileService.postLikeRepository, times(1)).countByUserId(1L);
+
+        profileService.invalidateCounters(1L);
+        when(profileService.postLikeRepository.countByUserId(1L)).thenReturn(6L);
+
+        assertThat(profileService.getProfile(1L, null).likedCount()).isEqualTo(6);
+    }
+}
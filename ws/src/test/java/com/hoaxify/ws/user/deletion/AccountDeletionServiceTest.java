@@ -0,0 +1,145 @@
+package com.hoaxify.ws.user.deletion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.hoaxify.ws.comment.Comment;
+import com.hoaxify.ws.comment.CommentRepository;
+import com.hoaxify.ws.post.Post;
+import com.hoaxify.ws.post.PostLike;
+import com.hoaxify.ws.post.PostLikeRepository;
+import com.hoaxify.ws.post.PostRepository;
+import com.hoaxify.ws.trending.TrendingService;
+import com.hoaxify.ws.user.User;
+import com.hoaxify.ws.user.UserRepository;
+import com.hoaxify.ws.user.exception.NotFoundException;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountDeletionServiceTest {
+
+    @Autowired
+    AccountDeletionService accountDeletionService;
+
+    @Autowired
+    AccountDeletionJobRepository jobRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    PostLikeRepository postLikeRepository;
+
+    @SpyBean
+    TrendingService trendingService;
+
+    User deleted;
+
+    User other;
+
+    @BeforeEach
+    void setUp() {
+        deleted = userRepository.save(user("deleted"));
+        other = userRepository.save(user("other"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        postLikeRepository.deleteAll();
+        postRepository.deleteAll();
+        jobRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void unknownJobIsNotFound() {
+        assertThatThrownBy(() -> accountDeletionService.getProgress("missing"))
+            .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void jobWalksEveryStepAndRemovesUserData() throws InterruptedException {
+        Post ownPost = postRepository.save(new Post("own", deleted));
+        Post otherPost = postRepository.save(new Post("other", other));
+        commentRepository.save(new Comment("on own post", other, ownPost));
+        commentRepository.save(new Comment("on other post", deleted, otherPost));
+
+        AccountDeletionProgress progress = awaitCompletion(accountDeletionService.requestDeletion(deleted.getId()).jobId());
+
+        assertThat(progress.step()).isEqualTo(AccountDeletionStep.DONE);
+        assertThat(progress.completedSteps()).isEqualTo(progress.totalSteps());
+        assertThat(userRepository.findById(deleted.getId())).isEmpty();
+        assertThat(postRepository.findById(ownPost.getId())).isEmpty();
+        assertThat(postRepository.findById(otherPost.getId())).isPresent();
+        assertThat(commentRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void postsStepRemovesCommentsAddedAfterPostCommentsStep() throws InterruptedException {
+        Post ownPost = postRepository.save(new Post("own", deleted));
+        // POST_COMMENTS adımı geçilmişken gelen yorum
+        commentRepository.save(new Comment("late", other, ownPost));
+        AccountDeletionJob job = new AccountDeletionJob(UUID.randomUUID().toString(), deleted.getId());
+        job.setStep(AccountDeletionStep.POSTS);
+        jobRepository.save(job);
+
+        accountDeletionService.resumeUnfinishedJobs();
+        AccountDeletionProgress progress = awaitCompletion(job.getId());
+
+        assertThat(progress.status()).isEqualTo(AccountDeletionStatus.COMPLETED);
+        assertThat(postRepository.findById(ownPost.getId())).isEmpty();
+        assertThat(commentRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void likesOfDeletedUserAreRetractedFromTrending() throws InterruptedException {
+        Post otherPost = postRepository.save(new Post("other", other));
+        PostLike like = new PostLike(otherPost, deleted);
+        Date likedAt = new Date(System.currentTimeMillis() - 60_000);
+        like.setCreatedAt(likedAt);
+        postLikeRepository.save(like);
+
+        awaitCompletion(accountDeletionService.requestDeletion(deleted.getId()).jobId());
+
+        verify(trendingService).onUnlike(otherPost.getId(), likedAt);
+        assertThat(postLikeRepository.count()).isZero();
+    }
+
+    private AccountDeletionProgress awaitCompletion(String jobId) throws InterruptedException {
+        AccountDeletionProgress progress = accountDeletionService.getProgress(jobId);
+        for (int i = 0; i < 100 && progress.status() != AccountDeletionStatus.COMPLETED
+                && progress.status() != AccountDeletionStatus.FAILED; i++) {
+            Thread.sleep(100);
+            progress = accountDeletionService.getProgress(jobId);
+        }
+        assertThat(progress.status()).isEqualTo(AccountDeletionStatus.COMPLETED);
+        return progress;
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@mail.com");
+        user.setActive(true);
+        return user;
+    }
+}